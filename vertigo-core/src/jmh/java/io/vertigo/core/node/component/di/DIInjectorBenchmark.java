@@ -0,0 +1,120 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.component.di;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertigo.core.node.AutoCloseableNode;
+import io.vertigo.core.node.component.Container;
+import io.vertigo.core.node.component.data.BioManager;
+import io.vertigo.core.node.component.data.BioManagerImpl;
+import io.vertigo.core.node.component.data.FunctionManager;
+import io.vertigo.core.node.component.data.FunctionManager2Impl;
+import io.vertigo.core.node.component.data.MathManager;
+import io.vertigo.core.node.component.data.MathManagerImpl;
+import io.vertigo.core.node.component.data.SimpleFunctionPlugin;
+import io.vertigo.core.node.component.data.SimpleMathPlugin;
+import io.vertigo.core.node.config.ModuleConfig;
+import io.vertigo.core.node.config.ModuleConfigBuilder;
+import io.vertigo.core.node.config.NodeConfig;
+import io.vertigo.core.param.Param;
+
+/**
+ * Cost of the injection : the boot of a node with a large module (nbPlugins plugins injected with their params), and the creation of a single component.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="DIInjectorBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DIInjectorBenchmark {
+	@org.openjdk.jmh.annotations.Param({ "100", "1000" })
+	private int nbPlugins;
+	private NodeConfig nodeConfig;
+	private Container container;
+
+	@Setup
+	public void setUp() {
+		final ModuleConfigBuilder moduleConfigBuilder = ModuleConfig.builder("large")
+				.addComponent(BioManager.class, BioManagerImpl.class)
+				.addComponent(MathManager.class, MathManagerImpl.class, Param.of("start", "100"))
+				.addPlugin(SimpleMathPlugin.class, Param.of("factor", "20"))
+				.addComponent(FunctionManager.class, FunctionManager2Impl.class);
+		for (int i = 0; i < nbPlugins; i++) {
+			moduleConfigBuilder.addPlugin(SimpleFunctionPlugin.class,
+					Param.of("name", "f" + i),
+					Param.of("a", String.valueOf(i)),
+					Param.of("b", "1"));
+		}
+		nodeConfig = NodeConfig.builder()
+				.addModule(moduleConfigBuilder.build())
+				.build();
+		container = new MapContainer(Map.of("mathManager", new MathManagerImpl()));
+	}
+
+	@Benchmark
+	public Object boot() {
+		try (AutoCloseableNode node = new AutoCloseableNode(nodeConfig)) {
+			return node.getComponentSpace().resolve(BioManager.class);
+		}
+	}
+
+	@Benchmark
+	public Object newInstance() {
+		return DIInjector.newInstance(BioManagerImpl.class, container);
+	}
+
+	private static final class MapContainer implements Container {
+		private final Map<String, Object> components;
+
+		MapContainer(final Map<String, Object> components) {
+			this.components = components;
+		}
+
+		@Override
+		public boolean contains(final String id) {
+			return components.containsKey(id);
+		}
+
+		@Override
+		public <T> T resolve(final String id, final Class<T> componentClass) {
+			return componentClass.cast(components.get(id));
+		}
+
+		@Override
+		public Set<String> keySet() {
+			return components.keySet();
+		}
+	}
+}
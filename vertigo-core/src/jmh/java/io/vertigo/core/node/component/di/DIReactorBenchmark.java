@@ -0,0 +1,82 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.component.di;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertigo.core.node.component.di.data.A;
+import io.vertigo.core.node.component.di.data.B;
+import io.vertigo.core.node.component.di.data.E;
+import io.vertigo.core.node.component.di.data.P;
+import io.vertigo.core.node.component.di.data.P3;
+
+/**
+ * Resolution of a synthetic graph of components by the DIReactor.
+ * The components are added before their dependencies :
+ * nbComponents components depend on the component 'a', added last, and 'e' depends on the list of nbComponents plugins.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="DIReactorBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DIReactorBenchmark {
+	@Param({ "500", "5000" })
+	private int nbComponents;
+	private DIReactor reactor;
+
+	@Setup
+	public void setUp() {
+		reactor = new DIReactor()
+				.addComponent("e", E.class);
+		for (int i = 1; i <= nbComponents; i++) {
+			reactor.addComponent("b" + i, B.class);
+		}
+		for (int i = 1; i <= nbComponents; i++) {
+			reactor.addComponent("p#" + i, P.class);
+		}
+		reactor.addComponent("p3", P3.class)
+				.addComponent("a", A.class);
+	}
+
+	@Benchmark
+	public List<String> proceed() {
+		return reactor.proceed();
+	}
+
+	@Benchmark
+	public List<List<String>> proceedByLevels() {
+		return reactor.proceedByLevels();
+	}
+}
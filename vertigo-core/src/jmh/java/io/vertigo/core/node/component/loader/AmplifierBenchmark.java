@@ -0,0 +1,185 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.component.loader;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertigo.core.node.component.Amplifier;
+import io.vertigo.core.node.component.amplifier.ProxyMethod;
+import io.vertigo.core.node.component.amplifier.ProxyMethodAnnotation;
+import io.vertigo.core.node.component.aop.Aspect;
+import io.vertigo.core.node.component.aop.AspectMethodInvocation;
+
+/**
+ * Cost of a call on a DAO-style amplifier : the generated amplifier against a JDK proxy.
+ * The JDK proxy reproduces the previous AmplifierFactory : a lookup of the proxy method and of the aspects, then a new invocation, at each call.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="AmplifierBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AmplifierBenchmark {
+	private static final ProxyMethod QUERY_PROXY_METHOD = new ProxyMethod() {
+		@Override
+		public Object invoke(final Method method, final Object[] args) {
+			return args.length;
+		}
+
+		@Override
+		public Class<? extends Annotation> getAnnotationType() {
+			return Query.class;
+		}
+	};
+
+	private static final Aspect PASS_THROUGH_ASPECT = new Aspect() {
+		@Override
+		public Object invoke(final Object[] args, final AspectMethodInvocation methodInvocation) {
+			return methodInvocation.proceed(args);
+		}
+
+		@Override
+		public Class<? extends Annotation> getAnnotationType() {
+			return Query.class;
+		}
+	};
+
+	@Param({ "0", "1" })
+	private int aspectCount;
+	private final long id = 42;
+	private final String name = "name";
+	private Dao generatedDao;
+	private Dao jdkProxyDao;
+
+	@Setup
+	public void setUp() {
+		final List<Aspect> aspects = Collections.nCopies(aspectCount, PASS_THROUGH_ASPECT);
+		final Map<Method, List<Aspect>> joinPoints = Arrays.stream(Dao.class.getDeclaredMethods())
+				.collect(Collectors.toMap(Function.identity(), method -> aspects));
+		generatedDao = AmplifierFactory.createAmplifier(Dao.class, List.of(QUERY_PROXY_METHOD), joinPoints);
+		jdkProxyDao = (Dao) Proxy.newProxyInstance(Dao.class.getClassLoader(), new Class[] { Dao.class }, new JdkProxyHandler(joinPoints));
+	}
+
+	@Benchmark
+	public Object generatedFind() {
+		return generatedDao.find(id);
+	}
+
+	@Benchmark
+	public int generatedCount() {
+		return generatedDao.count(name, id);
+	}
+
+	@Benchmark
+	public Object jdkProxyFind() {
+		return jdkProxyDao.find(id);
+	}
+
+	@Benchmark
+	public int jdkProxyCount() {
+		return jdkProxyDao.count(name, id);
+	}
+
+	@Target(ElementType.METHOD)
+	@Retention(RetentionPolicy.RUNTIME)
+	@ProxyMethodAnnotation
+	public @interface Query {
+		//
+	}
+
+	public interface Dao extends Amplifier {
+		@Query
+		Object find(long id);
+
+		@Query
+		int count(String name, long id);
+	}
+
+	private static final class JdkProxyHandler implements InvocationHandler {
+		private final Map<Method, ProxyMethod> proxyMethodsByMethod;
+		private final Map<Method, List<Aspect>> aspectsByMethod;
+
+		JdkProxyHandler(final Map<Method, List<Aspect>> aspectsByMethod) {
+			proxyMethodsByMethod = aspectsByMethod.keySet()
+					.stream()
+					.collect(Collectors.toMap(Function.identity(), method -> QUERY_PROXY_METHOD));
+			this.aspectsByMethod = aspectsByMethod;
+		}
+
+		@Override
+		public Object invoke(final Object proxy, final Method method, final Object[] args) {
+			return new JdkProxyMethodInvocation(method, aspectsByMethod.getOrDefault(method, Collections.emptyList()), proxyMethodsByMethod.get(method))
+					.proceed(args);
+		}
+	}
+
+	private static final class JdkProxyMethodInvocation implements AspectMethodInvocation {
+		private final Method method;
+		private final List<Aspect> aspects;
+		private final ProxyMethod proxyMethod;
+		private int index;
+
+		JdkProxyMethodInvocation(final Method method, final List<Aspect> aspects, final ProxyMethod proxyMethod) {
+			this.method = method;
+			this.aspects = aspects;
+			this.proxyMethod = proxyMethod;
+		}
+
+		@Override
+		public Object proceed(final Object[] args) {
+			if (index < aspects.size()) {
+				return aspects.get(index++).invoke(args, this);
+			}
+			return proxyMethod.invoke(method, args);
+		}
+
+		@Override
+		public Method getMethod() {
+			return method;
+		}
+	}
+}
@@ -0,0 +1,96 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.component.loader;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertigo.core.node.component.CoreComponent;
+import io.vertigo.core.node.component.data.MathManager;
+import io.vertigo.core.node.component.data.MathManagerImpl;
+
+/**
+ * Throughput of the resolution of a component by many concurrent threads :
+ * the frozen ComponentSpace (once the registration is closed) against the lookups done during the boot phase.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ComponentSpaceBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ComponentSpaceBenchmark {
+	private static final int NB_COMPONENTS = 200;
+
+	private ComponentSpaceWritable frozenComponentSpace;
+	private ComponentSpaceWritable bootComponentSpace;
+
+	@Setup
+	public void setUp() {
+		frozenComponentSpace = createComponentSpace();
+		frozenComponentSpace.closeRegistration();
+		bootComponentSpace = createComponentSpace();
+	}
+
+	private static ComponentSpaceWritable createComponentSpace() {
+		final ComponentSpaceWritable componentSpace = new ComponentSpaceWritable();
+		for (int i = 0; i < NB_COMPONENTS; i++) {
+			componentSpace.registerComponent("component" + i, new DummyComponent());
+		}
+		componentSpace.registerComponent("mathManager", new MathManagerImpl());
+		return componentSpace;
+	}
+
+	@Benchmark
+	public MathManager resolveById() {
+		return frozenComponentSpace.resolve("MathManager", MathManager.class);
+	}
+
+	@Benchmark
+	public MathManager resolveByClass() {
+		return frozenComponentSpace.resolve(MathManager.class);
+	}
+
+	@Benchmark
+	public MathManager resolveByIdDuringBoot() {
+		return bootComponentSpace.resolve("MathManager", MathManager.class);
+	}
+
+	@Benchmark
+	public MathManager resolveByClassDuringBoot() {
+		return bootComponentSpace.resolve(MathManager.class);
+	}
+
+	private static final class DummyComponent implements CoreComponent {
+		//
+	}
+}
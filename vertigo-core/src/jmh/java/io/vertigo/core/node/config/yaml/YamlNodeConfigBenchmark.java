@@ -0,0 +1,92 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.config.yaml;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertigo.core.node.config.NodeConfig;
+
+/**
+ * Loading of a YAML config of 50 modules, one file by module (a module is declared by its features class, once per file).
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="YamlNodeConfigBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class YamlNodeConfigBenchmark {
+	private static final int NB_MODULES = 50;
+
+	private Path configDir;
+	private String[] configFileNames;
+
+	@Setup
+	public void setUp() throws IOException {
+		configDir = Files.createTempDirectory("vertigo-yaml");
+		configFileNames = new String[NB_MODULES];
+		for (int i = 0; i < NB_MODULES; i++) {
+			final Path configFile = configDir.resolve("module" + i + ".yaml");
+			Files.writeString(configFile, "modules:\n"
+					+ "  " + YamlBioFeatures.class.getName() + ":\n"
+					+ "      features:\n"
+					+ "        - bio:\n"
+					+ "        - math:\n"
+					+ "            start: \"" + i + "\"\n"
+					+ "      plugins:\n"
+					+ "        - io.vertigo.core.node.component.data.SimpleMathPlugin:\n"
+					+ "            factor: \"20\"\n");
+			configFileNames[i] = configFile.toUri().toString();
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		try (Stream<Path> paths = Files.walk(configDir)) {
+			paths.sorted(Comparator.reverseOrder())
+					.forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	public NodeConfig build() {
+		return new YamlNodeConfigBuilder(new Properties())
+				.withFiles(getClass(), configFileNames)
+				.build();
+	}
+}
@@ -0,0 +1,89 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.definition;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the creation of definitions,
+ * and of the checks done by each creation : the validation of the name and the lookup of the prefix, with or without their cache.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="DefinitionCreationBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DefinitionCreationBenchmark {
+	private static final int NB_NAMES = 1024;
+
+	private final String[] names = new String[NB_NAMES];
+	private int index;
+
+	@Setup
+	public void setUp() {
+		for (int i = 0; i < NB_NAMES; i++) {
+			names[i] = (i % 2 == 0) ? "BenchDefinition" + i : "BenchDefinition" + i + "$field" + i;
+		}
+	}
+
+	private String nextName() {
+		index = (index + 1) & (NB_NAMES - 1);
+		return names[index];
+	}
+
+	@Benchmark
+	public Definition createDefinition() {
+		return new BenchDefinition(nextName());
+	}
+
+	@Benchmark
+	public boolean validateName() {
+		return DefinitionNameValidator.isValid(nextName());
+	}
+
+	@Benchmark
+	public boolean validateNameByRegex() {
+		return Definition.REGEX_DEFINITION_NAME.matcher(nextName()).matches();
+	}
+
+	@Benchmark
+	public Object prefixAnnotation() {
+		return BenchDefinition.class.getAnnotation(DefinitionPrefix.class);
+	}
+
+	@DefinitionPrefix("Bench")
+	public static final class BenchDefinition extends AbstractDefinition {
+		BenchDefinition(final String name) {
+			super(name);
+		}
+	}
+}
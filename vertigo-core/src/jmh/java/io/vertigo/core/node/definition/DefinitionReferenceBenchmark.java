@@ -0,0 +1,163 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.definition;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertigo.core.node.AutoCloseableNode;
+import io.vertigo.core.node.config.BootConfig;
+import io.vertigo.core.node.config.BootConfigBuilder;
+import io.vertigo.core.node.config.ModuleConfig;
+import io.vertigo.core.node.config.NodeConfig;
+
+/**
+ * Serialization of definition references, with or without the compact ids :
+ * a graph of 100k objects referencing 1000 definitions in a single stream, and a single object by stream (as a cache entry).
+ * The serialized sizes are printed by the setup.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="DefinitionReferenceBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DefinitionReferenceBenchmark {
+	private static final int NB_DEFINITIONS = 1000;
+	private static final int NB_OBJECTS = 100_000;
+
+	@Param({ "false", "true" })
+	private boolean compactIds;
+	private AutoCloseableNode node;
+	private ArrayList<Entry> graph;
+	private Entry entry;
+	private byte[] serializedGraph;
+	private byte[] serializedEntry;
+
+	@Setup
+	public void setUp() throws IOException {
+		final BootConfigBuilder bootConfigBuilder = BootConfig.builder();
+		if (compactIds) {
+			bootConfigBuilder.withCompactDefinitionReferences();
+		}
+		node = new AutoCloseableNode(NodeConfig.builder()
+				.withBoot(bootConfigBuilder.build())
+				.addModule(ModuleConfig.builder("definitions")
+						.addDefinitionProvider(BenchDefinitionProvider.class)
+						.build())
+				.build());
+		final DefinitionSpace definitionSpace = node.getDefinitionSpace();
+		graph = IntStream.range(0, NB_OBJECTS)
+				.mapToObj(i -> new Entry(definitionSpace.getReference("BenchDefinition" + i % NB_DEFINITIONS, BenchDefinition.class), i))
+				.collect(Collectors.toCollection(ArrayList::new));
+		entry = graph.get(NB_DEFINITIONS / 2);
+		serializedGraph = serialize(graph);
+		serializedEntry = serialize(entry);
+		System.out.println("compactIds=" + compactIds + " : graph " + serializedGraph.length + " bytes, entry " + serializedEntry.length + " bytes");
+	}
+
+	@TearDown
+	public void tearDown() {
+		node.close();
+	}
+
+	@Benchmark
+	public byte[] serializeGraph() throws IOException {
+		return serialize(graph);
+	}
+
+	@Benchmark
+	public Object deserializeGraph() throws IOException, ClassNotFoundException {
+		return deserialize(serializedGraph);
+	}
+
+	@Benchmark
+	public byte[] serializeEntry() throws IOException {
+		return serialize(entry);
+	}
+
+	@Benchmark
+	public Object deserializeEntry() throws IOException, ClassNotFoundException {
+		return deserialize(serializedEntry);
+	}
+
+	private static byte[] serialize(final Serializable object) throws IOException {
+		try (final ByteArrayOutputStream bos = new ByteArrayOutputStream(); final ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+			oos.writeObject(object);
+			oos.flush();
+			return bos.toByteArray();
+		}
+	}
+
+	private static Object deserialize(final byte[] serialized) throws IOException, ClassNotFoundException {
+		try (final ByteArrayInputStream bis = new ByteArrayInputStream(serialized); final ObjectInputStream ios = new ObjectInputStream(bis)) {
+			return ios.readObject();
+		}
+	}
+
+	private static final class Entry implements Serializable {
+		private static final long serialVersionUID = 1L;
+		private final DefinitionReference<BenchDefinition> reference;
+		private final int value;
+
+		Entry(final DefinitionReference<BenchDefinition> reference, final int value) {
+			this.reference = reference;
+			this.value = value;
+		}
+	}
+
+	@DefinitionPrefix("Bench")
+	public static final class BenchDefinition extends AbstractDefinition {
+		BenchDefinition(final String name) {
+			super(name);
+		}
+	}
+
+	public static final class BenchDefinitionProvider implements SimpleDefinitionProvider {
+		@Override
+		public List<Definition> provideDefinitions(final DefinitionSpace definitionSpace) {
+			return IntStream.range(0, NB_DEFINITIONS)
+					.mapToObj(i -> new BenchDefinition("BenchDefinition" + i))
+					.collect(Collectors.toList());
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.definition.loader;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertigo.core.node.definition.AbstractDefinition;
+import io.vertigo.core.node.definition.Definition;
+import io.vertigo.core.node.definition.DefinitionPrefix;
+
+/**
+ * getAll on a DefinitionSpace of 50k definitions : indexed by type once the registration is closed,
+ * against the scan of all the definitions done during the boot phase.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="DefinitionSpaceBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DefinitionSpaceBenchmark {
+	private static final int NB_DEFINITIONS = 50_000;
+	//a few definitions of a type among many others (as the health checks)
+	private static final int NB_RARE_DEFINITIONS = 10;
+
+	private DefinitionSpaceWritable closedDefinitionSpace;
+	private DefinitionSpaceWritable bootDefinitionSpace;
+
+	@Setup
+	public void setUp() {
+		closedDefinitionSpace = createDefinitionSpace();
+		closedDefinitionSpace.closeRegistration();
+		bootDefinitionSpace = createDefinitionSpace();
+	}
+
+	private static DefinitionSpaceWritable createDefinitionSpace() {
+		final DefinitionSpaceWritable definitionSpace = new DefinitionSpaceWritable();
+		for (int i = 0; i < NB_DEFINITIONS - NB_RARE_DEFINITIONS; i++) {
+			definitionSpace.registerDefinition(new AaaDefinition("AaaDefinition" + i));
+		}
+		for (int i = 0; i < NB_RARE_DEFINITIONS; i++) {
+			definitionSpace.registerDefinition(new BbbDefinition("BbbDefinition" + i));
+		}
+		return definitionSpace;
+	}
+
+	@Benchmark
+	public Set<BbbDefinition> getAllRare() {
+		return closedDefinitionSpace.getAll(BbbDefinition.class);
+	}
+
+	@Benchmark
+	public Set<Definition> getAllDefinitions() {
+		return closedDefinitionSpace.getAll(Definition.class);
+	}
+
+	@Benchmark
+	public Set<BbbDefinition> getAllRareByScan() {
+		return bootDefinitionSpace.getAll(BbbDefinition.class);
+	}
+
+	@Benchmark
+	public Set<Definition> getAllDefinitionsByScan() {
+		return bootDefinitionSpace.getAll(Definition.class);
+	}
+
+	@DefinitionPrefix("Aaa")
+	public static final class AaaDefinition extends AbstractDefinition {
+		AaaDefinition(final String name) {
+			super(name);
+		}
+	}
+
+	@DefinitionPrefix("Bbb")
+	public static final class BbbDefinition extends AbstractDefinition {
+		BbbDefinition(final String name) {
+			super(name);
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.plugins.component.aop.javassist;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertigo.core.node.component.CoreComponent;
+import io.vertigo.core.node.component.aop.Aspect;
+import io.vertigo.core.node.component.aop.AspectMethodInvocation;
+
+/**
+ * Cost of a call on a component : direct, through a proxy on a method without aspect, and through an aspect.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="JavassistAopBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JavassistAopBenchmark {
+	private static final Aspect PASS_THROUGH_ASPECT = new Aspect() {
+		@Override
+		public Object invoke(final Object[] args, final AspectMethodInvocation methodInvocation) {
+			return methodInvocation.proceed(args);
+		}
+
+		@Override
+		public Class<? extends Annotation> getAnnotationType() {
+			return Intercepted.class;
+		}
+	};
+
+	private int value = 42;
+	private Calculator calculator;
+	private Calculator proxy;
+
+	@Setup
+	public void setUp() throws NoSuchMethodException {
+		calculator = new Calculator();
+		proxy = new JavassistAopPlugin().wrap(new Calculator(),
+				Map.of(Calculator.class.getMethod("interceptedIncrement", int.class), List.of(PASS_THROUGH_ASPECT)));
+	}
+
+	@Benchmark
+	public int direct() {
+		return calculator.increment(value);
+	}
+
+	@Benchmark
+	public int proxied() {
+		return proxy.increment(value);
+	}
+
+	@Benchmark
+	public int intercepted() {
+		return proxy.interceptedIncrement(value);
+	}
+
+	@Target(ElementType.METHOD)
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Intercepted {
+		//
+	}
+
+	public static class Calculator implements CoreComponent {
+		public int increment(final int i) {
+			return i + 1;
+		}
+
+		@Intercepted
+		public int interceptedIncrement(final int i) {
+			return i + 1;
+		}
+	}
+}
@@ -0,0 +1,174 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.plugins.component.aop.javassist;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertigo.core.node.component.CoreComponent;
+import io.vertigo.core.node.component.aop.Aspect;
+import io.vertigo.core.node.component.aop.AspectMethodInvocation;
+
+/**
+ * Cost of the creation of the first proxy of a component class (at boot) :
+ * the proxy class is loaded from the classes generated ahead of time, or it is generated at runtime.
+ * Each call loads the component class with a new class loader, so its proxy class is never already defined.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ProxyClassLoadingBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProxyClassLoadingBenchmark {
+	private static final Aspect PASS_THROUGH_ASPECT = new Aspect() {
+		@Override
+		public Object invoke(final Object[] args, final AspectMethodInvocation methodInvocation) {
+			return methodInvocation.proceed(args);
+		}
+
+		@Override
+		public Class<? extends Annotation> getAnnotationType() {
+			return Override.class;
+		}
+	};
+
+	private Path proxyClassesDir;
+	private Path emptyDir;
+
+	@Setup
+	public void setUp() throws Exception {
+		proxyClassesDir = Files.createTempDirectory("vertigo-proxies");
+		emptyDir = Files.createTempDirectory("vertigo-no-proxies");
+		//the build time : the proxy class is generated and written
+		wrap(new JavassistAopPlugin(proxyClassesDir), proxyClassesDir);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		delete(proxyClassesDir);
+		delete(emptyDir);
+	}
+
+	@Benchmark
+	public Object aheadOfTime() throws Exception {
+		return wrap(new JavassistAopPlugin(), proxyClassesDir);
+	}
+
+	@Benchmark
+	public Object runtimeGeneration() throws Exception {
+		return wrap(new JavassistAopPlugin(), emptyDir);
+	}
+
+	private static Object wrap(final JavassistAopPlugin aopPlugin, final Path dir) throws Exception {
+		final Class<?> serviceClass = new ComponentClassLoader(dir).loadClass(Service.class.getName());
+		final CoreComponent service = (CoreComponent) serviceClass.getConstructor().newInstance();
+		final Method interceptedMethod = serviceClass.getMethod("find", long.class);
+		return aopPlugin.wrap(service, Map.of(interceptedMethod, List.of(PASS_THROUGH_ASPECT)));
+	}
+
+	private static void delete(final Path dir) throws IOException {
+		try (Stream<Path> paths = Files.walk(dir)) {
+			paths.sorted(Comparator.reverseOrder())
+					.forEach(path -> path.toFile().delete());
+		}
+	}
+
+	public static class Service implements CoreComponent {
+		public Object find(final long id) {
+			return id;
+		}
+
+		public int count(final String name) {
+			return name.length();
+		}
+
+		public void save(final Object object) {
+			//
+		}
+
+		public List<Object> findAll() {
+			return List.of();
+		}
+	}
+
+	/*
+	 * Loads the component class from the benchmark classes and its proxy classes from a directory, the others classes are shared.
+	 */
+	private static final class ComponentClassLoader extends ClassLoader {
+		private final Path proxyClassesDir;
+
+		ComponentClassLoader(final Path proxyClassesDir) {
+			super(ProxyClassLoadingBenchmark.class.getClassLoader());
+			this.proxyClassesDir = proxyClassesDir;
+		}
+
+		@Override
+		protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+			if (!name.startsWith(Service.class.getName())) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				final Class<?> loadedClass = findLoadedClass(name);
+				if (loadedClass != null) {
+					return loadedClass;
+				}
+				final byte[] bytecode;
+				try {
+					if (name.equals(Service.class.getName())) {
+						try (InputStream inputStream = Service.class.getResourceAsStream('/' + name.replace('.', '/') + ".class")) {
+							bytecode = inputStream.readAllBytes();
+						}
+					} else {
+						final Path classFile = proxyClassesDir.resolve(name.replace('.', '/') + ".class");
+						if (!Files.exists(classFile)) {
+							throw new ClassNotFoundException(name);
+						}
+						bytecode = Files.readAllBytes(classFile);
+					}
+				} catch (final IOException e) {
+					throw new ClassNotFoundException(name, e);
+				}
+				return defineClass(name, bytecode, 0, bytecode.length);
+			}
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.plugins.param.xml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.SchemaFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xml.sax.SAXException;
+
+import io.vertigo.core.param.Param;
+import io.vertigo.core.util.XmlUtil;
+
+/**
+ * Loading of a XML config file of 100 params :
+ * validated while it's parsed with the cached schema, validated then parsed, and with the schema compiled for each file (as before the cache).
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="XmlParamBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XmlParamBenchmark {
+	private static final int NB_PATHS = 10;
+	private static final int NB_PARAMS_BY_PATH = 10;
+	private static final URL CONFIG_XSD = XmlParamPlugin.class.getResource("vertigo-config_1_0.xsd");
+
+	private Path configFile;
+	private URL configURL;
+
+	@Setup
+	public void setUp() throws IOException {
+		final StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<config>\n");
+		for (int i = 0; i < NB_PATHS; i++) {
+			xml.append("\t<path name=\"server").append(i).append("\">\n");
+			for (int j = 0; j < NB_PARAMS_BY_PATH; j++) {
+				xml.append("\t\t<param name=\"param").append(j).append("\" value=\"value").append(j).append("\"/>\n");
+			}
+			xml.append("\t</path>\n");
+		}
+		configFile = Files.createTempFile("vertigo-config", ".xml");
+		Files.writeString(configFile, xml.append("</config>\n"));
+		configURL = configFile.toUri().toURL();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.delete(configFile);
+	}
+
+	@Benchmark
+	public Map<String, Param> singlePass() {
+		final XmlConfigHandler handler = new XmlConfigHandler();
+		XmlUtil.parseXmlByXsd(configURL, CONFIG_XSD, handler);
+		return handler.getParams();
+	}
+
+	@Benchmark
+	public Map<String, Param> validateThenParse() throws IOException, SAXException, ParserConfigurationException {
+		XmlUtil.validateXmlByXsd(configURL, CONFIG_XSD);
+		return parse();
+	}
+
+	@Benchmark
+	public Map<String, Param> compileValidateThenParse() throws IOException, SAXException, ParserConfigurationException {
+		final SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+		try (InputStream input = configURL.openStream()) {
+			schemaFactory.newSchema(CONFIG_XSD).newValidator().validate(new StreamSource(input));
+		}
+		return parse();
+	}
+
+	private Map<String, Param> parse() throws IOException, SAXException, ParserConfigurationException {
+		final XmlConfigHandler handler = new XmlConfigHandler();
+		try (InputStream input = configURL.openStream()) {
+			SAXParserFactory.newInstance().newSAXParser().parse(input, handler);
+		}
+		return handler.getParams();
+	}
+}
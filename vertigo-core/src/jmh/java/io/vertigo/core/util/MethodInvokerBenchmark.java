@@ -0,0 +1,98 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the MethodInvoker against the reflective call, on a getter and on a method with two args.
+ * The allocations are given by the gc profiler.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="MethodInvokerBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MethodInvokerBenchmark {
+	private final Bean bean = new Bean();
+	private final Integer left = 1;
+	private final Integer right = 2;
+	private Method getNameMethod;
+	private Method addMethod;
+	private MethodInvoker getNameInvoker;
+	private MethodInvoker addInvoker;
+
+	@Setup
+	public void setUp() {
+		getNameMethod = ClassUtil.findMethod(Bean.class, "getName");
+		addMethod = ClassUtil.findMethod(Bean.class, "add", int.class, int.class);
+		getNameInvoker = ClassUtil.getInvoker(getNameMethod);
+		addInvoker = ClassUtil.getInvoker(addMethod);
+	}
+
+	@Benchmark
+	public Object getterReflection() {
+		return ClassUtil.invoke(bean, getNameMethod);
+	}
+
+	@Benchmark
+	public Object getterInvoker() {
+		return getNameInvoker.invoke(bean);
+	}
+
+	@Benchmark
+	public Object getterCachedInvoker() {
+		//the lookup of the invoker in the cache at each call
+		return ClassUtil.getInvoker(getNameMethod).invoke(bean);
+	}
+
+	@Benchmark
+	public Object addReflection() {
+		return ClassUtil.invoke(bean, addMethod, left, right);
+	}
+
+	@Benchmark
+	public Object addInvoker() {
+		return addInvoker.invoke(bean, left, right);
+	}
+
+	public static class Bean {
+		public String getName() {
+			return "name";
+		}
+
+		public int add(final int a, final int b) {
+			return a + b;
+		}
+	}
+}
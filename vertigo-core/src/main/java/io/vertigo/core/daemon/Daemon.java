@@ -29,4 +29,27 @@ public interface Daemon extends Runnable {
 	default boolean verbose() {
 		return false;
 	}
+
+	/**
+	 * Executes the daemon and tells when it must be executed again.
+	 * By default the daemon is executed again after its period.
+	 * Override this method to reschedule sooner (when more work is pending for example).
+	 *
+	 * @return the next execution
+	 */
+	default DaemonNextExecution execute() {
+		run();
+		return DaemonNextExecution.afterPeriod();
+	}
+
+	/**
+	 * Executes the daemon with a cancellation token and tells when it must be executed again.
+	 * Override this method to stop a long execution as soon as the cancellation is requested.
+	 *
+	 * @param cancellationToken the token to check if the daemon must stop
+	 * @return the next execution
+	 */
+	default DaemonNextExecution execute(final DaemonCancellationToken cancellationToken) {
+		return execute();
+	}
 }
@@ -0,0 +1,35 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.daemon;
+
+/**
+ * Token given to a daemon to know if it must stop.
+ * A long running daemon should check it regularly and return as soon as the cancellation is requested (when the node stops for example).
+ */
+@FunctionalInterface
+public interface DaemonCancellationToken {
+	/**
+	 * A token that is never cancelled.
+	 */
+	DaemonCancellationToken NONE = () -> false;
+
+	/**
+	 * @return if the daemon must stop as soon as possible
+	 */
+	boolean isCancellationRequested();
+}
@@ -0,0 +1,78 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.daemon;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import io.vertigo.core.lang.Assertion;
+
+/**
+ * An execution of a daemon, kept in its recent history.
+ */
+public final class DaemonExecution {
+	private final Instant start;
+	private final Duration duration;
+	private final Optional<String> exceptionClassNameOpt;
+
+	/**
+	 * Constructor.
+	 * @param start the start of the execution
+	 * @param duration the duration of the execution
+	 * @param exceptionClassNameOpt the class of the exception if the execution failed
+	 */
+	public DaemonExecution(final Instant start, final Duration duration, final Optional<String> exceptionClassNameOpt) {
+		Assertion.check()
+				.isNotNull(start)
+				.isNotNull(duration)
+				.isNotNull(exceptionClassNameOpt);
+		//---
+		this.start = start;
+		this.duration = duration;
+		this.exceptionClassNameOpt = exceptionClassNameOpt;
+	}
+
+	/**
+	 * @return the start of the execution
+	 */
+	public Instant getStart() {
+		return start;
+	}
+
+	/**
+	 * @return the duration of the execution
+	 */
+	public Duration getDuration() {
+		return duration;
+	}
+
+	/**
+	 * @return if the execution succeeded
+	 */
+	public boolean isSuccess() {
+		return exceptionClassNameOpt.isEmpty();
+	}
+
+	/**
+	 * @return the class of the exception if the execution failed
+	 */
+	public Optional<String> getExceptionClassName() {
+		return exceptionClassNameOpt;
+	}
+}
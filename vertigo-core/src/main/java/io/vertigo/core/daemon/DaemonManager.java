@@ -33,4 +33,37 @@ public interface DaemonManager extends Manager {
 	 * @return Stats
 	 */
 	List<DaemonStat> getStats();
+
+	/**
+	 * Provides the recent executions of a daemon.
+	 * Only a bounded number of executions is kept per daemon.
+	 *
+	 * @param daemonName the daemon name
+	 * @return the recent executions, from the oldest to the newest
+	 */
+	List<DaemonExecution> getExecutions(String daemonName);
+
+	/**
+	 * Asks for an immediate execution of a daemon.
+	 * If the daemon is running, it will be executed again as soon as the current execution ends.
+	 * A paused daemon is executed once and stays paused.
+	 *
+	 * @param daemonName the daemon name
+	 */
+	void trigger(String daemonName);
+
+	/**
+	 * Pauses a daemon : its scheduled executions are cancelled until it's resumed.
+	 * A running execution is not interrupted.
+	 *
+	 * @param daemonName the daemon name
+	 */
+	void pause(String daemonName);
+
+	/**
+	 * Resumes a paused daemon : it will be executed again after its period.
+	 *
+	 * @param daemonName the daemon name
+	 */
+	void resume(String daemonName);
 }
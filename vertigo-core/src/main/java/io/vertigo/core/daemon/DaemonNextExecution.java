@@ -0,0 +1,85 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.daemon;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import io.vertigo.core.lang.Assertion;
+
+/**
+ * Tells when a daemon must be executed again.
+ *
+ * By default a daemon is executed again after its period.
+ * A daemon that knows that some work is still pending may ask to be executed again sooner (to drain a backlog).
+ */
+public final class DaemonNextExecution {
+	private static final DaemonNextExecution AFTER_PERIOD = new DaemonNextExecution(Optional.empty());
+	private static final DaemonNextExecution IMMEDIATELY = new DaemonNextExecution(Optional.of(Duration.ZERO));
+
+	private final Optional<Duration> delayOpt;
+
+	private DaemonNextExecution(final Optional<Duration> delayOpt) {
+		Assertion.check().isNotNull(delayOpt);
+		//---
+		this.delayOpt = delayOpt;
+	}
+
+	/**
+	 * @return the next execution will occur after the daemon's period
+	 */
+	public static DaemonNextExecution afterPeriod() {
+		return AFTER_PERIOD;
+	}
+
+	/**
+	 * @return the next execution will occur as soon as possible
+	 */
+	public static DaemonNextExecution immediately() {
+		return IMMEDIATELY;
+	}
+
+	/**
+	 * @param delay the delay before the next execution
+	 * @return the next execution will occur after this delay
+	 */
+	public static DaemonNextExecution after(final Duration delay) {
+		Assertion.check()
+				.isNotNull(delay)
+				.isFalse(delay.isNegative(), "delay {0} must be >= 0", delay);
+		//---
+		return new DaemonNextExecution(Optional.of(delay));
+	}
+
+	/**
+	 * @return the delay before the next execution, empty if the daemon's period must be used
+	 */
+	public Optional<Duration> getDelay() {
+		return delayOpt;
+	}
+
+	/**
+	 * @param periodInSeconds the daemon's period
+	 * @return the delay (in milliseconds) before the next execution
+	 */
+	public long getDelayInMillis(final int periodInSeconds) {
+		return delayOpt
+				.map(Duration::toMillis)
+				.orElseGet(() -> periodInSeconds * 1000L);
+	}
+}
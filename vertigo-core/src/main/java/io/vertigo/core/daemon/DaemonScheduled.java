@@ -24,6 +24,8 @@ import java.lang.annotation.Target;
 
 /**
  * Annotation for scheduling daemons.
+ * The annotated method must have no parameter or a single DaemonCancellationToken parameter.
+ * It may return a DaemonNextExecution to be executed again sooner than its period.
  * @author mlaroche
  *
  */
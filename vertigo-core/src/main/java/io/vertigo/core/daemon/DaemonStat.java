@@ -31,7 +31,9 @@ public interface DaemonStat {
 		/** Waiting for next execution. */
 		pending,
 		/** Running. */
-		running
+		running,
+		/** Paused, waiting to be resumed. */
+		paused
 	}
 
 	/**
@@ -71,6 +71,13 @@ public final class AnalyticsManagerImpl implements AnalyticsManager, SimpleDefin
 		enabled = !this.processConnectorPlugins.isEmpty();
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public boolean isIndependent() {
+		//the health checks and the metrics are found in the components
+		return true;
+	}
+
 	@Override
 	public List<? extends Definition> provideDefinitions(final DefinitionSpace definitionSpace) {
 		// here all
@@ -78,6 +85,8 @@ public final class AnalyticsManagerImpl implements AnalyticsManager, SimpleDefin
 		final AopPlugin aopPlugin = Node.getNode().getNodeConfig().getBootConfig().getAopPlugin();
 		return Node.getNode().getComponentSpace().keySet()
 				.stream()
+				//lazy components are not created to find their health checks and metrics
+				.filter(id -> !Node.getNode().getComponentSpace().isLazy(id))
 				.flatMap(id -> Stream.concat(
 						//health
 						HealthAnalyticsUtil.createHealthCheckDefinitions(id, Node.getNode().getComponentSpace().resolve(id, CoreComponent.class), aopPlugin).stream(),
@@ -20,10 +20,10 @@
  */
 package io.vertigo.core.impl.analytics.health;
 
+import java.lang.reflect.Method;
 import java.time.Instant;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -36,7 +36,11 @@ import io.vertigo.core.lang.Assertion;
 import io.vertigo.core.node.Node;
 import io.vertigo.core.node.component.AopPlugin;
 import io.vertigo.core.node.component.CoreComponent;
+import io.vertigo.core.node.config.CoreComponentConfig;
+import io.vertigo.core.node.config.ModuleConfig;
+import io.vertigo.core.node.config.NodeConfig;
 import io.vertigo.core.util.ClassUtil;
+import io.vertigo.core.util.MethodInvoker;
 import io.vertigo.core.util.StringUtil;
 
 /**
@@ -61,19 +65,17 @@ public final class HealthAnalyticsUtil {
 	 */
 	public static List<HealthCheckDefinition> createHealthCheckDefinitions(final String componentId, final CoreComponent component, final AopPlugin aopPlugin) {
 		Assertion.check().isNotNull(component);
-
-		//-- we construct a map of feature by componentId
-		final Map<String, String> featureByComponentId = new HashMap<>();
-		Node.getNode().getNodeConfig().getBootConfig().getComponentConfigs()
-				.forEach(componentConfig -> featureByComponentId.put(componentConfig.getId(), "vertigo-boot"));
-
-		Node.getNode().getNodeConfig().getModuleConfigs()
-				.forEach(moduleConfig -> moduleConfig.getComponentConfigs()
-						.forEach(componentConfig -> featureByComponentId.put(componentConfig.getId(), moduleConfig.getName())));
 		//-----
 		//1. search all methods
-		return Stream.of(aopPlugin.unwrap(component).getClass().getMethods())
+		final List<Method> healthCheckedMethods = Stream.of(aopPlugin.unwrap(component).getClass().getMethods())
 				.filter(method -> method.isAnnotationPresent(HealthChecked.class))
+				.collect(Collectors.toList());
+		if (healthCheckedMethods.isEmpty()) {
+			return Collections.emptyList();
+		}
+		//the configs are scanned only for the components with health checks : it's done for each component at boot
+		final String feature = findFeature(componentId);
+		return healthCheckedMethods.stream()
 				.map(method -> {
 					final HealthChecked healthChecked = method.getAnnotation(HealthChecked.class);
 					Assertion.check()
@@ -84,18 +86,33 @@ public final class HealthAnalyticsUtil {
 					//2. For each method register a listener
 					// we remove # because it doesn't comply with definition naming rule
 					final String healthCheckDefinitionName = "Hchk" + StringUtil.first2UpperCase(componentId.replaceAll(PLUGIN_COUNTER_CHAR, "")) + "$" + method.getName();
+					final MethodInvoker invoker = ClassUtil.getInvoker(method);
 					return new HealthCheckDefinition(
 							healthCheckDefinitionName,
 							healthChecked.name(),
 							componentId,
-							featureByComponentId.get(componentId),
+							feature,
 							healthChecked.feature(),
-							() -> (HealthMeasure) ClassUtil.invoke(component, method));
+							() -> (HealthMeasure) invoker.invoke(component));
 				})
 				.collect(Collectors.toList());
 
 	}
 
+	private static String findFeature(final String componentId) {
+		final NodeConfig nodeConfig = Node.getNode().getNodeConfig();
+		return nodeConfig.getModuleConfigs().stream()
+				.filter(moduleConfig -> containsComponent(moduleConfig.getComponentConfigs(), componentId))
+				.map(ModuleConfig::getName)
+				.findFirst()
+				.orElseGet(() -> containsComponent(nodeConfig.getBootConfig().getComponentConfigs(), componentId) ? "vertigo-boot" : null);
+	}
+
+	private static boolean containsComponent(final List<CoreComponentConfig> componentConfigs, final String componentId) {
+		return componentConfigs.stream()
+				.anyMatch(componentConfig -> componentId.equals(componentConfig.getId()));
+	}
+
 	public static List<HealthCheck> getHealthChecks() {
 		return Node.getNode().getDefinitionSpace().getAll(HealthCheckDefinition.class).stream()
 				.map(HealthAnalyticsUtil::buildHealthCheck)
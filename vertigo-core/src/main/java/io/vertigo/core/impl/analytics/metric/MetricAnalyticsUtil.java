@@ -17,9 +17,7 @@
  */
 package io.vertigo.core.impl.analytics.metric;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -31,6 +29,7 @@ import io.vertigo.core.node.Node;
 import io.vertigo.core.node.component.AopPlugin;
 import io.vertigo.core.node.component.CoreComponent;
 import io.vertigo.core.util.ClassUtil;
+import io.vertigo.core.util.MethodInvoker;
 import io.vertigo.core.util.StringUtil;
 
 /**
@@ -51,12 +50,6 @@ public final class MetricAnalyticsUtil {
 	 */
 	public static List<MetricDefinition> createMetricDefinitions(final String componentId, final CoreComponent component, final AopPlugin aopPlugin) {
 		Assertion.check().isNotNull(component);
-
-		//-- we construct a map of feature by componentId
-		final Map<String, String> featureByComponentId = new HashMap<>();
-		Node.getNode().getNodeConfig().getModuleConfigs()
-				.forEach(moduleConfig -> moduleConfig.getComponentConfigs()
-						.forEach(componentConfig -> featureByComponentId.put(componentConfig.getId(), moduleConfig.getName())));
 		//-----
 		//1. search all methods
 		return Stream.of(aopPlugin.unwrap(component).getClass().getMethods())
@@ -69,9 +62,10 @@ public final class MetricAnalyticsUtil {
 					//2. For each method register a listener
 					// we remove # because it doesn't comply with definition naming rule
 					final String metricDefinitionName = "Met" + StringUtil.first2UpperCase(componentId.replaceAll(pluginCounterChar, "")) + "$" + method.getName();
+					final MethodInvoker invoker = ClassUtil.getInvoker(method);
 					return new MetricDefinition(
 							metricDefinitionName,
-							() -> (List<Metric>) ClassUtil.invoke(component, method));
+							() -> (List<Metric>) invoker.invoke(component));
 				})
 				.collect(Collectors.toList());
 
@@ -0,0 +1,74 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.impl.daemon;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.vertigo.core.daemon.DaemonExecution;
+import io.vertigo.core.lang.Assertion;
+
+/**
+ * Recent executions of a daemon.
+ * A fixed-size ring : the oldest execution is overwritten by the newest, so the memory is bounded whatever the daemon's frequency.
+ * Adds and reads are lock-free.
+ */
+final class DaemonExecutionHistory {
+	private final AtomicReferenceArray<DaemonExecution> executions;
+	private final AtomicLong count = new AtomicLong();
+
+	/**
+	 * Constructor.
+	 * @param size the number of executions kept
+	 */
+	DaemonExecutionHistory(final int size) {
+		Assertion.check().isTrue(size > 0, "size {0} must be > 0", size);
+		//---
+		executions = new AtomicReferenceArray<>(size);
+	}
+
+	/**
+	 * Adds an execution, overwrites the oldest one if the history is full.
+	 * @param daemonExecution the execution
+	 */
+	void add(final DaemonExecution daemonExecution) {
+		Assertion.check().isNotNull(daemonExecution);
+		//---
+		final long index = count.getAndIncrement();
+		executions.set((int) (index % executions.length()), daemonExecution);
+	}
+
+	/**
+	 * @return a snapshot of the recent executions, from the oldest to the newest
+	 */
+	List<DaemonExecution> getExecutions() {
+		final long last = count.get();
+		final long first = Math.max(0, last - executions.length());
+		final List<DaemonExecution> snapshot = new ArrayList<>((int) (last - first));
+		for (long index = first; index < last; index++) {
+			final DaemonExecution daemonExecution = executions.get((int) (index % executions.length()));
+			//may be null if an add is in progress
+			if (daemonExecution != null) {
+				snapshot.add(daemonExecution);
+			}
+		}
+		return snapshot;
+	}
+}
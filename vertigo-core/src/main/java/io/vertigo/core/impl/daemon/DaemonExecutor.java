@@ -18,13 +18,20 @@
 package io.vertigo.core.impl.daemon;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 import io.vertigo.core.daemon.Daemon;
+import io.vertigo.core.daemon.DaemonCancellationToken;
+import io.vertigo.core.daemon.DaemonExecution;
 import io.vertigo.core.daemon.DaemonStat;
 import io.vertigo.core.daemon.definitions.DaemonDefinition;
 import io.vertigo.core.lang.Assertion;
@@ -37,9 +44,41 @@ import io.vertigo.core.node.component.Activeable;
  * @author mlaroche, pchretien, npiedeloup
  */
 final class DaemonExecutor implements Activeable {
+	private static final Logger LOG = LogManager.getLogger(DaemonExecutor.class);
+	private static final long INTERRUPTION_TIMEOUT_IN_MILLIS = 1000;
+
 	private boolean isActive;
-	private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+	private volatile boolean cancellationRequested;
+	private final DaemonCancellationToken cancellationToken = () -> cancellationRequested;
+	private final int shutdownGracePeriodInSeconds;
+	private final ScheduledThreadPoolExecutor scheduler = createScheduler();
 	private final List<DaemonListener> daemonListeners = new ArrayList<>();
+	private final Map<String, DaemonTimerTask> timerTasks = new HashMap<>();
+
+	/**
+	 * Constructor.
+	 * @param shutdownGracePeriodInSeconds how long running daemons are waited for on stop, before being interrupted
+	 */
+	DaemonExecutor(final int shutdownGracePeriodInSeconds) {
+		Assertion.check()
+				.isTrue(shutdownGracePeriodInSeconds >= 0, "shutdown grace period {0} must be >= 0", shutdownGracePeriodInSeconds);
+		//---
+		this.shutdownGracePeriodInSeconds = shutdownGracePeriodInSeconds;
+	}
+
+	private static ScheduledThreadPoolExecutor createScheduler() {
+		final AtomicInteger threadCount = new AtomicInteger();
+		final ScheduledThreadPoolExecutor scheduledExecutor = new ScheduledThreadPoolExecutor(2, runnable -> {
+			final Thread thread = new Thread(runnable, "vertigo-daemon-" + threadCount.incrementAndGet());
+			//a daemon that doesn't stop must not prevent the JVM from exiting
+			thread.setDaemon(true);
+			return thread;
+		});
+		//daemons are rescheduled after each execution : pending executions are dropped on shutdown
+		scheduledExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+		scheduledExecutor.setRemoveOnCancelPolicy(true);
+		return scheduledExecutor;
+	}
 
 	private static Daemon createDaemon(final DaemonDefinition daemonDefinition) {
 		return daemonDefinition.getDaemonSupplier().get();
@@ -47,11 +86,10 @@ final class DaemonExecutor implements Activeable {
 
 	/**
 	* Registers a new daemon.
-	* It will be executed after the delay (in milliseconds)
-	* and will be periodically executed after the period (in milliseconds)
+	* It will be executed after its period
+	* and then rescheduled according to the next execution returned by the daemon.
 	*
 	* @param daemonDefinition the daemon definition
-	* @param daemon Daemon to schedule.
 	*/
 	void scheduleDaemon(final DaemonDefinition daemonDefinition) {
 		Assertion.check()
@@ -60,9 +98,51 @@ final class DaemonExecutor implements Activeable {
 		// -----
 		final Daemon daemon = createDaemon(daemonDefinition);
 		final DaemonListener daemonListener = new DaemonListener(daemonDefinition, daemon.verbose());
-		final DaemonTimerTask timerTask = new DaemonTimerTask(daemonListener, daemon);
+		final DaemonTimerTask timerTask = new DaemonTimerTask(daemonDefinition, daemonListener, daemon, scheduler, cancellationToken);
 		daemonListeners.add(daemonListener);
-		scheduler.scheduleWithFixedDelay(timerTask, daemonDefinition.getPeriodInSeconds(), daemonDefinition.getPeriodInSeconds(), TimeUnit.SECONDS);
+		timerTasks.put(daemonDefinition.getName(), timerTask);
+		timerTask.start();
+	}
+
+	/**
+	 * Executes a daemon as soon as possible.
+	 * @param daemonName the daemon name
+	 */
+	void trigger(final String daemonName) {
+		getTimerTask(daemonName).trigger();
+	}
+
+	/**
+	 * Pauses a daemon.
+	 * @param daemonName the daemon name
+	 */
+	void pause(final String daemonName) {
+		getTimerTask(daemonName).pause();
+	}
+
+	/**
+	 * Resumes a paused daemon.
+	 * @param daemonName the daemon name
+	 */
+	void resume(final String daemonName) {
+		getTimerTask(daemonName).resume();
+	}
+
+	/**
+	 * @param daemonName the daemon name
+	 * @return the recent executions of the daemon
+	 */
+	List<DaemonExecution> getExecutions(final String daemonName) {
+		return getTimerTask(daemonName).getExecutions();
+	}
+
+	private DaemonTimerTask getTimerTask(final String daemonName) {
+		Assertion.check()
+				.isNotBlank(daemonName)
+				.isTrue(isActive, "Manager must be active to control a daemon")
+				.isTrue(timerTasks.containsKey(daemonName), "no daemon found with name '{0}'", daemonName);
+		//---
+		return timerTasks.get(daemonName);
 	}
 
 	/**
@@ -84,14 +164,30 @@ final class DaemonExecutor implements Activeable {
 	/** {@inheritDoc} */
 	@Override
 	public void stop() {
-		scheduler.shutdown();
 		isActive = false;
+		//running daemons are asked to stop, pending executions are dropped
+		cancellationRequested = true;
+		scheduler.shutdown();
 		try {
-			scheduler.awaitTermination(5000, TimeUnit.SECONDS);
+			if (!scheduler.awaitTermination(shutdownGracePeriodInSeconds, TimeUnit.SECONDS)) {
+				LOG.warn("Daemons {} are still running after {}s, they are interrupted", getRunningDaemonNames(), shutdownGracePeriodInSeconds);
+				scheduler.shutdownNow();
+				if (!scheduler.awaitTermination(INTERRUPTION_TIMEOUT_IN_MILLIS, TimeUnit.MILLISECONDS)) {
+					LOG.error("Daemons {} did not stop after being interrupted, they are abandoned", getRunningDaemonNames());
+				}
+			}
 		} catch (final InterruptedException e) {
 			// Restore interrupted state...
 			Thread.currentThread().interrupt();
 			throw WrappedException.wrap(e);
 		}
 	}
+
+	private List<String> getRunningDaemonNames() {
+		return getStats()
+				.stream()
+				.filter(daemonStat -> daemonStat.getStatus() == DaemonStat.Status.running)
+				.map(DaemonStat::getDaemonName)
+				.collect(Collectors.toList());
+	}
 }
@@ -17,20 +17,31 @@
  */
 package io.vertigo.core.impl.daemon;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import io.vertigo.core.daemon.DaemonExecution;
 import io.vertigo.core.daemon.DaemonStat;
 import io.vertigo.core.daemon.definitions.DaemonDefinition;
 import io.vertigo.core.lang.Assertion;
 
 final class DaemonListener {
 	private static final Logger LOG = LogManager.getLogger(DaemonListener.class);
+	private static final int HISTORY_SIZE = 20;
 
 	private long successes;
 	private boolean lastExecSucceed;
 	private long failures;
 	private DaemonStat.Status status = DaemonStat.Status.pending;
+	private boolean paused;
+	private Instant start;
+	private long startNanos;
+	private final DaemonExecutionHistory history = new DaemonExecutionHistory(HISTORY_SIZE);
 	private final DaemonDefinition daemonDefinition;
 	private final boolean verbose;
 
@@ -49,26 +60,59 @@ final class DaemonListener {
 		return new DaemonStatImpl(daemonDefinition, successes, failures, status, lastExecSucceed);
 	}
 
+	//the history is read without lock
+	List<DaemonExecution> getExecutions() {
+		return history.getExecutions();
+	}
+
 	synchronized void onStart() {
 		status = DaemonStat.Status.running;
+		start = Instant.now();
+		startNanos = System.nanoTime();
 		if (verbose) {
 			LOG.info("Start daemon: {}", daemonDefinition.getName());
 		}
 	}
 
 	synchronized void onFailure(final Exception e) {
-		status = DaemonStat.Status.pending;
+		status = idleStatus();
 		failures++;
 		lastExecSucceed = false;
+		addExecution(Optional.of(e.getClass().getName()));
 		LOG.error("Daemon :  an error has occured during the execution of the daemon: " + daemonDefinition.getName(), e);
 	}
 
 	synchronized void onSuccess() {
-		status = DaemonStat.Status.pending;
+		status = idleStatus();
 		successes++;
 		lastExecSucceed = true;
+		addExecution(Optional.empty());
 		if (verbose) {
 			LOG.info("Execution succeeded on daemon: {}", daemonDefinition.getName());
 		}
 	}
+
+	synchronized void onPause() {
+		paused = true;
+		if (status == DaemonStat.Status.pending) {
+			status = DaemonStat.Status.paused;
+		}
+		LOG.info("Pause daemon: {}", daemonDefinition.getName());
+	}
+
+	synchronized void onResume() {
+		paused = false;
+		if (status == DaemonStat.Status.paused) {
+			status = DaemonStat.Status.pending;
+		}
+		LOG.info("Resume daemon: {}", daemonDefinition.getName());
+	}
+
+	private void addExecution(final Optional<String> exceptionClassNameOpt) {
+		history.add(new DaemonExecution(start, Duration.ofNanos(System.nanoTime() - startNanos), exceptionClassNameOpt));
+	}
+
+	private DaemonStat.Status idleStatus() {
+		return paused ? DaemonStat.Status.paused : DaemonStat.Status.pending;
+	}
 }
@@ -17,7 +17,11 @@
  */
 package io.vertigo.core.impl.daemon;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -29,7 +33,10 @@ import io.vertigo.core.analytics.health.HealthChecked;
 import io.vertigo.core.analytics.health.HealthMeasure;
 import io.vertigo.core.analytics.health.HealthMeasureBuilder;
 import io.vertigo.core.daemon.Daemon;
+import io.vertigo.core.daemon.DaemonCancellationToken;
+import io.vertigo.core.daemon.DaemonExecution;
 import io.vertigo.core.daemon.DaemonManager;
+import io.vertigo.core.daemon.DaemonNextExecution;
 import io.vertigo.core.daemon.DaemonScheduled;
 import io.vertigo.core.daemon.DaemonStat;
 import io.vertigo.core.daemon.definitions.DaemonDefinition;
@@ -41,7 +48,9 @@ import io.vertigo.core.node.component.CoreComponent;
 import io.vertigo.core.node.definition.Definition;
 import io.vertigo.core.node.definition.DefinitionSpace;
 import io.vertigo.core.node.definition.SimpleDefinitionProvider;
+import io.vertigo.core.param.ParamValue;
 import io.vertigo.core.util.ClassUtil;
+import io.vertigo.core.util.MethodInvoker;
 
 /**
  * Manager of all the daemons.
@@ -50,27 +59,51 @@ import io.vertigo.core.util.ClassUtil;
  */
 public final class DaemonManagerImpl implements DaemonManager, Activeable, SimpleDefinitionProvider {
 
-	private final DaemonExecutor daemonExecutor = new DaemonExecutor();
+	private static final int DEFAULT_SHUTDOWN_GRACE_PERIOD_IN_SECONDS = 10;
+	//Health : minimum number of recent executions to use the success rate (otherwise the last execution is used)
+	private static final int HEALTH_MIN_EXECUTIONS = 5;
+	//Health : a daemon below this success rate is yellow
+	private static final double HEALTH_YELLOW_SUCCESS_RATE = 0.9;
+	//Health : a daemon below this success rate is red
+	private static final double HEALTH_RED_SUCCESS_RATE = 0.5;
+
+	private final DaemonExecutor daemonExecutor;
 	private final AnalyticsManager analyticsManager;
 
 	/**
 	 * Construct an instance of DaemonManagerImpl.
+	 * @param analyticsManager the analyticsManager
+	 * @param shutdownGracePeriodInSecondsOpt how long running daemons are waited for when the node stops, before being interrupted (10s by default)
 	 */
 	@Inject
-	public DaemonManagerImpl(final AnalyticsManager analyticsManager) {
-		Assertion.check().isNotNull(analyticsManager);
+	public DaemonManagerImpl(
+			final AnalyticsManager analyticsManager,
+			@ParamValue("shutdownGracePeriodInSeconds") final Optional<Integer> shutdownGracePeriodInSecondsOpt) {
+		Assertion.check()
+				.isNotNull(analyticsManager)
+				.isNotNull(shutdownGracePeriodInSecondsOpt);
 		//---
 		this.analyticsManager = analyticsManager;
+		daemonExecutor = new DaemonExecutor(shutdownGracePeriodInSecondsOpt.orElse(DEFAULT_SHUTDOWN_GRACE_PERIOD_IN_SECONDS));
 		Node.getNode().registerPreActivateFunction(this::startAllDaemons);
 
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public boolean isIndependent() {
+		//the daemons are found in the components
+		return true;
+	}
+
 	@Override
 	public List<? extends Definition> provideDefinitions(final DefinitionSpace definitionSpace) {
 		// we need to unwrap the component to scan the real class and not the enhanced version
 		final AopPlugin aopPlugin = Node.getNode().getNodeConfig().getBootConfig().getAopPlugin();
 		return Node.getNode().getComponentSpace().keySet()
 				.stream()
+				//lazy components are not created to find their daemons
+				.filter(id -> !Node.getNode().getComponentSpace().isLazy(id))
 				.flatMap(id -> createDaemonDefinitions(Node.getNode().getComponentSpace().resolve(id, CoreComponent.class), aopPlugin).stream())
 				.collect(Collectors.toList());
 	}
@@ -80,21 +113,34 @@ public final class DaemonManagerImpl implements DaemonManager, Activeable, Simpl
 				.filter(method -> method.isAnnotationPresent(DaemonScheduled.class))
 				.map(
 						method -> {
-							Assertion.check().isTrue(method.getParameterTypes().length == 0,
-									"Method {0} on component {1} cannot have any parameter to be used as a daemon", method.getName(), component.getClass().getName());
+							Assertion.check().isTrue(method.getParameterCount() == 0
+									|| method.getParameterCount() == 1 && method.getParameterTypes()[0] == DaemonCancellationToken.class,
+									"Method {0} on component {1} cannot have any parameter (except a DaemonCancellationToken) to be used as a daemon", method.getName(), component.getClass().getName());
 							//---
 							final DaemonScheduled daemonSchedule = method.getAnnotation(DaemonScheduled.class);
-							final Supplier<Daemon> daemonSupplier;
+							final MethodInvoker invoker = ClassUtil.getInvoker(method);
+							final Function<DaemonCancellationToken, DaemonNextExecution> execution;
 							if (daemonSchedule.analytics()) {
 								// if analytics is enabled (by default) we trace the execution with a tracer
-								daemonSupplier = () -> () -> analyticsManager.trace(
+								execution = cancellationToken -> analyticsManager.traceWithReturn(
 										"daemon",
 										daemonSchedule.name(),
-										tracer -> ClassUtil.invoke(component, method));
+										tracer -> invokeDaemonMethod(component, method, invoker, cancellationToken));
 							} else {
 								// otherwise we just execute it
-								daemonSupplier = () -> () -> ClassUtil.invoke(component, method);
+								execution = cancellationToken -> invokeDaemonMethod(component, method, invoker, cancellationToken);
 							}
+							final Supplier<Daemon> daemonSupplier = () -> new Daemon() {
+								@Override
+								public void run() {
+									execution.apply(DaemonCancellationToken.NONE);
+								}
+
+								@Override
+								public DaemonNextExecution execute(final DaemonCancellationToken cancellationToken) {
+									return execution.apply(cancellationToken);
+								}
+							};
 							return new DaemonDefinition(
 									daemonSchedule.name(),
 									daemonSupplier,
@@ -104,12 +150,44 @@ public final class DaemonManagerImpl implements DaemonManager, Activeable, Simpl
 
 	}
 
+	private static DaemonNextExecution invokeDaemonMethod(final CoreComponent component, final Method method, final MethodInvoker invoker, final DaemonCancellationToken cancellationToken) {
+		final Object result = method.getParameterCount() == 0
+				? invoker.invoke(component)
+				: invoker.invoke(component, cancellationToken);
+		// a daemon method that doesn't return a DaemonNextExecution is executed again after its period
+		return result instanceof DaemonNextExecution ? (DaemonNextExecution) result : DaemonNextExecution.afterPeriod();
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public List<DaemonStat> getStats() {
 		return daemonExecutor.getStats();
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public List<DaemonExecution> getExecutions(final String daemonName) {
+		return daemonExecutor.getExecutions(daemonName);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void trigger(final String daemonName) {
+		daemonExecutor.trigger(daemonName);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void pause(final String daemonName) {
+		daemonExecutor.pause(daemonName);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void resume(final String daemonName) {
+		daemonExecutor.resume(daemonName);
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public void start() {
@@ -144,28 +222,51 @@ public final class DaemonManagerImpl implements DaemonManager, Activeable, Simpl
 				.forEach(this::startDaemon);
 	}
 
+	/**
+	 * Checks the recent executions of the daemons.
+	 * A daemon with enough recent executions is scored by its success rate over this window,
+	 * otherwise by its last execution.
+	 * @return the health of the daemons
+	 */
 	@HealthChecked(name = "lastExecs", feature = "daemons")
 	public HealthMeasure checkDaemonsExecs() {
 		final List<DaemonStat> daemonStats = getStats();
-		final long failureCount = daemonStats.stream()
-				.filter(daemonStat -> daemonStat.getCount() > 0) // to have a real indicator we use only daemon that have been executed at least once
-				.filter(daemonStat -> !daemonStat.isLastExecSuccess())
-				.count();
+		final List<String> failingDaemons = new ArrayList<>();
+		long failedCount = 0;
+		for (final DaemonStat daemonStat : daemonStats) {
+			if (daemonStat.getCount() > 0) { // to have a real indicator we use only daemon that have been executed at least once
+				final double successRate = getSuccessRate(daemonStat);
+				if (successRate < HEALTH_YELLOW_SUCCESS_RATE) {
+					failingDaemons.add(daemonStat.getDaemonName() + " (" + Math.round(successRate * 100) + "%)");
+				}
+				if (successRate < HEALTH_RED_SUCCESS_RATE) {
+					failedCount++;
+				}
+			}
+		}
 		//---
 		final HealthMeasureBuilder healthMeasure = HealthMeasure.builder();
-		if (failureCount == 0) {
+		if (failingDaemons.isEmpty()) {
 			return healthMeasure
 					.withGreenStatus()
 					.build();
-		} else if (failureCount < daemonStats.size()) {
+		} else if (failedCount < daemonStats.size()) {
 			return healthMeasure
-					.withYellowStatus("At least one daemon failed", null)
+					.withYellowStatus("At least one daemon failed : " + failingDaemons, null)
 					.build();
 		}
 		return healthMeasure
-				.withRedStatus("All daemons failed", null)
+				.withRedStatus("All daemons failed : " + failingDaemons, null)
 				.build();
-
 	}
 
+	private double getSuccessRate(final DaemonStat daemonStat) {
+		final List<DaemonExecution> executions = daemonExecutor.getExecutions(daemonStat.getDaemonName());
+		if (executions.size() < HEALTH_MIN_EXECUTIONS) {
+			return daemonStat.isLastExecSuccess() ? 1 : 0;
+		}
+		return executions.stream()
+				.filter(DaemonExecution::isSuccess)
+				.count() / (double) executions.size();
+	}
 }
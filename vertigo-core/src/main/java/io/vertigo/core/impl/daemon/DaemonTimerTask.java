@@ -18,42 +18,173 @@
 package io.vertigo.core.impl.daemon;
 
 import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import io.vertigo.core.daemon.Daemon;
+import io.vertigo.core.daemon.DaemonCancellationToken;
+import io.vertigo.core.daemon.DaemonExecution;
+import io.vertigo.core.daemon.DaemonNextExecution;
+import io.vertigo.core.daemon.definitions.DaemonDefinition;
 import io.vertigo.core.lang.Assertion;
 
 /**
+ * Executes a daemon and schedules its next execution.
+ * There is at most one pending or running execution per daemon, so a daemon is never executed concurrently.
+ *
  * @author mlaroche, pchretien, npiedeloup
  */
-final class DaemonTimerTask implements Runnable {
+final class DaemonTimerTask {
+	private static final long IDLE = 0;
+	private static final long RUNNING = -1;
+
+	private final DaemonDefinition daemonDefinition;
 	private final Daemon daemon;
 	private final DaemonListener daemonListener;
+	private final ScheduledExecutorService scheduler;
+	private final DaemonCancellationToken cancellationToken;
+
+	//IDLE, RUNNING or the id of the pending execution.
+	//An execution starts only if it wins the CAS from its id to RUNNING, so an execution replaced after it was started by the scheduler is dropped
+	private final AtomicLong state = new AtomicLong(IDLE);
+
+	//the following fields are guarded by this
+	private long lastExecutionId;
+	private ScheduledFuture<?> nextExecution;
+	private boolean paused;
+	private boolean triggered;
 
-	DaemonTimerTask(final DaemonListener daemonListener, final Daemon daemon) {
+	DaemonTimerTask(
+			final DaemonDefinition daemonDefinition,
+			final DaemonListener daemonListener,
+			final Daemon daemon,
+			final ScheduledExecutorService scheduler,
+			final DaemonCancellationToken cancellationToken) {
 		Assertion.check()
+				.isNotNull(daemonDefinition)
 				.isNotNull(daemonListener)
-				.isNotNull(daemon);
+				.isNotNull(daemon)
+				.isNotNull(scheduler)
+				.isNotNull(cancellationToken);
 		//---
+		this.daemonDefinition = daemonDefinition;
 		this.daemon = daemon;
 		this.daemonListener = daemonListener;
+		this.scheduler = scheduler;
+		this.cancellationToken = cancellationToken;
+	}
+
+	/**
+	 * Schedules the first execution after the daemon's period.
+	 */
+	synchronized void start() {
+		scheduleNext(IDLE, DaemonNextExecution.afterPeriod());
+	}
+
+	/**
+	 * @return the recent executions, from the oldest to the newest
+	 */
+	List<DaemonExecution> getExecutions() {
+		return daemonListener.getExecutions();
+	}
+
+	/**
+	 * Executes the daemon as soon as possible.
+	 */
+	synchronized void trigger() {
+		final long current = state.get();
+		if (current == RUNNING || !scheduleNext(current, DaemonNextExecution.immediately())) {
+			//the daemon will be executed again when the current execution ends
+			triggered = true;
+		}
+	}
+
+	/**
+	 * Cancels the pending execution until the daemon is resumed.
+	 */
+	synchronized void pause() {
+		paused = true;
+		final long current = state.get();
+		if (current != RUNNING && state.compareAndSet(current, IDLE)) {
+			cancelNext();
+		}
+		daemonListener.onPause();
 	}
 
-	/** {@inheritDoc} */
-	@Override
-	public void run() {
+	/**
+	 * Schedules the daemon again after its period.
+	 */
+	synchronized void resume() {
+		if (paused) {
+			paused = false;
+			daemonListener.onResume();
+			scheduleNext(IDLE, DaemonNextExecution.afterPeriod());
+		}
+	}
+
+	private void execute(final long executionId) {
+		if (!state.compareAndSet(executionId, RUNNING)) {
+			//this execution has been replaced or cancelled
+			return;
+		}
+		DaemonNextExecution daemonNextExecution = DaemonNextExecution.afterPeriod();
 		try {//try catch needed to ensure execution aren't suppressed
 			daemonListener.onStart();
 			//---
-			daemon.run();
+			final DaemonNextExecution result = daemon.execute(cancellationToken);
+			Assertion.check().isNotNull(result, "daemon {0} must return its next execution", daemonDefinition.getName());
+			daemonNextExecution = result;
 			//---
 			daemonListener.onSuccess();
 		} catch (final Exception e) {
 			daemonListener.onFailure(e);
 		} finally {
+			//the next execution is scheduled first, so that the daemon is never lost
+			onEnd(daemonNextExecution);
 			clearAllThreadLocals();
 		}
 	}
 
+	private synchronized void onEnd(final DaemonNextExecution daemonNextExecution) {
+		nextExecution = null;
+		if (triggered) {
+			triggered = false;
+			scheduleNext(RUNNING, DaemonNextExecution.immediately());
+		} else if (paused) {
+			state.set(IDLE);
+		} else {
+			scheduleNext(RUNNING, daemonNextExecution);
+		}
+	}
+
+	/**
+	 * Replaces the expected state by a new pending execution.
+	 * @return false if the state has changed meanwhile (an execution has started)
+	 */
+	private boolean scheduleNext(final long expectedState, final DaemonNextExecution daemonNextExecution) {
+		if (scheduler.isShutdown()) {
+			state.compareAndSet(expectedState, IDLE);
+			return true;
+		}
+		final long executionId = ++lastExecutionId;
+		if (!state.compareAndSet(expectedState, executionId)) {
+			return false;
+		}
+		cancelNext();
+		nextExecution = scheduler.schedule(() -> execute(executionId), daemonNextExecution.getDelayInMillis(daemonDefinition.getPeriodInSeconds()), TimeUnit.MILLISECONDS);
+		return true;
+	}
+
+	private void cancelNext() {
+		if (nextExecution != null) {
+			nextExecution.cancel(false);
+			nextExecution = null;
+		}
+	}
+
 	private static void clearAllThreadLocals() {
 		try {
 			final Field threadLocals = Thread.class.getDeclaredField("threadLocals");
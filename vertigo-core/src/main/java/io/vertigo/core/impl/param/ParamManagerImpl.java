@@ -17,8 +17,16 @@
  */
 package io.vertigo.core.impl.param;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import javax.inject.Inject;
 
@@ -30,11 +38,16 @@ import io.vertigo.core.param.ParamManager;
  * This class implements the default paramManager.
  *
  * The strategy to access params is defined by a list of plugins.
+ * The params of the plugins that know all their params are merged in an immutable index,
+ * and the resolved params are cached until they are invalidated.
  *
  * @author pchretien, npiedeloup
  */
 public final class ParamManagerImpl implements ParamManager {
 	private final List<ParamPlugin> paramPlugins;
+	//replaced atomically when the params are invalidated
+	private volatile ParamResolution paramResolution;
+	private final List<Consumer<Set<String>>> changeListeners = new CopyOnWriteArrayList<>();
 
 	/**
 	 * Constructor.
@@ -45,6 +58,8 @@ public final class ParamManagerImpl implements ParamManager {
 		Assertion.check().isNotNull(paramPlugins);
 		//-----
 		this.paramPlugins = paramPlugins;
+		paramResolution = new ParamResolution(paramPlugins);
+		paramPlugins.forEach(paramPlugin -> paramPlugin.addChangeListener(this::onParamsChanged));
 	}
 
 	/** {@inheritDoc} */
@@ -58,11 +73,78 @@ public final class ParamManagerImpl implements ParamManager {
 	public Optional<Param> getOptionalParam(final String paramName) {
 		Assertion.check().isNotBlank(paramName);
 		//-----
-		return paramPlugins
-				.stream()
-				.map(paramPlugin -> paramPlugin.getParam(paramName))
-				.filter(Optional::isPresent)
-				.map(Optional::get)
-				.findFirst();
+		return paramResolution.resolve(paramName);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public synchronized void invalidate() {
+		//the plugins may change concurrently (a watcher per file) : the params are read and published under a lock,
+		//so the last published params are read after the last change
+		paramResolution = new ParamResolution(paramPlugins);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void subscribe(final Consumer<Set<String>> changeListener) {
+		Assertion.check().isNotNull(changeListener);
+		//-----
+		changeListeners.add(changeListener);
+	}
+
+	private void onParamsChanged(final Set<String> changedParamNames) {
+		invalidate();
+		changeListeners.forEach(changeListener -> changeListener.accept(changedParamNames));
+	}
+
+	/*
+	 * The sources of params, in the order of the plugins : the first param found wins.
+	 * The consecutive plugins that know all their params are merged in a single index.
+	 */
+	private static final class ParamResolution {
+		private final List<Function<String, Optional<Param>>> sources = new ArrayList<>();
+		//the missing params are cached too
+		private final Map<String, Optional<Param>> resolvedParams = new ConcurrentHashMap<>();
+
+		ParamResolution(final List<ParamPlugin> paramPlugins) {
+			Map<String, String> mergedValues = new HashMap<>();
+			for (final ParamPlugin paramPlugin : paramPlugins) {
+				final Optional<Map<String, String>> paramValuesOpt = paramPlugin.getParamValues();
+				if (paramValuesOpt.isPresent()) {
+					paramValuesOpt.get().forEach(mergedValues::putIfAbsent);
+				} else {
+					addIndex(mergedValues);
+					mergedValues = new HashMap<>();
+					sources.add(paramPlugin::getParam);
+				}
+			}
+			addIndex(mergedValues);
+		}
+
+		private void addIndex(final Map<String, String> mergedValues) {
+			if (!mergedValues.isEmpty()) {
+				final Map<String, String> index = Map.copyOf(mergedValues);
+				sources.add(paramName -> Optional.ofNullable(index.get(paramName))
+						.map(paramValue -> Param.of(paramName, paramValue)));
+			}
+		}
+
+		Optional<Param> resolve(final String paramName) {
+			final Optional<Param> paramOpt = resolvedParams.get(paramName);
+			if (paramOpt != null) {
+				return paramOpt;
+			}
+			return resolvedParams.computeIfAbsent(paramName, this::doResolve);
+		}
+
+		private Optional<Param> doResolve(final String paramName) {
+			for (final Function<String, Optional<Param>> source : sources) {
+				final Optional<Param> paramOpt = source.apply(paramName);
+				if (paramOpt.isPresent()) {
+					return paramOpt;
+				}
+			}
+			return Optional.empty();
+		}
 	}
 }
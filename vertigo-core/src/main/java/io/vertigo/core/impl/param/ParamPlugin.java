@@ -17,7 +17,10 @@
  */
 package io.vertigo.core.impl.param;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import io.vertigo.core.node.component.Plugin;
 import io.vertigo.core.param.Param;
@@ -35,4 +38,22 @@ public interface ParamPlugin extends Plugin {
 	 * @return Value of the param
 	 */
 	Optional<Param> getParam(String paramName);
+
+	/**
+	 * Returns the values of all the params, if they are known at once : they are indexed by the paramManager.
+	 * Returns none if the params can only be read one by one.
+	 * @return the values of the params by name
+	 */
+	default Optional<Map<String, String>> getParamValues() {
+		return Optional.empty();
+	}
+
+	/**
+	 * Adds a listener of the changes of the params : it receives the names of the changed params.
+	 * The params of a plugin don't change by default.
+	 * @param changeListener the listener
+	 */
+	default void addChangeListener(final Consumer<Set<String>> changeListener) {
+		//the params don't change by default
+	}
 }
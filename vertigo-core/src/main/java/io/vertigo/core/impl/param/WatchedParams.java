@@ -0,0 +1,130 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.impl.param;
+
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import io.vertigo.core.lang.Assertion;
+import io.vertigo.core.lang.WrappedException;
+import io.vertigo.core.param.Param;
+import io.vertigo.core.util.FileWatcher;
+
+/**
+ * The params read from a file, in an immutable snapshot.
+ * If the file is watched, the file is read again when it changes and the snapshot is replaced atomically : the reads are lock-free.
+ * If the file can't be read, the current snapshot is kept.
+ * The file is watched from start() until close().
+ */
+public final class WatchedParams implements AutoCloseable {
+	private final URL url;
+	private final Function<URL, Map<String, String>> paramsReader;
+	private volatile Map<String, String> paramValues;
+	private final List<Consumer<Set<String>>> changeListeners = new CopyOnWriteArrayList<>();
+	private final Optional<FileWatcher> fileWatcherOpt;
+
+	/**
+	 * Constructor.
+	 * @param url the url of the file
+	 * @param paramsReader the reader of the param values
+	 * @param watch if the file is watched (it must be a local file)
+	 */
+	public WatchedParams(final URL url, final Function<URL, Map<String, String>> paramsReader, final boolean watch) {
+		Assertion.check()
+				.isNotNull(url)
+				.isNotNull(paramsReader)
+				.isTrue(!watch || "file".equals(url.getProtocol()), "only the local files can be watched ({0})", url);
+		//-----
+		this.url = url;
+		this.paramsReader = paramsReader;
+		paramValues = Map.copyOf(paramsReader.apply(url));
+		fileWatcherOpt = watch
+				? Optional.of(new FileWatcher(Set.of(toPath(url)), changedFiles -> reload(), "params"))
+				: Optional.empty();
+	}
+
+	private static Path toPath(final URL url) {
+		try {
+			return Paths.get(url.toURI());
+		} catch (final URISyntaxException e) {
+			throw WrappedException.wrap(e, "Can't watch the params {0}", url);
+		}
+	}
+
+	/**
+	 * Starts watching the file, if it's watched.
+	 */
+	public void start() {
+		fileWatcherOpt.ifPresent(FileWatcher::start);
+	}
+
+	/**
+	 * @param paramName the name of the param
+	 * @return the param, if it's defined
+	 */
+	public Optional<Param> getParam(final String paramName) {
+		final String paramValue = paramValues.get(paramName);
+		return paramValue != null ? Optional.of(Param.of(paramName, paramValue)) : Optional.empty();
+	}
+
+	/**
+	 * @return the current values of the params by name
+	 */
+	public Map<String, String> getParamValues() {
+		return paramValues;
+	}
+
+	/**
+	 * Adds a listener of the changes : it receives the names of the added, modified and removed params.
+	 * @param changeListener the listener
+	 */
+	public void addChangeListener(final Consumer<Set<String>> changeListener) {
+		Assertion.check().isNotNull(changeListener);
+		//-----
+		changeListeners.add(changeListener);
+	}
+
+	private void reload() {
+		final Map<String, String> previousParamValues = paramValues;
+		final Map<String, String> newParamValues = Map.copyOf(paramsReader.apply(url));
+		final Set<String> changedParamNames = new HashSet<>(previousParamValues.keySet());
+		changedParamNames.addAll(newParamValues.keySet());
+		changedParamNames.removeIf(paramName -> Objects.equals(previousParamValues.get(paramName), newParamValues.get(paramName)));
+		paramValues = newParamValues;
+		if (!changedParamNames.isEmpty()) {
+			changeListeners.forEach(changeListener -> changeListener.accept(changedParamNames));
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void close() {
+		fileWatcherOpt.ifPresent(FileWatcher::close);
+	}
+}
@@ -18,24 +18,22 @@
 package io.vertigo.core.impl.resource;
 
 import java.io.File;
-import java.io.IOException;
 import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.ArrayList;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.inject.Inject;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
+import io.vertigo.core.analytics.metric.Metric;
+import io.vertigo.core.analytics.metric.Metrics;
+import io.vertigo.core.daemon.DaemonCancellationToken;
+import io.vertigo.core.daemon.DaemonNextExecution;
 import io.vertigo.core.daemon.DaemonScheduled;
 import io.vertigo.core.lang.Assertion;
 import io.vertigo.core.lang.VSystemException;
-import io.vertigo.core.lang.WrappedException;
 import io.vertigo.core.resource.ResourceManager;
 import io.vertigo.core.util.TempFile;
 
@@ -49,9 +47,16 @@ import io.vertigo.core.util.TempFile;
  */
 public final class ResourceManagerImpl implements ResourceManager {
 
-	private static final Logger LOG = LogManager.getLogger(ResourceManagerImpl.class);
+	private static final Duration PURGE_MAX_AGE = Duration.ofHours(1);
+	private static final Duration PURGE_TIME_BUDGET = Duration.ofSeconds(10);
+	private static final int PURGE_PARALLELISM = Math.min(4, Runtime.getRuntime().availableProcessors());
 
 	private final List<ResourceResolverPlugin> resourceResolverPlugins;
+	//each node scans the temp dir once : the files left by a previous start or by another JVM are found when a node starts
+	private final TempFilePurger tempFilePurger = new TempFilePurger(TempFile.VERTIGO_TMP_DIR_PATH, TempFile.REGISTRY, PURGE_MAX_AGE, PURGE_TIME_BUDGET, PURGE_PARALLELISM);
+	private volatile boolean recoveryComplete;
+	//the expired files deleted by this node (the registry is shared by the nodes of the JVM)
+	private final LongAdder expiredFilesDeleted = new LongAdder();
 
 	/**
 	 * Constructor.
@@ -88,47 +93,44 @@ public final class ResourceManagerImpl implements ResourceManager {
 
 	/**
 	 * Daemon for deleting old files.
+	 * The temp files are deleted when they expire, using the registry of TempFile.
+	 * The files left by a previous start (or used by another JVM) are found by a one-time scan of the temp dir, when the node starts.
+	 * This scan is bounded by a time budget : an incomplete scan is resumed after a pause of the same duration,
+	 * to leave the daemon threads to the other daemons.
+	 * @param cancellationToken the token to stop the purge
+	 * @return the next execution
 	 */
-	@DaemonScheduled(name = "DmnPurgeTempFile", periodInSeconds = 5 * 60)
-	public void deleteOldFiles() {
-		final Path documentRootFile = TempFile.VERTIGO_TMP_DIR_PATH;
-		final long maxTime = System.currentTimeMillis() - 60 * 60L * 1000L;
-		if (Files.exists(documentRootFile)) {
-			doDeleteOldFiles(documentRootFile, maxTime);
+	@DaemonScheduled(name = "DmnPurgeTempFile", periodInSeconds = 60)
+	public DaemonNextExecution deleteOldFiles(final DaemonCancellationToken cancellationToken) {
+		expiredFilesDeleted.add(TempFile.REGISTRY.purgeExpired());
+		if (!recoveryComplete) {
+			recoveryComplete = tempFilePurger.purge(cancellationToken);
+			if (!recoveryComplete) {
+				return DaemonNextExecution.after(PURGE_TIME_BUDGET);
+			}
 		}
+		return DaemonNextExecution.afterPeriod();
 	}
 
-	private static void doDeleteOldFiles(final Path documentRootFile, final long maxTime) {
-		final List<RuntimeException> processIOExceptions = new ArrayList<>();
-		try (Stream<Path> fileStream = Files.list(documentRootFile)) {
-			fileStream.forEach(subFile -> {
-				if (Files.isDirectory(subFile) && Files.isReadable(subFile)) { //canRead pour les pbs de droits
-					doDeleteOldFiles(subFile, maxTime);
-				} else {
-					boolean shouldDelete = false;
-					try {
-						shouldDelete = Files.getLastModifiedTime(subFile).toMillis() <= maxTime;
-						if (shouldDelete) {
-							Files.delete(subFile);
-						}
-					} catch (final IOException e) {
-						managedIOException(processIOExceptions, e);
-						if (shouldDelete) {
-							subFile.toFile().deleteOnExit();
-						}
-					}
-				}
-			});
-		} catch (final IOException e) {
-			managedIOException(processIOExceptions, e);
-		}
-		if (!processIOExceptions.isEmpty()) {
-			throw processIOExceptions.get(0); //We throw the first exception (for daemon health stats), and log the others
-		}
+	/**
+	 * The metrics of the purges done by this node : the scan of the temp dir and the expired files.
+	 * @return the metrics
+	 */
+	@Metrics
+	public List<Metric> getTempFilesMetrics() {
+		return Arrays.asList(
+				buildTempFilesMetric("tempFilesVisited", tempFilePurger.getFilesVisited()),
+				buildTempFilesMetric("tempFilesDeleted", tempFilePurger.getFilesDeleted()),
+				buildTempFilesMetric("tempFilesBytesFreed", tempFilePurger.getBytesFreed()),
+				buildTempFilesMetric("tempFilesExpired", expiredFilesDeleted.sum()));
 	}
 
-	private static void managedIOException(final List<RuntimeException> processIOExceptions, final IOException causeException) {
-		processIOExceptions.add(WrappedException.wrap(causeException));
-		LOG.error("doDeleteOldFiles error", causeException);
+	private static Metric buildTempFilesMetric(final String name, final long value) {
+		return Metric.builder()
+				.withName(name)
+				.withFeature("resource")
+				.withValue((double) value)
+				.withSuccess()
+				.build();
 	}
 }
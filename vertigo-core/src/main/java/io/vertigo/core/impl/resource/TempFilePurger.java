@@ -0,0 +1,257 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.impl.resource;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.vertigo.core.daemon.DaemonCancellationToken;
+import io.vertigo.core.lang.Assertion;
+import io.vertigo.core.lang.Tuple;
+import io.vertigo.core.lang.WrappedException;
+import io.vertigo.core.util.TempFileRegistry;
+
+/**
+ * Purges the old files of a directory, and registers the others so that they are deleted when they expire.
+ *
+ * Each purge is bounded by a time budget : a directory too big to be purged at once is purged incrementally,
+ * the next purge resumes from the first entry (of the root directory) that has not been completed.
+ * Sub directories are walked in parallel, with a bounded concurrency.
+ * Only files are deleted, directories are kept.
+ */
+final class TempFilePurger {
+	private static final Logger LOG = LogManager.getLogger(TempFilePurger.class);
+
+	private final Path rootPath;
+	private final TempFileRegistry tempFileRegistry;
+	private final Duration maxAge;
+	private final Duration timeBudget;
+	private final int parallelism;
+
+	//name of the first root entry to purge, null if the next purge starts a new pass
+	private String resumeFrom;
+
+	private final LongAdder filesVisited = new LongAdder();
+	private final LongAdder filesDeleted = new LongAdder();
+	private final LongAdder bytesFreed = new LongAdder();
+
+	/**
+	 * Constructor.
+	 * @param rootPath the directory to purge
+	 * @param tempFileRegistry the registry of the files to delete later
+	 * @param maxAge the age from which a file is deleted
+	 * @param timeBudget the max duration of a purge
+	 * @param parallelism the max number of sub directories walked at the same time
+	 */
+	TempFilePurger(final Path rootPath, final TempFileRegistry tempFileRegistry, final Duration maxAge, final Duration timeBudget, final int parallelism) {
+		Assertion.check()
+				.isNotNull(rootPath)
+				.isNotNull(tempFileRegistry)
+				.isNotNull(maxAge)
+				.isNotNull(timeBudget)
+				.isTrue(parallelism > 0, "parallelism {0} must be > 0", parallelism);
+		//-----
+		this.rootPath = rootPath;
+		this.tempFileRegistry = tempFileRegistry;
+		this.maxAge = maxAge;
+		this.timeBudget = timeBudget;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Purges the old files, until the purge is complete or the time budget is exhausted.
+	 * @param cancellationToken the token to stop the purge
+	 * @return if the purge is complete (otherwise the next purge resumes where this one stopped)
+	 */
+	synchronized boolean purge(final DaemonCancellationToken cancellationToken) {
+		Assertion.check().isNotNull(cancellationToken);
+		//-----
+		if (!Files.exists(rootPath)) {
+			return true;
+		}
+		final long deadline = System.nanoTime() + timeBudget.toNanos();
+		final BooleanSupplier mustStop = () -> System.nanoTime() - deadline > 0 || cancellationToken.isCancellationRequested();
+		final long maxTime = System.currentTimeMillis() - maxAge.toMillis();
+		final List<RuntimeException> processIOExceptions = Collections.synchronizedList(new ArrayList<>());
+		//-----
+		String firstIncomplete = null;
+		final List<Tuple<String, Future<Boolean>>> subDirectoryPurges = new ArrayList<>();
+		final ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+		try {
+			for (final Path entry : listEntriesToPurge(processIOExceptions)) {
+				if (mustStop.getAsBoolean()) {
+					firstIncomplete = entry.getFileName().toString();
+					break;
+				}
+				final BasicFileAttributes attributes = readAttributes(entry, processIOExceptions);
+				if (attributes != null && attributes.isDirectory()) {
+					subDirectoryPurges.add(Tuple.of(entry.getFileName().toString(),
+							executorService.submit(() -> purgeDirectory(entry, maxTime, mustStop, processIOExceptions))));
+				} else if (attributes != null) {
+					purgeFile(entry, attributes, maxTime, processIOExceptions);
+				}
+			}
+			//entries are sorted : the first incomplete entry is the min of the incomplete ones
+			for (final Tuple<String, Future<Boolean>> subDirectoryPurge : subDirectoryPurges) {
+				if (!subDirectoryPurge.getVal2().get()) {
+					firstIncomplete = firstIncomplete == null || subDirectoryPurge.getVal1().compareTo(firstIncomplete) < 0 ? subDirectoryPurge.getVal1() : firstIncomplete;
+					break;
+				}
+			}
+		} catch (final InterruptedException e) {
+			// Restore interrupted state...
+			Thread.currentThread().interrupt();
+			throw WrappedException.wrap(e);
+		} catch (final ExecutionException e) {
+			throw WrappedException.wrap(e);
+		} finally {
+			executorService.shutdownNow();
+		}
+		resumeFrom = firstIncomplete;
+		if (!processIOExceptions.isEmpty()) {
+			throw processIOExceptions.get(0); //We throw the first exception (for daemon health stats), and log the others
+		}
+		return firstIncomplete == null;
+	}
+
+	/**
+	 * @return the number of files visited since the start
+	 */
+	long getFilesVisited() {
+		return filesVisited.sum();
+	}
+
+	/**
+	 * @return the number of files deleted since the start
+	 */
+	long getFilesDeleted() {
+		return filesDeleted.sum();
+	}
+
+	/**
+	 * @return the number of bytes freed since the start
+	 */
+	long getBytesFreed() {
+		return bytesFreed.sum();
+	}
+
+	private List<Path> listEntriesToPurge(final List<RuntimeException> processIOExceptions) {
+		final List<Path> entries = new ArrayList<>();
+		try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(rootPath)) {
+			for (final Path entry : directoryStream) {
+				if (resumeFrom == null || entry.getFileName().toString().compareTo(resumeFrom) >= 0) {
+					entries.add(entry);
+				}
+			}
+		} catch (final IOException e) {
+			managedIOException(processIOExceptions, e);
+		}
+		entries.sort(null);
+		return entries;
+	}
+
+	private boolean purgeDirectory(final Path directory, final long maxTime, final BooleanSupplier mustStop, final List<RuntimeException> processIOExceptions) throws IOException {
+		final boolean[] complete = { true };
+		Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attributes) {
+				return checkStop();
+			}
+
+			@Override
+			public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) {
+				purgeFile(file, attributes, maxTime, processIOExceptions);
+				return checkStop();
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed(final Path file, final IOException e) {
+				managedIOException(processIOExceptions, e);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory(final Path dir, final IOException e) {
+				if (e != null) {
+					managedIOException(processIOExceptions, e);
+				}
+				return FileVisitResult.CONTINUE;
+			}
+
+			private FileVisitResult checkStop() {
+				if (mustStop.getAsBoolean()) {
+					complete[0] = false;
+					return FileVisitResult.TERMINATE;
+				}
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		return complete[0];
+	}
+
+	private void purgeFile(final Path file, final BasicFileAttributes attributes, final long maxTime, final List<RuntimeException> processIOExceptions) {
+		filesVisited.increment();
+		final long lastModifiedMillis = attributes.lastModifiedTime().toMillis();
+		if (lastModifiedMillis <= maxTime) {
+			try {
+				Files.delete(file);
+				filesDeleted.increment();
+				bytesFreed.add(attributes.size());
+			} catch (final IOException e) {
+				managedIOException(processIOExceptions, e);
+				//retried later
+				tempFileRegistry.registerFound(file, System.currentTimeMillis() + maxAge.toMillis());
+			}
+		} else {
+			tempFileRegistry.registerFound(file, lastModifiedMillis + maxAge.toMillis());
+		}
+	}
+
+	private static BasicFileAttributes readAttributes(final Path path, final List<RuntimeException> processIOExceptions) {
+		try {
+			return Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+		} catch (final IOException e) {
+			managedIOException(processIOExceptions, e);
+			return null;
+		}
+	}
+
+	private static void managedIOException(final List<RuntimeException> processIOExceptions, final IOException causeException) {
+		processIOExceptions.add(WrappedException.wrap(causeException));
+		LOG.error("doDeleteOldFiles error", causeException);
+	}
+}
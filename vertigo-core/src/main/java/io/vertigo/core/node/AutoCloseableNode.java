@@ -22,6 +22,8 @@ import java.net.URL;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.logging.log4j.LogManager;
@@ -42,6 +44,7 @@ import io.vertigo.core.node.config.NodeConfig;
 import io.vertigo.core.node.definition.DefinitionSpace;
 import io.vertigo.core.node.definition.loader.DefinitionSpaceLoader;
 import io.vertigo.core.node.definition.loader.DefinitionSpaceWritable;
+import io.vertigo.core.util.FileWatcher;
 
 /**
  * The node class is the core of vertigo.
@@ -66,11 +69,16 @@ public final class AutoCloseableNode implements Node, AutoCloseable {
 	//Start : used to have 'uptime'
 	private final Instant start;
 	private final NodeConfig nodeConfig;
-	private State state;
+	//read by the watcher of the definition resources
+	private volatile State state;
 
 	private final DefinitionSpaceWritable definitionSpaceWritable = new DefinitionSpaceWritable();
 	private final ComponentSpaceWritable componentSpaceWritable = new ComponentSpaceWritable();
 
+	//kept to reload the definitions, if the hot reload is enabled
+	private Optional<DefinitionSpaceLoader> definitionSpaceLoaderOpt = Optional.empty();
+	private Optional<FileWatcher> definitionResourceWatcherOpt = Optional.empty();
+
 	//à remplacer par event ??
 	private final List<Runnable> preActivateFunctions = new ArrayList<>();
 
@@ -94,7 +102,7 @@ public final class AutoCloseableNode implements Node, AutoCloseable {
 			//Dans le cas de boot il n,'y a ni initializer, ni aspects, ni definitions
 			//Creates and register all components (and aspects and Proxies).
 			//all components can be parameterized
-			ComponentSpaceLoader.startLoading(componentSpaceWritable, nodeConfig.getBootConfig().getAopPlugin())
+			ComponentSpaceLoader.startLoading(componentSpaceWritable, nodeConfig.getBootConfig())
 					//-- 1.a - BootStrap : create native components : ResourceManager, ParamManager, LocaleManager
 					.loadBootComponents(nodeConfig.getBootConfig().getComponentConfigs())
 					//-- 1.b - other components
@@ -105,13 +113,19 @@ public final class AutoCloseableNode implements Node, AutoCloseable {
 			if (nodeConfig.getBootConfig().isVerbose()) {
 				nodeConfig.print(System.out);
 			}
+			if (nodeConfig.getBootConfig().isCompactDefinitionReferences()) {
+				definitionSpaceWritable.enableCompactReferences();
+			}
 			//--2 Loads all definitions
 			//-----a Loads all definitions provided by DefinitionProvider
 			//-----b Loads all definitions provided by components
-			DefinitionSpaceLoader.startLoading(definitionSpaceWritable, componentSpaceWritable)
+			final DefinitionSpaceLoader definitionSpaceLoader = DefinitionSpaceLoader.startLoading(definitionSpaceWritable, componentSpaceWritable, nodeConfig.getBootConfig().isParallelBoot())
 					.loadDefinitions(nodeConfig.getModuleConfigs())
-					.loadDefinitionsFromComponents()
-					.endLoading();
+					.loadDefinitionsFromComponents();
+			definitionSpaceLoader.endLoading();
+			if (nodeConfig.getBootConfig().isHotReload()) {
+				definitionSpaceLoaderOpt = Optional.of(definitionSpaceLoader);
+			}
 
 			//--3. init (Init all Initializers and starts activeable components)
 			//-----3.a Starts activeable components
@@ -130,6 +144,10 @@ public final class AutoCloseableNode implements Node, AutoCloseable {
 			appPreActivate();
 			//-----4.b
 			state = State.ACTIVE;
+			//-----4.c Watches the definition resources (once the node is active : a change is reloaded like any other reload)
+			if (definitionSpaceLoaderOpt.isPresent()) {
+				definitionResourceWatcherOpt = Optional.of(definitionSpaceLoader.startWatching(this::reloadDefinitions));
+			}
 		} catch (final Exception e) {
 			close();
 			throw new IllegalStateException("an error occured when starting", e);
@@ -137,7 +155,7 @@ public final class AutoCloseableNode implements Node, AutoCloseable {
 	}
 
 	@Override
-	public void registerPreActivateFunction(final Runnable preActivateFunction) {
+	public synchronized void registerPreActivateFunction(final Runnable preActivateFunction) {
 		Assertion.check()
 				.isTrue(state == State.STARTING, "Applisteners can't be registered at runtime")
 				.isNotNull(preActivateFunction);
@@ -151,8 +169,28 @@ public final class AutoCloseableNode implements Node, AutoCloseable {
 	}
 
 	private void appStop() {
-		componentSpaceWritable.stop();
-		definitionSpaceWritable.clear();
+		try {
+			//no reload after this point
+			definitionResourceWatcherOpt.ifPresent(FileWatcher::close);
+		} finally {
+			componentSpaceWritable.stop();
+			definitionSpaceWritable.clear();
+		}
+	}
+
+	/**
+	 * Reloads the definitions after a change of their resources, without restarting the node.
+	 * The running requests keep their snapshot of the definitions (see DefinitionSpace.getSnapshot()).
+	 * The changes of the local files are detected, this method is used for the other resources.
+	 * @param changedResourcePaths the paths of the changed definition resources
+	 * @return if the definitions have been reloaded (false if no provider uses these resources)
+	 */
+	public boolean reloadDefinitions(final Set<String> changedResourcePaths) {
+		Assertion.check()
+				.isTrue(state == State.ACTIVE, "definitions can only be reloaded when the node is active")
+				.isTrue(definitionSpaceLoaderOpt.isPresent(), "hot reload is not enabled");
+		//-----
+		return definitionSpaceLoaderOpt.get().reload(changedResourcePaths);
 	}
 
 	/** {@inheritDoc} */
@@ -23,7 +23,7 @@ package io.vertigo.core.node.component;
  * The "real" component is automatically from annotations that explain 
  * how to deal with their decalarations
  * 
- * Technically, the created core-component is a java proxy.
+ * Technically, the created core-component is an instance of a class generated from the interface.
  * ----------------------------------------------------------------
  * The perfect use case of the amplifier is when you have to request a remote server, 
  * that's to say when you need a simple client. (sql, webServices, redis...)
@@ -34,4 +34,13 @@ public interface ComponentSpace extends Container {
 		return resolve(normalizedId, componentClass);
 	}
 
+	/**
+	 * A lazy component is created on its first resolution.
+	 * @param id the id of the component
+	 * @return if the component is lazy
+	 */
+	default boolean isLazy(final String id) {
+		return false;
+	}
+
 }
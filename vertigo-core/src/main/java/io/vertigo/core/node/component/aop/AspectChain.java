@@ -0,0 +1,119 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.component.aop;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Function;
+
+import io.vertigo.core.lang.Assertion;
+
+/**
+ * The aspects applied on a method, precompiled into a chain.
+ *
+ * The chain is built once, when the component is created : each aspect is linked to an immutable invocation of the next one,
+ * the last invocation calls the method itself.
+ * So an intercepted call doesn't allocate anything (except the args) and doesn't look up anything.
+ */
+public final class AspectChain {
+	private final AspectMethodInvocation head;
+
+	private AspectChain(final AspectMethodInvocation head) {
+		this.head = head;
+	}
+
+	/**
+	 * Builds the chain of aspects on a method.
+	 * @param method the intercepted method
+	 * @param aspects the aspects, the first one is applied first
+	 * @param target the call of the method itself
+	 * @return the chain
+	 */
+	public static AspectChain of(final Method method, final List<Aspect> aspects, final Function<Object[], Object> target) {
+		Assertion.check()
+				.isNotNull(method)
+				.isNotNull(aspects)
+				.isNotNull(target);
+		//-----
+		AspectMethodInvocation invocation = new TargetInvocation(method, target);
+		//the chain is built from the last aspect to the first one
+		for (int i = aspects.size() - 1; i >= 0; i--) {
+			invocation = new AspectInvocation(method, aspects.get(i), invocation);
+		}
+		return new AspectChain(invocation);
+	}
+
+	/**
+	 * Invokes the method through its aspects.
+	 * @param args Args
+	 * @return the result of the method
+	 */
+	public Object invoke(final Object[] args) {
+		return head.proceed(args);
+	}
+
+	private static final class AspectInvocation implements AspectMethodInvocation {
+		private final Method method;
+		private final Aspect aspect;
+		private final AspectMethodInvocation next;
+
+		AspectInvocation(final Method method, final Aspect aspect, final AspectMethodInvocation next) {
+			Assertion.check()
+					.isNotNull(aspect)
+					.isNotNull(next);
+			//-----
+			this.method = method;
+			this.aspect = aspect;
+			this.next = next;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public Object proceed(final Object[] args) {
+			return aspect.invoke(args, next);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public Method getMethod() {
+			return method;
+		}
+	}
+
+	private static final class TargetInvocation implements AspectMethodInvocation {
+		private final Method method;
+		private final Function<Object[], Object> target;
+
+		TargetInvocation(final Method method, final Function<Object[], Object> target) {
+			this.method = method;
+			this.target = target;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public Object proceed(final Object[] args) {
+			return target.apply(args);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public Method getMethod() {
+			return method;
+		}
+	}
+}
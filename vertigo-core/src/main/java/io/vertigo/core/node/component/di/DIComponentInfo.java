@@ -17,15 +17,11 @@
  */
 package io.vertigo.core.node.component.di;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
 import java.util.Collection;
 import java.util.Set;
 
-import javax.inject.Inject;
-
 import io.vertigo.core.lang.Assertion;
-import io.vertigo.core.util.ClassUtil;
+import io.vertigo.core.node.component.di.DIInjectionPlan.DIFieldInjection;
 import io.vertigo.core.util.ListBuilder;
 
 /**
@@ -92,10 +88,8 @@ final class DIComponentInfo {
 	 * Dependencies on constructor.
 	 */
 	private static void populateConstructorDepedencies(final ListBuilder<DIDependency> dependenciesBuilder, final Class<?> implClass, final Set<String> params) {
-		final Constructor<?> constructor = DIAnnotationUtil.findInjectableConstructor(implClass);
 		//On construit la liste de ses dépendances.
-		for (int i = 0; i < constructor.getParameterTypes().length; i++) {
-			final DIDependency dependency = new DIDependency(constructor, i);
+		for (final DIDependency dependency : DIInjectionPlan.of(implClass).getConstructorDependencies()) {
 			if (!params.contains(dependency.getName())) {
 				dependenciesBuilder.add(dependency);
 			}
@@ -106,10 +100,9 @@ final class DIComponentInfo {
 	 * Dependencies on each field
 	 */
 	private static void populateFieldDepencies(final ListBuilder<DIDependency> dependenciesBuilder, final Class<?> implClass, final Set<String> params) {
-		final Collection<Field> fields = ClassUtil.getAllFields(implClass, Inject.class);
-		for (final Field field : fields) {
+		for (final DIFieldInjection fieldInjection : DIInjectionPlan.getFieldInjections(implClass)) {
 			//On utilise le build sur les champs avec les options autorisées.
-			final DIDependency dependency = new DIDependency(field);
+			final DIDependency dependency = fieldInjection.getDependency();
 			if (!params.contains(dependency.getName())) {
 				dependenciesBuilder.add(dependency);
 			}
@@ -0,0 +1,162 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.component.di;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.inject.Inject;
+
+import io.vertigo.core.lang.Assertion;
+import io.vertigo.core.lang.WrappedException;
+import io.vertigo.core.util.ClassUtil;
+
+/**
+ * Injection plan of a class : its injectable constructor and its injectable fields with their dependencies.
+ * The plans are built once per class, the annotations are not parsed again for each new instance.
+ * @param <T> Type of the class
+ */
+final class DIInjectionPlan<T> {
+	private static final ClassValue<DIInjectionPlan<?>> PLANS = new ClassValue<>() {
+		@Override
+		protected DIInjectionPlan<?> computeValue(final Class<?> clazz) {
+			return new DIInjectionPlan<>(clazz);
+		}
+	};
+
+	private static final ClassValue<List<DIFieldInjection>> FIELD_INJECTIONS = new ClassValue<>() {
+		@Override
+		protected List<DIFieldInjection> computeValue(final Class<?> clazz) {
+			return ClassUtil.getAllFields(clazz, Inject.class)
+					.stream()
+					.map(DIFieldInjection::new)
+					.collect(Collectors.toUnmodifiableList());
+		}
+	};
+
+	private final Constructor<T> constructor;
+	private final List<DIDependency> constructorDependencies;
+	private final List<DIFieldInjection> fieldInjections;
+
+	private DIInjectionPlan(final Class<T> clazz) {
+		//On a un et un seul constructeur public injectable.
+		constructor = DIAnnotationUtil.findInjectableConstructor(clazz);
+		constructorDependencies = IntStream.range(0, constructor.getParameterCount())
+				.mapToObj(i -> new DIDependency(constructor, i))
+				.collect(Collectors.toUnmodifiableList());
+		fieldInjections = getFieldInjections(clazz);
+	}
+
+	/**
+	 * @param <T> Type of the class
+	 * @param clazz Class to instantiate
+	 * @return the injection plan of the class (it must have an injectable constructor)
+	 */
+	static <T> DIInjectionPlan<T> of(final Class<T> clazz) {
+		Assertion.check().isNotNull(clazz);
+		//-----
+		return (DIInjectionPlan<T>) PLANS.get(clazz);
+	}
+
+	/**
+	 * @param clazz Class of the instance
+	 * @return the injectable fields of the class (including the fields of its parents)
+	 */
+	static List<DIFieldInjection> getFieldInjections(final Class<?> clazz) {
+		Assertion.check().isNotNull(clazz);
+		//-----
+		return FIELD_INJECTIONS.get(clazz);
+	}
+
+	/**
+	 * @return the injectable constructor
+	 */
+	Constructor<T> getConstructor() {
+		return constructor;
+	}
+
+	/**
+	 * @return the dependencies of the constructor, ordered by parameter
+	 */
+	List<DIDependency> getConstructorDependencies() {
+		return constructorDependencies;
+	}
+
+	/**
+	 * @return the injectable fields
+	 */
+	List<DIFieldInjection> getFieldInjections() {
+		return fieldInjections;
+	}
+
+	/**
+	 * An injectable field, already made accessible.
+	 */
+	static final class DIFieldInjection {
+		private final Field field;
+		private final DIDependency dependency;
+
+		private DIFieldInjection(final Field field) {
+			this.field = field;
+			dependency = new DIDependency(field);
+			field.setAccessible(true);
+		}
+
+		/**
+		 * @return the field
+		 */
+		Field getField() {
+			return field;
+		}
+
+		/**
+		 * @return the dependency
+		 */
+		DIDependency getDependency() {
+			return dependency;
+		}
+
+		/**
+		 * @param instance the instance
+		 * @return the value of the field
+		 */
+		Object get(final Object instance) {
+			try {
+				return field.get(instance);
+			} catch (final IllegalAccessException e) {
+				throw WrappedException.wrap(e, "accès impossible au champ : {0} de {1}", field.getName(), field.getDeclaringClass().getName());
+			}
+		}
+
+		/**
+		 * @param instance the instance
+		 * @param value the value to inject
+		 */
+		void set(final Object instance, final Object value) {
+			try {
+				field.set(instance, value);
+			} catch (final IllegalAccessException e) {
+				throw WrappedException.wrap(e, "accès impossible au champ : {0} de {1}", field.getName(), field.getDeclaringClass().getName());
+			}
+		}
+	}
+}
@@ -17,18 +17,15 @@
  */
 package io.vertigo.core.node.component.di;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-
-import javax.inject.Inject;
+import java.util.stream.Collectors;
 
 import io.vertigo.core.lang.Assertion;
 import io.vertigo.core.node.component.Container;
+import io.vertigo.core.node.component.di.DIInjectionPlan.DIFieldInjection;
 import io.vertigo.core.util.ClassUtil;
 
 /**
@@ -69,11 +66,10 @@ public final class DIInjector {
 	}
 
 	private static <T> T createInstance(final Class<T> clazz, final Container container) {
-		//On a un et un seul constructeur public injectable.
-		final Constructor<T> constructor = DIAnnotationUtil.findInjectableConstructor(clazz);
+		final DIInjectionPlan<T> injectionPlan = DIInjectionPlan.of(clazz);
 		//On recherche les paramètres
-		final Object[] constructorParameters = findConstructorParameters(container, constructor);
-		return ClassUtil.newInstance(constructor, constructorParameters);
+		final Object[] constructorParameters = findConstructorParameters(container, injectionPlan.getConstructorDependencies());
+		return ClassUtil.newInstance(injectionPlan.getConstructor(), constructorParameters);
 	}
 
 	/**
@@ -86,24 +82,51 @@ public final class DIInjector {
 				.isNotNull(instance)
 				.isNotNull(container);
 		//---
-		final Collection<Field> fields = ClassUtil.getAllFields(instance.getClass(), Inject.class);
-		for (final Field field : fields) {
-			final DIDependency dependency = new DIDependency(field);
-			final Object injected = getInjected(container, dependency);
+		for (final DIFieldInjection fieldInjection : DIInjectionPlan.getFieldInjections(instance.getClass())) {
+			final Object injected = getInjected(container, fieldInjection.getDependency());
 
 			//On vérifie que si il s'agit d'un champ non primitif alors ce champs n'avait pas été initialisé
 			Assertion.check()
-					.when(!field.getType().isPrimitive(), () -> Assertion.check()
-							.isTrue(null == ClassUtil.get(instance, field), "field '{0}' is already initialized", field));
-			ClassUtil.set(instance, field, injected);
+					.when(!fieldInjection.getField().getType().isPrimitive(), () -> Assertion.check()
+							.isTrue(null == fieldInjection.get(instance), "field '{0}' is already initialized", fieldInjection.getField()));
+			fieldInjection.set(instance, injected);
+		}
+	}
+
+	/**
+	 * Finds the ids of the objects of a container that will be injected into a new instance of a class.
+	 * @param clazz Class of the instance
+	 * @param container container of all the components that can be injected in the instance
+	 * @return the ids of the objects that will be injected
+	 */
+	public static List<String> findInjectedIds(final Class<?> clazz, final Container container) {
+		Assertion.check()
+				.isNotNull(clazz)
+				.isNotNull(container);
+		//---
+		final DIInjectionPlan<?> injectionPlan = DIInjectionPlan.of(clazz);
+		final List<String> ids = new ArrayList<>();
+		injectionPlan.getConstructorDependencies()
+				.forEach(dependency -> ids.addAll(findInjectedIds(container, dependency)));
+		injectionPlan.getFieldInjections()
+				.forEach(fieldInjection -> ids.addAll(findInjectedIds(container, fieldInjection.getDependency())));
+		return ids;
+	}
+
+	private static List<String> findInjectedIds(final Container container, final DIDependency dependency) {
+		if (dependency.isList()) {
+			return container.keySet()
+					.stream()
+					.filter(id -> id.equals(dependency.getName()) || id.startsWith(dependency.getName() + '#'))
+					.collect(Collectors.toList());
 		}
+		return container.contains(dependency.getName()) ? List.of(dependency.getName()) : Collections.emptyList();
 	}
 
-	private static Object[] findConstructorParameters(final Container container, final Constructor<?> constructor) {
-		final Object[] parameters = new Object[constructor.getParameterTypes().length];
-		for (int i = 0; i < constructor.getParameterTypes().length; i++) {
-			final DIDependency dependency = new DIDependency(constructor, i);
-			parameters[i] = getInjected(container, dependency);
+	private static Object[] findConstructorParameters(final Container container, final List<DIDependency> dependencies) {
+		final Object[] parameters = new Object[dependencies.size()];
+		for (int i = 0; i < parameters.length; i++) {
+			parameters[i] = getInjected(container, dependencies.get(i));
 		}
 		return parameters;
 	}
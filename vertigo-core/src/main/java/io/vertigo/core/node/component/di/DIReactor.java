@@ -17,12 +17,17 @@
  */
 package io.vertigo.core.node.component.di;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Reactor.
@@ -36,7 +41,6 @@ public final class DIReactor {
 	//Map des composants et de leurs parents
 	private final Set<String> allComponentInfos = new HashSet<>();
 	private final List<DIComponentInfo> diComponentInfos = new ArrayList<>();
-	private final Set<String> parentComponentInfos = new HashSet<>();
 
 	private void check(final String id) {
 		//On vérifie que l'on n'insère pas deux composants avec le même id.
@@ -80,7 +84,6 @@ public final class DIReactor {
 	public DIReactor addParent(final String id) {
 		check(id);
 		allComponentInfos.add(id);
-		parentComponentInfos.add(id);
 		return this;
 	}
 
@@ -89,6 +92,51 @@ public final class DIReactor {
 	 * @return Ordered list of comoponent's Ids.
 	 */
 	public List<String> proceed() {
+		final int[] sorted = sort(buildDependencies());
+		//-----
+		//3 On expose un liste de ids et non les composantInfos
+		final List<String> ids = new ArrayList<>(sorted.length);
+		for (final int index : sorted) {
+			ids.add(diComponentInfos.get(index).getId());
+		}
+		return Collections.unmodifiableList(ids);
+	}
+
+	/**
+	 * Process the 'digital' reaction in a way to obtain the components grouped by levels of dependencies.
+	 * A component of a level depends only on parents or on components of the previous levels :
+	 * so the components of a same level can be created concurrently.
+	 * Inside each level, the components are in the order given by proceed().
+	 * @return Ordered levels of component's Ids.
+	 */
+	public List<List<String>> proceedByLevels() {
+		final int[][] dependencies = buildDependencies();
+		final int[] sorted = sort(dependencies);
+		//-----
+		//the parents are already created, only the dependencies on the new components are considered
+		final int[] levelByIndex = new int[dependencies.length];
+		final List<List<String>> levels = new ArrayList<>();
+		for (final int index : sorted) {
+			int level = 0;
+			for (final int dependencyIndex : dependencies[index]) {
+				level = Math.max(level, levelByIndex[dependencyIndex] + 1);
+			}
+			levelByIndex[index] = level;
+			if (level == levels.size()) {
+				levels.add(new ArrayList<>());
+			}
+			levels.get(level).add(diComponentInfos.get(index).getId());
+		}
+		return levels.stream()
+				.map(Collections::unmodifiableList)
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	/*
+	 * Builds, for each component, the indexes of the new components it depends on.
+	 * The dependencies on parents are already solved and are not kept.
+	 */
+	private int[][] buildDependencies() {
 		//-----
 		//1.On vérifie si tous les composants définis par leurs ids existent
 		final StringBuilder missing = new StringBuilder();
@@ -105,74 +153,95 @@ public final class DIReactor {
 			throw new DIException("Components or params not found :" + missing.toString() + "\n\tLoaded components/params : " + diComponentInfos);
 		}
 		//-----
-		//2.On résout les dépendances
-		final List<DIComponentInfo> unsorted = new ArrayList<>(diComponentInfos);
-		//Niveaux de dépendances des composants
-		final List<String> sorted = new ArrayList<>();
-
-		//. Par défaut on considére comme triés tous les parents
-		//On va trier les nouveaux composants.
-		while (!unsorted.isEmpty()) {
-			final int countSorted = sorted.size();
-			for (final Iterator<DIComponentInfo> iterator = unsorted.iterator(); iterator.hasNext();) {
-				final DIComponentInfo componentInfo = iterator.next();
-				final boolean solved = isSolved(componentInfo, parentComponentInfos, allComponentInfos, sorted);
-				if (solved) {
-					//Le composant est résolu
-					// - On l'ajoute sa clé à la liste des clés de composants résolus
-					// - On le supprime de la liste des composants à résoudre
-					sorted.add(componentInfo.getId());
-					iterator.remove();
-				}
+		//Index des composants par id, et par préfixe pour les listes (plugin#1, plugin#2...)
+		final Map<String, Integer> indexById = new HashMap<>();
+		final Map<String, List<Integer>> indexesByListName = new HashMap<>();
+		for (int index = 0; index < diComponentInfos.size(); index++) {
+			final String id = diComponentInfos.get(index).getId();
+			indexById.put(id, index);
+			indexesByListName.computeIfAbsent(id, k -> new ArrayList<>()).add(index);
+			for (int pos = id.indexOf('#'); pos >= 0; pos = id.indexOf('#', pos + 1)) {
+				indexesByListName.computeIfAbsent(id.substring(0, pos), k -> new ArrayList<>()).add(index);
 			}
-			// Si lors d'une itération on ne fait rien c'est qu'il y a une dépendance cyclique
-			if (countSorted == sorted.size()) {
-				// On a une dépendance cyclique !
-				throw new DIException("Dependencies can't be solved on components (maybe a cyclic dependency) :" + unsorted);
+		}
+		final int[][] dependencies = new int[diComponentInfos.size()][];
+		for (int index = 0; index < diComponentInfos.size(); index++) {
+			final List<Integer> dependencyIndexes = new ArrayList<>();
+			for (final DIDependency dependency : diComponentInfos.get(index).getDependencies()) {
+				if (dependency.isList()) {
+					//Tous les objets de la liste doivent être résolus.
+					dependencyIndexes.addAll(indexesByListName.getOrDefault(dependency.getName(), Collections.emptyList()));
+				} else {
+					//Si l'objet est un nouveau composant il doit être résolu (une dépendance optionnelle absente est ok).
+					final Integer dependencyIndex = indexById.get(dependency.getName());
+					if (dependencyIndex != null) {
+						dependencyIndexes.add(dependencyIndex);
+					}
+				}
 			}
+			dependencies[index] = dependencyIndexes.stream().mapToInt(Integer::intValue).toArray();
 		}
-		//-----
-		//3 On expose un liste de ids et non les composantInfos
-		return Collections.unmodifiableList(sorted);
-
+		return dependencies;
 	}
 
-	private static boolean isSolved(final DIComponentInfo componentInfo, final Set<String> parentComponentInfos, final Set<String> allComponentInfos, final List<String> sorted) {
-		//Un composant est résolu si
-		// les dépendances obligatoires sont déjà résolues
-		// les dépendantes facultatives
-		for (final DIDependency dependency : componentInfo.getDependencies()) {
-			if (!isSolved(dependency, parentComponentInfos, allComponentInfos, sorted)) {
-				return false;
+	/*
+	 * Sorts the components (topological sort).
+	 * The order is the one of successive passes over the components in their insertion order :
+	 * during a pass, a component is solved as soon as all its dependencies are solved.
+	 */
+	private int[] sort(final int[][] dependencies) {
+		//2.On résout les dépendances
+		final int count = dependencies.length;
+		final int[] unsolvedCounts = new int[count];
+		final List<List<Integer>> dependents = new ArrayList<>(count);
+		for (int index = 0; index < count; index++) {
+			dependents.add(new ArrayList<>());
+		}
+		for (int index = 0; index < count; index++) {
+			unsolvedCounts[index] = dependencies[index].length;
+			for (final int dependencyIndex : dependencies[index]) {
+				dependents.get(dependencyIndex).add(index);
 			}
 		}
-		return true;
-	}
-
-	private static boolean isSolved(final DIDependency dependency, final Set<String> parentComponentInfos, final Set<String> allComponentInfos, final List<String> sorted) {
-		//Une dépendace est résolue si tous les ids concernés sont résolus.
-		//Si la dépendance est déjà résolue et bien c'est bon on pass à la dépendances suivante
-
-		if (dependency.isRequired()) {
-			return parentComponentInfos.contains(dependency.getName()) || sorted.contains(dependency.getName());
-		} else if (dependency.isOptionnal()) {
-			//Si l'objet fait partie de la liste alors il doit être résolu.
-			if (allComponentInfos.contains(dependency.getName())) {
-				return sorted.contains(dependency.getName()) || parentComponentInfos.contains(dependency.getName());
+		final Deque<Integer> solvable = new ArrayDeque<>();
+		for (int index = 0; index < count; index++) {
+			if (unsolvedCounts[index] == 0) {
+				solvable.add(index);
+			}
+		}
+		//Passe durant laquelle le composant est résolu :
+		//il est résolu dans la même passe qu'une dépendance insérée avant lui, sinon dans la passe suivante
+		final int[] passes = new int[count];
+		final List<Integer> solved = new ArrayList<>(count);
+		while (!solvable.isEmpty()) {
+			final int index = solvable.poll();
+			int pass = 0;
+			for (final int dependencyIndex : dependencies[index]) {
+				pass = Math.max(pass, dependencyIndex < index ? passes[dependencyIndex] : passes[dependencyIndex] + 1);
 			}
-			//Sinon comme il est optionnel c'est ok.
-			return true;
-		} else if (dependency.isList()) {
-			//Si l'objet fait partie de la liste alors il doit être résolu.
-			for (final String id : allComponentInfos) {
-				final boolean match = id.equals(dependency.getName()) || id.startsWith(dependency.getName() + '#');
-				if (match && !sorted.contains(id) && !parentComponentInfos.contains(id)) {
-					//L'objet id fait partie de la liste
-					return false;
+			passes[index] = pass;
+			solved.add(index);
+			for (final int dependentIndex : dependents.get(index)) {
+				if (--unsolvedCounts[dependentIndex] == 0) {
+					solvable.add(dependentIndex);
 				}
 			}
-			return true;
 		}
-		throw new IllegalStateException();
+		if (solved.size() < count) {
+			// On a une dépendance cyclique !
+			final List<DIComponentInfo> unsorted = new ArrayList<>();
+			for (int index = 0; index < count; index++) {
+				if (unsolvedCounts[index] > 0) {
+					unsorted.add(diComponentInfos.get(index));
+				}
+			}
+			throw new DIException("Dependencies can't be solved on components (maybe a cyclic dependency) :" + unsorted);
+		}
+		//-----
+		//tri stable : dans une même passe, les composants restent dans l'ordre d'insertion
+		return solved.stream()
+				.sorted(Comparator.<Integer> comparingInt(index -> passes[index]).thenComparingInt(Integer::intValue))
+				.mapToInt(Integer::intValue)
+				.toArray();
 	}
 }
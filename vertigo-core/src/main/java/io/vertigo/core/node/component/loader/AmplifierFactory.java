@@ -18,25 +18,52 @@
 package io.vertigo.core.node.component.loader;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import io.vertigo.core.lang.Assertion;
+import io.vertigo.core.lang.WrappedException;
 import io.vertigo.core.node.component.Amplifier;
-import io.vertigo.core.node.component.CoreComponent;
 import io.vertigo.core.node.component.amplifier.ProxyMethod;
 import io.vertigo.core.node.component.amplifier.ProxyMethodAnnotation;
 import io.vertigo.core.node.component.aop.Aspect;
-import io.vertigo.core.node.component.aop.AspectMethodInvocation;
+import io.vertigo.core.node.component.aop.AspectChain;
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.CtMethod;
+import javassist.CtNewConstructor;
+import javassist.LoaderClassPath;
+import javassist.NotFoundException;
 
+/**
+ * Creates the amplifiers.
+ *
+ * A class is generated once per amplified interface.
+ * Each method of this class is bound to an aspect chain that applies the aspects then calls the proxyMethod,
+ * this chain is built when the amplifier is created : there is no lookup when a method is called.
+ *
+ * @author pchretien
+ */
 final class AmplifierFactory {
+	private static final String ASPECT_CHAIN_FIELD = "vertigoAspectChain";
+	private static final AtomicInteger AMPLIFIER_COUNTER = new AtomicInteger();
+	private static final ClassValue<AmplifierClass> AMPLIFIER_CLASSES = new ClassValue<>() {
+		@Override
+		protected AmplifierClass computeValue(final Class<?> intf) {
+			return generate(intf);
+		}
+	};
 
 	private AmplifierFactory() {
 		//private
@@ -52,52 +79,32 @@ final class AmplifierFactory {
 				.isNotNull(proxyMethods)
 				.isNotNull(joinPoints);
 		//---
-		final InvocationHandler handler = new MyInvocationHandler(intf, proxyMethods, joinPoints);
-		return (C) java.lang.reflect.Proxy.newProxyInstance(
-				Thread.currentThread().getContextClassLoader(),
-				new Class[] { intf },
-				handler);
-	}
-
-	private static final class MyInvocationHandler implements InvocationHandler {
-		private final Map<Method, ProxyMethod> proxyMethodsByMethod;
-		private final Map<Method, List<Aspect>> aspectsByMethod;
-
-		MyInvocationHandler(
-				final Class<? extends CoreComponent> intf,
-				final List<ProxyMethod> proxyMethods,
-				final Map<Method, List<Aspect>> aspectsByMethod) {
-			Assertion.check()
-					.isNotNull(proxyMethods);
-			//---
-			proxyMethodsByMethod = Arrays.stream(intf.getDeclaredMethods())
-					.collect(Collectors.toMap(Function.identity(),
-							method -> findProxyMethod(method, proxyMethods)));
-			this.aspectsByMethod = aspectsByMethod;
+		final AmplifierClass amplifierClass = AMPLIFIER_CLASSES.get(intf);
+		final AspectChain[] aspectChains = amplifierClass.methods
+				.stream()
+				.map(method -> createAspectChain(method, joinPoints.getOrDefault(method, Collections.emptyList()), findProxyMethod(intf, method, proxyMethods)))
+				.toArray(AspectChain[]::new);
+		try {
+			return intf.cast(amplifierClass.constructor.newInstance((Object) aspectChains));
+		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+			throw WrappedException.wrap(e);
 		}
+	}
 
-		@Override
-		public Object invoke(
-				final Object instance,
-				final Method method,
-				final Object[] args) throws Throwable {
-			Assertion.check()
-					.isNotNull(instance)
-					.isNotNull(method);
-			//---
-			return new MyMethodInvocation(method,
-					aspectsByMethod.getOrDefault(method, Collections.emptyList()),
-					proxyMethodsByMethod.get(method))
-							.proceed(args);
-		}
+	private static AspectChain createAspectChain(final Method method, final List<Aspect> aspects, final ProxyMethod proxyMethod) {
+		return AspectChain.of(method, aspects, args -> proxyMethod.invoke(method, args));
 	}
 
 	private static ProxyMethod findProxyMethod(
+			final Class<?> intf,
 			final Method method,
 			final List<ProxyMethod> proxyMethods) {
-		final Annotation annotation = Stream.concat(
-				Arrays.stream(method.getAnnotations()),
-				Arrays.stream(method.getDeclaringClass().getAnnotations()))
+		//an inherited method may be bound by an annotation of the amplified interface
+		final Annotation annotation = Stream.of(
+				method.getAnnotations(),
+				method.getDeclaringClass().getAnnotations(),
+				intf.getAnnotations())
+				.flatMap(Arrays::stream)
 				.filter(a -> a.annotationType().isAnnotationPresent(ProxyMethodAnnotation.class))
 				.findFirst()
 				.orElseThrow(() -> new IllegalStateException("No way to find a proxy annotation on method : " + method));
@@ -109,38 +116,74 @@ final class AmplifierFactory {
 				.orElseThrow(() -> new IllegalStateException("No way to find a proxyMethod for this method : " + method));
 	}
 
-	private static final class MyMethodInvocation implements AspectMethodInvocation {
-		private final List<Aspect> aspects;
-		private final Method method;
-		private int index;
-		private final ProxyMethod proxyMethod;
-
-		private MyMethodInvocation(
-				final Method method,
-				final List<Aspect> aspects,
-				final ProxyMethod proxyMethod) {
-			Assertion.check()
-					.isNotNull(method)
-					.isNotNull(aspects)
-					.isNotNull(proxyMethod);
-			//-----
-			this.method = method;
-			this.aspects = aspects;
-			this.proxyMethod = proxyMethod;
-		}
+	/*
+	 * Generates a class implementing the interface.
+	 * Its constructor receives an aspect chain by method, each method calls its chain with its args.
+	 */
+	private static AmplifierClass generate(final Class<?> intf) {
+		final ClassPool classPool = new ClassPool(true);
+		classPool.appendClassPath(new LoaderClassPath(intf.getClassLoader()));
+		try {
+			final CtClass aspectChainCtClass = classPool.get(AspectChain.class.getName());
+			final CtClass amplifierCtClass = classPool.makeClass(intf.getName() + "$$VertigoAmplifier" + AMPLIFIER_COUNTER.incrementAndGet());
+			amplifierCtClass.addInterface(classPool.get(intf.getName()));
 
-		/** {@inheritDoc} */
-		@Override
-		public Object proceed(final Object[] args) {
-			if (index < aspects.size()) {
-				return aspects.get(index++).invoke(args, this);
+			final List<Method> methods = getAmplifiedMethods(intf);
+			final StringBuilder constructorBody = new StringBuilder("{ super();");
+			for (int i = 0; i < methods.size(); i++) {
+				final Method method = methods.get(i);
+				amplifierCtClass.addField(new CtField(aspectChainCtClass, ASPECT_CHAIN_FIELD + i, amplifierCtClass));
+				constructorBody.append(" this.").append(ASPECT_CHAIN_FIELD).append(i).append(" = $1[").append(i).append("];");
+
+				final CtMethod ctMethod = new CtMethod(
+						classPool.get(method.getReturnType().getTypeName()),
+						method.getName(),
+						toCtClasses(classPool, method.getParameterTypes()),
+						amplifierCtClass);
+				ctMethod.setExceptionTypes(toCtClasses(classPool, method.getExceptionTypes()));
+				ctMethod.setModifiers(javassist.Modifier.PUBLIC | (method.isVarArgs() ? javassist.Modifier.VARARGS : 0));
+				ctMethod.setBody("{ return ($r) this." + ASPECT_CHAIN_FIELD + i + ".invoke($args); }");
+				amplifierCtClass.addMethod(ctMethod);
 			}
-			return proxyMethod.invoke(method, args);
+			amplifierCtClass.addConstructor(CtNewConstructor.make(
+					new CtClass[] { classPool.get(AspectChain[].class.getTypeName()) },
+					new CtClass[0],
+					constructorBody.append(" }").toString(),
+					amplifierCtClass));
+
+			final Class<?> amplifierClass = amplifierCtClass.toClass(intf);
+			amplifierCtClass.detach();
+			return new AmplifierClass(methods, amplifierClass.getDeclaredConstructor(AspectChain[].class));
+		} catch (final NotFoundException | CannotCompileException | NoSuchMethodException e) {
+			throw WrappedException.wrap(e, "Impossible de générer l'amplifier de {0}", intf.getName());
 		}
+	}
 
-		@Override
-		public Method getMethod() {
-			return method;
+	private static List<Method> getAmplifiedMethods(final Class<?> intf) {
+		//the abstract and the default methods (including the inherited ones) of the interface, by signature
+		//like a java proxy, the default methods are routed to the proxy methods
+		final Map<String, Method> methodsBySignature = new LinkedHashMap<>();
+		Arrays.stream(intf.getMethods())
+				.filter(method -> !Modifier.isStatic(method.getModifiers()))
+				.forEach(method -> methodsBySignature.putIfAbsent(method.getName() + Arrays.toString(method.getParameterTypes()) + method.getReturnType().getName(), method));
+		return List.copyOf(methodsBySignature.values());
+	}
+
+	private static CtClass[] toCtClasses(final ClassPool classPool, final Class<?>[] types) throws NotFoundException {
+		return classPool.get(Stream.of(types)
+				.map(Class::getTypeName)
+				.toArray(String[]::new));
+	}
+
+	private static final class AmplifierClass {
+		//the amplified methods, in the order of the aspect chains expected by the constructor
+		private final List<Method> methods;
+		//(AspectChain[])
+		private final Constructor<?> constructor;
+
+		AmplifierClass(final List<Method> methods, final Constructor<?> constructor) {
+			this.methods = methods;
+			this.constructor = constructor;
 		}
 	}
 }
@@ -0,0 +1,86 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.component.loader;
+
+import java.util.function.Supplier;
+
+import io.vertigo.core.lang.Assertion;
+import io.vertigo.core.node.component.Activeable;
+import io.vertigo.core.node.component.CoreComponent;
+
+/**
+ * Holder of a lazy component, registered in the componentSpace instead of the component.
+ * The component is created on the first call of get(), and started if the componentSpace is already started.
+ * Once the component is created, get() is a simple volatile read.
+ */
+final class ComponentLazyHolder implements CoreComponent, Activeable {
+	private final Supplier<CoreComponent> componentFactory;
+	private volatile CoreComponent component;
+	//guarded by this
+	private boolean started;
+
+	/**
+	 * Constructor.
+	 * @param componentFactory the factory of the component (creation and aspects)
+	 */
+	ComponentLazyHolder(final Supplier<CoreComponent> componentFactory) {
+		Assertion.check().isNotNull(componentFactory);
+		//-----
+		this.componentFactory = componentFactory;
+	}
+
+	/**
+	 * @return the component, created on the first call
+	 */
+	CoreComponent get() {
+		final CoreComponent result = component;
+		if (result != null) {
+			return result;
+		}
+		synchronized (this) {
+			if (component == null) {
+				final CoreComponent created = componentFactory.get();
+				if (started && created instanceof Activeable) {
+					((Activeable) created).start();
+				}
+				//the component is published only once started
+				component = created;
+			}
+			return component;
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public synchronized void start() {
+		//a component created during the boot (by injection) is started with the others
+		if (component instanceof Activeable) {
+			((Activeable) component).start();
+		}
+		started = true;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public synchronized void stop() {
+		if (started && component instanceof Activeable) {
+			((Activeable) component).stop();
+		}
+		started = false;
+	}
+}
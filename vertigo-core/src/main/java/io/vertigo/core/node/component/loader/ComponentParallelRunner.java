@@ -0,0 +1,121 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.component.loader;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import io.vertigo.core.lang.Assertion;
+import io.vertigo.core.lang.WrappedException;
+
+/**
+ * Runs the independent tasks of the boot (creation or start of components, calls of definition providers) concurrently.
+ * The results are returned in the order of the tasks, so the boot stays deterministic.
+ * The tasks are run with the context class loader of the caller (the pool threads don't inherit it),
+ * so that the resources and the classes of an application server are found as in a sequential boot.
+ * The time spent by the tasks is measured to report the time saved compared to a sequential boot.
+ */
+public final class ComponentParallelRunner implements AutoCloseable {
+	private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+	//time spent by the tasks, as if they were run sequentially
+	private final AtomicLong sequentialNanos = new AtomicLong();
+	//time really spent
+	private long elapsedNanos;
+
+	/**
+	 * Runs tasks concurrently and waits for their end.
+	 * The first failure (in the order of the tasks) is rethrown.
+	 * @param tasks the tasks
+	 * @return the results, in the order of the tasks
+	 */
+	public <T> List<T> runAll(final List<Supplier<T>> tasks) {
+		Assertion.check().isNotNull(tasks);
+		//-----
+		final long start = System.nanoTime();
+		final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		try {
+			final List<Future<T>> futures = pool.invokeAll(tasks.stream()
+					.map(task -> measure(task, contextClassLoader))
+					.collect(Collectors.toList()));
+			return futures.stream()
+					.map(ComponentParallelRunner::getResult)
+					.collect(Collectors.toList());
+		} finally {
+			elapsedNanos += System.nanoTime() - start;
+		}
+	}
+
+	private <T> Callable<T> measure(final Supplier<T> task, final ClassLoader contextClassLoader) {
+		return () -> {
+			final Thread thread = Thread.currentThread();
+			final ClassLoader previousClassLoader = thread.getContextClassLoader();
+			thread.setContextClassLoader(contextClassLoader);
+			final long start = System.nanoTime();
+			try {
+				return task.get();
+			} finally {
+				sequentialNanos.addAndGet(System.nanoTime() - start);
+				thread.setContextClassLoader(previousClassLoader);
+			}
+		};
+	}
+
+	private static <T> T getResult(final Future<T> future) {
+		try {
+			return future.get();
+		} catch (final ExecutionException e) {
+			//the exception of the task is rethrown as is
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw WrappedException.wrap(cause);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw WrappedException.wrap(e);
+		}
+	}
+
+	/**
+	 * @return the time really spent by the tasks (in milliseconds)
+	 */
+	long getElapsedMillis() {
+		return elapsedNanos / 1_000_000;
+	}
+
+	/**
+	 * @return the time saved compared to a sequential run (in milliseconds)
+	 */
+	long getSavedMillis() {
+		return Math.max(0, sequentialNanos.get() - elapsedNanos) / 1_000_000;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void close() {
+		pool.shutdown();
+	}
+}
@@ -17,28 +17,41 @@
  */
 package io.vertigo.core.node.component.loader;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.vertigo.core.analytics.health.HealthChecked;
+import io.vertigo.core.analytics.metric.Metrics;
+import io.vertigo.core.daemon.DaemonScheduled;
 import io.vertigo.core.lang.Assertion;
 import io.vertigo.core.lang.VSystemException;
 import io.vertigo.core.node.component.Amplifier;
 import io.vertigo.core.node.component.AopPlugin;
 import io.vertigo.core.node.component.Container;
 import io.vertigo.core.node.component.CoreComponent;
+import io.vertigo.core.node.component.Lazy;
 import io.vertigo.core.node.component.amplifier.ProxyMethod;
 import io.vertigo.core.node.component.aop.Aspect;
 import io.vertigo.core.node.component.di.DIInjector;
 import io.vertigo.core.node.component.di.DIReactor;
 import io.vertigo.core.node.config.AspectConfig;
+import io.vertigo.core.node.config.BootConfig;
 import io.vertigo.core.node.config.CoreComponentConfig;
 import io.vertigo.core.node.config.ModuleConfig;
 import io.vertigo.core.node.config.ProxyMethodConfig;
+import io.vertigo.core.node.definition.DefinitionProvider;
 import io.vertigo.core.param.ParamManager;
 
 /**
@@ -46,7 +59,12 @@ import io.vertigo.core.param.ParamManager;
  * @author pchretien
  */
 public final class ComponentSpaceLoader {
+	private static final Logger LOGGER = LogManager.getLogger(ComponentSpaceLoader.class);
+	//the annotations of the methods found in the components created at boot
+	private static final List<Class<? extends Annotation>> LAZY_UNSUPPORTED_METHOD_ANNOTATIONS = List.of(DaemonScheduled.class, HealthChecked.class, Metrics.class);
 	private final AopPlugin aopPlugin;
+	//if present, the independent components are created concurrently
+	private final Optional<ComponentParallelRunner> parallelRunnerOpt;
 	/** Aspects.*/
 	private final List<Aspect> aspects = new ArrayList<>();
 
@@ -57,18 +75,37 @@ public final class ComponentSpaceLoader {
 	/**
 	* Constructor.
 	* @param aopPlugin the plugin which is reponsible for the aop strategy
+	* @param parallelBoot if the independent components are created concurrently
 	*/
-	private ComponentSpaceLoader(final ComponentSpaceWritable componentSpaceWritable, final AopPlugin aopPlugin) {
+	private ComponentSpaceLoader(final ComponentSpaceWritable componentSpaceWritable, final AopPlugin aopPlugin, final boolean parallelBoot) {
 		Assertion.check()
 				.isNotNull(componentSpaceWritable)
 				.isNotNull(aopPlugin);
 		//-----
 		this.componentSpaceWritable = componentSpaceWritable;
 		this.aopPlugin = aopPlugin;
+		parallelRunnerOpt = parallelBoot ? Optional.of(new ComponentParallelRunner()) : Optional.empty();
 	}
 
 	public static ComponentSpaceLoader startLoading(final ComponentSpaceWritable componentSpaceWritable, final AopPlugin aopPlugin) {
-		return new ComponentSpaceLoader(componentSpaceWritable, aopPlugin);
+		return new ComponentSpaceLoader(componentSpaceWritable, aopPlugin, false);
+	}
+
+	/**
+	 * Starts the loading.
+	 * With a parallel boot, the components are created level by level of dependencies :
+	 * the components of a same level are created concurrently, then registered together.
+	 * So the components are registered (then started) level by level, and stopped in the reverse order :
+	 * a component still comes after its dependencies, but the order of independent components may differ from a sequential boot.
+	 * A component must not look up (without injection) another component of the same module in its constructor.
+	 * @param componentSpaceWritable the componentSpace
+	 * @param bootConfig the config of the boot
+	 * @return the loader
+	 */
+	public static ComponentSpaceLoader startLoading(final ComponentSpaceWritable componentSpaceWritable, final BootConfig bootConfig) {
+		Assertion.check().isNotNull(bootConfig);
+		//-----
+		return new ComponentSpaceLoader(componentSpaceWritable, bootConfig.getAopPlugin(), bootConfig.isParallelBoot());
 	}
 
 	public ComponentSpaceLoader loadBootComponents(final List<CoreComponentConfig> componentConfigs) {
@@ -119,39 +156,23 @@ public final class ComponentSpaceLoader {
 				});
 
 		//---- No proxy----
-		final DIReactor reactor = new DIReactor();
-		//0; On ajoute la liste des ids qui sont déjà résolus.
-		for (final String id : componentSpaceWritable.keySet()) {
-			reactor.addParent(id);
-		}
+		final List<CoreComponentConfig> noAmplifierConfigs = componentConfigs.stream()//if we use componentConfigById componentConfig's order may changed
+				.filter(componentConfig -> !componentConfig.isAmplifier())
+				.collect(Collectors.toList());
 		//Map des composants définis par leur id
-		final Map<String, CoreComponentConfig> componentConfigById = componentConfigs
+		final Map<String, CoreComponentConfig> componentConfigById = noAmplifierConfigs
 				.stream()
-				.filter(componentConfig -> !componentConfig.isAmplifier())
 				//can't use peek (Sonar : peek is for debug purpose)
 				.collect(Collectors.toMap(CoreComponentConfig::getId, Function.identity()));
 
-		componentConfigs.stream()//if we use componentConfigById componentConfig's order may changed
-				.filter(componentConfig -> !componentConfig.isAmplifier())
-				.forEach(componentConfig -> reactor.addComponent(componentConfig.getId(), componentConfig.getImplClass(), componentConfig.getParams().keySet()));
-
 		//Comment trouver des plugins orphenlins ?
 
-		final List<String> ids = reactor.proceed();
-		//On a récupéré la liste ordonnée des ids.
 		//On positionne un proxy pour compter les plugins non utilisés
 		final ComponentUnusedKeysContainer componentProxyContainer = new ComponentUnusedKeysContainer(componentSpaceWritable);
-
-		for (final String id : ids) {
-			final CoreComponentConfig componentConfig = componentConfigById.get(id);
-			if (componentConfig != null) {
-				//Si il s'agit d'un composant (y compris plugin)
-
-				// 2.a On crée le composant avec AOP et autres options (elastic)
-				final CoreComponent component = createComponentWithOptions(paramManagerOpt, componentProxyContainer, componentConfig);
-				// 2.b. On enregistre le composant
-				componentSpaceWritable.registerComponent(componentConfig.getId(), component);
-			}
+		if (parallelRunnerOpt.isPresent()) {
+			createComponentsByLevels(paramManagerOpt, componentProxyContainer, componentConfigById, buildReactor(noAmplifierConfigs).proceedByLevels());
+		} else {
+			createComponents(paramManagerOpt, componentProxyContainer, componentConfigById, buildReactor(noAmplifierConfigs).proceed());
 		}
 
 		//--Search for unuseds plugins
@@ -169,6 +190,58 @@ public final class ComponentSpaceLoader {
 		}
 	}
 
+	private DIReactor buildReactor(final List<CoreComponentConfig> componentConfigs) {
+		final DIReactor reactor = new DIReactor();
+		//0; On ajoute la liste des ids qui sont déjà résolus.
+		for (final String id : componentSpaceWritable.keySet()) {
+			reactor.addParent(id);
+		}
+		componentConfigs
+				.forEach(componentConfig -> reactor.addComponent(componentConfig.getId(), componentConfig.getImplClass(), componentConfig.getParams().keySet()));
+		return reactor;
+	}
+
+	private void createComponents(
+			final Optional<ParamManager> paramManagerOpt,
+			final ComponentUnusedKeysContainer componentProxyContainer,
+			final Map<String, CoreComponentConfig> componentConfigById,
+			final List<String> ids) {
+		//On a récupéré la liste ordonnée des ids.
+		for (final String id : ids) {
+			final CoreComponentConfig componentConfig = componentConfigById.get(id);
+			if (componentConfig != null) {
+				//Si il s'agit d'un composant (y compris plugin)
+
+				// 2.a On crée le composant avec AOP et autres options (elastic)
+				final CoreComponent component = createComponentOrLazyHolder(paramManagerOpt, componentProxyContainer, componentConfig);
+				// 2.b. On enregistre le composant
+				componentSpaceWritable.registerComponent(componentConfig.getId(), component);
+			}
+		}
+	}
+
+	private void createComponentsByLevels(
+			final Optional<ParamManager> paramManagerOpt,
+			final ComponentUnusedKeysContainer componentProxyContainer,
+			final Map<String, CoreComponentConfig> componentConfigById,
+			final List<List<String>> levels) {
+		//On récupère les ids par niveau de dépendances : les composants d'un même niveau sont créés en parallèle
+		for (final List<String> levelIds : levels) {
+			final List<Supplier<CoreComponent>> creations = levelIds
+					.stream()
+					.map(componentConfigById::get)
+					.map(componentConfig -> (Supplier<CoreComponent>) () -> createComponentOrLazyHolder(paramManagerOpt, componentProxyContainer, componentConfig))
+					.collect(Collectors.toList());
+			final List<CoreComponent> components = parallelRunnerOpt.get().runAll(creations);
+			//Les composants sont enregistrés niveau par niveau (dans l'ordre de proceed() au sein d'un niveau), ils seront démarrés en parallèle
+			final Map<String, CoreComponent> componentsById = new LinkedHashMap<>();
+			for (int i = 0; i < levelIds.size(); i++) {
+				componentsById.put(levelIds.get(i), components.get(i));
+			}
+			componentSpaceWritable.registerComponents(componentsById);
+		}
+	}
+
 	private void registerAspects(final List<AspectConfig> aspectConfigs) {
 		//. We build then register all the aspects
 		aspectConfigs
@@ -240,6 +313,38 @@ public final class ComponentSpaceLoader {
 		return (C) createInstance(componentConfig.getImplClass(), container, paramManagerOpt, componentConfig.getParams());
 	}
 
+	private CoreComponent createComponentOrLazyHolder(
+			final Optional<ParamManager> paramManagerOpt,
+			final ComponentUnusedKeysContainer componentContainer,
+			final CoreComponentConfig componentConfig) {
+		if (componentConfig.getImplClass().isAnnotationPresent(Lazy.class)) {
+			checkLazyComponent(componentConfig);
+			//the plugins of a lazy component are used, even if it's not created yet
+			componentContainer.markAsUsed(DIInjector.findInjectedIds(componentConfig.getImplClass(), componentContainer));
+			return new ComponentLazyHolder(() -> createComponentWithOptions(paramManagerOpt, componentContainer, componentConfig));
+		}
+		return createComponentWithOptions(paramManagerOpt, componentContainer, componentConfig);
+	}
+
+	/*
+	 * The definitions, daemons, health checks and metrics are found in the components created at boot :
+	 * they would be silently ignored on a lazy component.
+	 */
+	private static void checkLazyComponent(final CoreComponentConfig componentConfig) {
+		final Class<?> implClass = componentConfig.getImplClass();
+		if (DefinitionProvider.class.isAssignableFrom(implClass)) {
+			throw new VSystemException("the lazy component '{0}' can't be a DefinitionProvider", componentConfig.getId());
+		}
+		final List<String> scannedMethodNames = Stream.of(implClass.getMethods())
+				.filter(method -> LAZY_UNSUPPORTED_METHOD_ANNOTATIONS.stream().anyMatch(method::isAnnotationPresent))
+				.map(Method::getName)
+				.sorted()
+				.collect(Collectors.toList());
+		if (!scannedMethodNames.isEmpty()) {
+			throw new VSystemException("the lazy component '{0}' can't have daemons, health checks or metrics (methods {1})", componentConfig.getId(), scannedMethodNames);
+		}
+	}
+
 	//ici
 	private CoreComponent createComponentWithOptions(
 			final Optional<ParamManager> paramManagerOpt,
@@ -314,6 +419,10 @@ public final class ComponentSpaceLoader {
 	}
 
 	public void endLoading() {
+		parallelRunnerOpt.ifPresent(parallelRunner -> {
+			parallelRunner.close();
+			LOGGER.info("Components created in parallel in {} ms ({} ms saved)", parallelRunner.getElapsedMillis(), parallelRunner.getSavedMillis());
+		});
 		componentSpaceWritable.closeRegistration();
 	}
 }
@@ -18,11 +18,16 @@
 package io.vertigo.core.node.component.loader;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -60,7 +65,20 @@ public final class ComponentSpaceWritable implements ComponentSpace, Activeable
 	 * Started components are sublist of components.values(). They are added after the start call of a component.
 	 */
 	private final List<CoreComponent> startedComponents = new ArrayList<>();
+	/**
+	 * Components grouped by registration : the components of a group are independent and can be started concurrently.
+	 */
+	private final List<List<CoreComponent>> componentGroups = new ArrayList<>();
 	private final AtomicBoolean locked = new AtomicBoolean(false);
+	/**
+	 * Immutable copy of the components published when the registration is closed.
+	 * Each component is indexed by its id and by its id with an uppercase first letter : a lookup doesn't normalize the id.
+	 */
+	private volatile Map<String, CoreComponent> frozenComponents;
+	/**
+	 * Components resolved by their class, once the registration is closed.
+	 */
+	private final Map<Class<?>, Object> componentsByClass = new ConcurrentHashMap<>();
 
 	public ComponentSpaceWritable() {
 		super();
@@ -93,6 +111,28 @@ public final class ComponentSpaceWritable implements ComponentSpace, Activeable
 		final Object previous = components.put(componentId, component);
 		Assertion.check()
 				.isNull(previous , "component '{0}' already registered", componentId);
+		componentGroups.add(List.of(component));
+	}
+
+	/**
+	 * Register independent components (none of them depends on another one).
+	 * They will be started concurrently.
+	 * @param componentsById the components by id, in the order of registration
+	 */
+	void registerComponents(final Map<String, CoreComponent> componentsById) {
+		Assertion.check()
+				.isFalse(locked.get(), "Registration is now closed. A component can be registerd only during the boot phase")
+				.isNotNull(componentsById);
+		//-----
+		for (final Map.Entry<String, CoreComponent> entry : componentsById.entrySet()) {
+			Assertion.check()
+					.isNotBlank(entry.getKey())
+					.isNotNull(entry.getValue());
+			final Object previous = components.put(entry.getKey(), entry.getValue());
+			Assertion.check()
+					.isNull(previous, "component '{0}' already registered", entry.getKey());
+		}
+		componentGroups.add(List.copyOf(componentsById.values()));
 	}
 
 	/** {@inheritDoc} */
@@ -100,6 +140,10 @@ public final class ComponentSpaceWritable implements ComponentSpace, Activeable
 	public boolean contains(final String id) {
 		Assertion.check().isNotBlank(id);
 		//-----
+		final Map<String, CoreComponent> frozen = frozenComponents;
+		if (frozen != null && frozen.containsKey(id)) {
+			return true;
+		}
 		final String normalizedId = StringUtil.first2LowerCase(id);
 		return components.containsKey(normalizedId);
 	}
@@ -107,10 +151,48 @@ public final class ComponentSpaceWritable implements ComponentSpace, Activeable
 	/** {@inheritDoc} */
 	@Override
 	public <C> C resolve(final String id, final Class<C> componentClass) {
+		final Map<String, CoreComponent> frozen = frozenComponents;
+		if (frozen != null) {
+			final CoreComponent component = frozen.get(id);
+			if (component != null) {
+				return componentClass.cast(unwrapLazy(component));
+			}
+		}
 		final String normalizedId = StringUtil.first2LowerCase(id);
 		Assertion.check().isTrue(contains(normalizedId), "Aucun composant enregistré pour id = {0} parmi {1}", normalizedId, keySet());
 		//-----
-		return componentClass.cast(components.get(normalizedId));
+		return componentClass.cast(unwrapLazy(components.get(normalizedId)));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <C> C resolve(final Class<C> componentClass) {
+		if (frozenComponents == null) {
+			return ComponentSpace.super.resolve(componentClass);
+		}
+		//the lookup of a lazy component may resolve other components : computeIfAbsent can't be used
+		final Object component = componentsByClass.get(componentClass);
+		if (component != null) {
+			return componentClass.cast(component);
+		}
+		final C resolved = ComponentSpace.super.resolve(componentClass);
+		componentsByClass.putIfAbsent(componentClass, resolved);
+		return resolved;
+	}
+
+	private static Object unwrapLazy(final CoreComponent component) {
+		if (component instanceof ComponentLazyHolder) {
+			return ((ComponentLazyHolder) component).get();
+		}
+		return component;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isLazy(final String id) {
+		Assertion.check().isTrue(contains(id), "Aucun composant enregistré pour id = {0} parmi {1}", id, keySet());
+		//-----
+		return components.get(StringUtil.first2LowerCase(id)) instanceof ComponentLazyHolder;
 	}
 
 	/** {@inheritDoc} */
@@ -132,13 +214,37 @@ public final class ComponentSpaceWritable implements ComponentSpace, Activeable
 	}
 
 	private void clear() {
+		frozenComponents = null;
+		componentsByClass.clear();
 		components.clear();
+		componentGroups.clear();
 	}
 
 	private void startComponents() {
-		for (final CoreComponent component : components.values()) {
-			startedComponents.add(component);
-			startComponent(component);
+		Optional<ComponentParallelRunner> parallelRunnerOpt = Optional.empty();
+		try {
+			for (final List<CoreComponent> componentGroup : componentGroups) {
+				startedComponents.addAll(componentGroup);
+				if (componentGroup.size() == 1) {
+					startComponent(componentGroup.get(0));
+				} else {
+					//the components of a group are independent : they are started concurrently
+					if (parallelRunnerOpt.isEmpty()) {
+						parallelRunnerOpt = Optional.of(new ComponentParallelRunner());
+					}
+					parallelRunnerOpt.get().runAll(componentGroup.stream()
+							.map(component -> (Supplier<Void>) () -> {
+								startComponent(component);
+								return null;
+							})
+							.collect(Collectors.toList()));
+				}
+			}
+		} finally {
+			parallelRunnerOpt.ifPresent(parallelRunner -> {
+				parallelRunner.close();
+				LOGGER.info("Components started in parallel in {} ms ({} ms saved)", parallelRunner.getElapsedMillis(), parallelRunner.getSavedMillis());
+			});
 		}
 	}
 
@@ -165,5 +271,17 @@ public final class ComponentSpaceWritable implements ComponentSpace, Activeable
 	void closeRegistration() {
 		//registration is now closed.
 		locked.set(true);
+		//same lookups as before the freeze : myManager and MyManager (normalized into myManager) are resolved without being normalized
+		final Map<String, CoreComponent> frozen = new HashMap<>();
+		for (final String id : components.keySet()) {
+			final String normalizedId = StringUtil.first2LowerCase(id);
+			final CoreComponent component = components.get(normalizedId);
+			if (component != null) {
+				frozen.put(normalizedId, component);
+				frozen.put(StringUtil.first2UpperCase(normalizedId), component);
+			}
+		}
+		//an immutable map, with open addressing
+		frozenComponents = Map.copyOf(frozen);
 	}
 }
@@ -17,8 +17,9 @@
  */
 package io.vertigo.core.node.component.loader;
 
-import java.util.HashSet;
+import java.util.Collection;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.vertigo.core.lang.Assertion;
 import io.vertigo.core.node.component.Container;
@@ -30,7 +31,8 @@ import io.vertigo.core.node.component.Container;
  */
 final class ComponentUnusedKeysContainer implements Container {
 	private final Container container;
-	private final Set<String> usedKeys = new HashSet<>();
+	//components may be created concurrently
+	private final Set<String> usedKeys = ConcurrentHashMap.newKeySet();
 
 	ComponentUnusedKeysContainer(final Container container) {
 		Assertion.check().isNotNull(container);
@@ -58,6 +60,14 @@ final class ComponentUnusedKeysContainer implements Container {
 		return container.keySet();
 	}
 
+	/**
+	 * Marks keys as used, without resolving them.
+	 * @param keys the keys
+	 */
+	void markAsUsed(final Collection<String> keys) {
+		usedKeys.addAll(keys);
+	}
+
 	Set<String> getUsedKeys() {
 		return usedKeys;
 	}
@@ -33,6 +33,9 @@ import io.vertigo.core.util.ListBuilder;
 public final class BootConfig {
 	private final Optional<LogConfig> logConfigOpt;
 	private final boolean verbose;
+	private final boolean parallelBoot;
+	private final boolean compactDefinitionReferences;
+	private final boolean hotReload;
 	@JsonExclude
 	private final AopPlugin aopPlugin;
 
@@ -43,13 +46,19 @@ public final class BootConfig {
 	 * Constructor.
 	 * @param aopPlugin AopPlugin
 	 * @param verbose if logs are enabled during startup
+	 * @param parallelBoot if the independent components are created and started concurrently
+	 * @param compactDefinitionReferences if the definition references are serialized with a compact id, valid during the node lifetime
+	 * @param hotReload if the definitions are reloaded when their resources change
 	 */
 	BootConfig(
 			final Optional<LogConfig> logConfigOpt,
 			final List<ComponentConfig> componentConfigs,
 			final List<PluginConfig> pluginConfigs,
 			final AopPlugin aopPlugin,
-			final boolean verbose) {
+			final boolean verbose,
+			final boolean parallelBoot,
+			final boolean compactDefinitionReferences,
+			final boolean hotReload) {
 		Assertion.check()
 				.isNotNull(logConfigOpt)
 				.isNotNull(componentConfigs)
@@ -60,6 +69,9 @@ public final class BootConfig {
 		this.componentConfigs = componentConfigs;
 		this.pluginConfigs = pluginConfigs;
 		this.verbose = verbose;
+		this.parallelBoot = parallelBoot;
+		this.compactDefinitionReferences = compactDefinitionReferences;
+		this.hotReload = hotReload;
 		this.aopPlugin = aopPlugin;
 	}
 
@@ -95,6 +107,27 @@ public final class BootConfig {
 		return verbose;
 	}
 
+	/**
+	 * @return if the independent components are created and started concurrently
+	 */
+	public boolean isParallelBoot() {
+		return parallelBoot;
+	}
+
+	/**
+	 * @return if the definition references are serialized with a compact id, valid during the node lifetime
+	 */
+	public boolean isCompactDefinitionReferences() {
+		return compactDefinitionReferences;
+	}
+
+	/**
+	 * @return if the definitions are reloaded when their resources change
+	 */
+	public boolean isHotReload() {
+		return hotReload;
+	}
+
 	/**
 	 * @return AopEngine
 	 */
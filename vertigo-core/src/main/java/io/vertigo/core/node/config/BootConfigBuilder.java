@@ -51,9 +51,13 @@ import io.vertigo.core.resource.ResourceManager;
 public final class BootConfigBuilder implements Builder<BootConfig> {
 	private Optional<LogConfig> myLogConfigOpt = Optional.empty(); //par défaut
 	private boolean myVerbose;
+	private boolean myParallelBoot;
+	private boolean myCompactDefinitionReferences;
+	private boolean myHotReload;
 	private AopPlugin myAopPlugin = new JavassistAopPlugin(); //By default
 	private final List<ComponentConfig> myComponentConfigs = new ArrayList<>();
 	private final List<PluginConfig> myPluginConfigs = new ArrayList<>();
+	private final List<Param> myDaemonManagerParams = new ArrayList<>();
 
 	/**
 	 * @param nodeConfigBuilder Parent NodeConfig builder
@@ -116,6 +120,54 @@ public final class BootConfigBuilder implements Builder<BootConfig> {
 		return this;
 	}
 
+	/**
+	 * Enables the parallel boot : the independent components are created and started concurrently,
+	 * and the independent definition providers are called concurrently.
+	 * The components are registered, started and stopped level by level of dependencies :
+	 * a component still comes after its dependencies, but the order of independent components may differ from a sequential boot.
+	 * The definitions are registered in the same order as a sequential boot.
+	 * A component must not look up (without injection) another component of the same module in its constructor.
+	 * @return this builder
+	 */
+	public BootConfigBuilder withParallelBoot() {
+		myParallelBoot = true;
+		return this;
+	}
+
+	/**
+	 * Enables the compact ids of the definitions : the canonical definition references are serialized with an id instead of their name.
+	 * These ids are only valid during the node lifetime : the serialized objects must not be read by another node or after a restart.
+	 * @return this builder
+	 */
+	public BootConfigBuilder withCompactDefinitionReferences() {
+		myCompactDefinitionReferences = true;
+		return this;
+	}
+
+	/**
+	 * Enables the hot reload of the definitions : the local files of the definition resources are watched,
+	 * and the definitions are reloaded when they change, without restarting the node.
+	 * @return this builder
+	 */
+	public BootConfigBuilder withHotReload() {
+		myHotReload = true;
+		return this;
+	}
+
+	/**
+	 * Defines how long running daemons are waited for when the node stops.
+	 * Daemons still running after this grace period are interrupted.
+	 * @param shutdownGracePeriodInSeconds the grace period in seconds
+	 * @return this builder
+	 */
+	public BootConfigBuilder withDaemonsShutdownGracePeriod(final int shutdownGracePeriodInSeconds) {
+		Assertion.check()
+				.isTrue(shutdownGracePeriodInSeconds >= 0, "shutdown grace period {0} must be >= 0", shutdownGracePeriodInSeconds);
+		//-----
+		myDaemonManagerParams.add(Param.of("shutdownGracePeriodInSeconds", shutdownGracePeriodInSeconds));
+		return this;
+	}
+
 	/**
 	 * @param aopPlugin AopPlugin
 	 * @return this builder
@@ -195,7 +247,7 @@ public final class BootConfigBuilder implements Builder<BootConfig> {
 	public BootConfig build() {
 		addComponent(ResourceManager.class, ResourceManagerImpl.class)
 				.addComponent(ParamManager.class, ParamManagerImpl.class)
-				.addComponent(DaemonManager.class, DaemonManagerImpl.class)
+				.addComponent(DaemonManager.class, DaemonManagerImpl.class, myDaemonManagerParams.toArray(new Param[0]))
 				.addComponent(AnalyticsManager.class, AnalyticsManagerImpl.class);
 
 		return new BootConfig(
@@ -203,7 +255,10 @@ public final class BootConfigBuilder implements Builder<BootConfig> {
 				myComponentConfigs,
 				myPluginConfigs,
 				myAopPlugin,
-				myVerbose);
+				myVerbose,
+				myParallelBoot,
+				myCompactDefinitionReferences,
+				myHotReload);
 	}
 
 }
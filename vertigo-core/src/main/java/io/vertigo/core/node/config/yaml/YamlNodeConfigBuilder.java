@@ -17,9 +17,14 @@
  */
 package io.vertigo.core.node.config.yaml;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -35,6 +40,7 @@ import org.yaml.snakeyaml.constructor.Constructor;
 import io.vertigo.core.lang.Assertion;
 import io.vertigo.core.lang.Builder;
 import io.vertigo.core.lang.Tuple;
+import io.vertigo.core.lang.WrappedException;
 import io.vertigo.core.node.component.ComponentInitializer;
 import io.vertigo.core.node.component.Plugin;
 import io.vertigo.core.node.config.BootConfig;
@@ -47,7 +53,6 @@ import io.vertigo.core.node.config.NodeConfigBuilder;
 import io.vertigo.core.node.config.yaml.YamlAppConfig.YamlModuleConfig;
 import io.vertigo.core.param.Param;
 import io.vertigo.core.util.ClassUtil;
-import io.vertigo.core.util.FileUtil;
 import io.vertigo.core.util.Selector;
 import io.vertigo.core.util.Selector.MethodConditions;
 
@@ -62,10 +67,31 @@ public final class YamlNodeConfigBuilder implements Builder<NodeConfig> {
 
 	private static final Object[] EMPTY_ARRAY = new Object[0];
 
+	//the methods of the features by feature name, scanned once per features class
+	private static final ClassValue<Map<String, Method>> FEATURE_METHODS = new ClassValue<>() {
+		@Override
+		protected Map<String, Method> computeValue(final Class<?> featuresClass) {
+			return Map.copyOf(Selector
+					.from(featuresClass)
+					.filterMethods(MethodConditions.annotatedWith(Feature.class))
+					.findMethods()
+					.stream()
+					.map(Tuple::getVal2)
+					.collect(Collectors.toMap(method -> method.getAnnotation(Feature.class).value(), Function.identity())));
+		}
+	};
+
+	//the methods of a features class by feature name (for the tests)
+	static Map<String, Method> getFeatureMethods(final Class<?> featuresClass) {
+		return FEATURE_METHODS.get(featuresClass);
+	}
+
 	private final NodeConfigBuilder nodeConfigBuilder = NodeConfig.builder();
 	private final BootConfigBuilder bootConfigBuilder = BootConfig.builder();
 	private final List<String> activeFlags;
 	private final YamlConfigParams params;
+	//the introspection of the config classes is cached by the Yaml instance : it's shared by the files (a builder is used by a single thread)
+	private final Yaml yaml = new Yaml(new Constructor(YamlAppConfig.class));
 
 	public YamlNodeConfigBuilder(final Properties params) {
 		Assertion.check().isNotNull(params);
@@ -99,8 +125,13 @@ public final class YamlNodeConfigBuilder implements Builder<NodeConfig> {
 
 	private void handleYamlFileConfig(final URL yamlConfigURL) {
 
-		final Yaml yaml = new Yaml(new Constructor(YamlAppConfig.class));
-		final YamlAppConfig yamlNodeConfig = yaml.loadAs(FileUtil.read(yamlConfigURL), YamlAppConfig.class);
+		final YamlAppConfig yamlNodeConfig;
+		//the yaml is parsed from the stream
+		try (final Reader reader = new BufferedReader(new InputStreamReader(yamlConfigURL.openStream(), StandardCharsets.UTF_8))) {
+			yamlNodeConfig = yaml.loadAs(reader, YamlAppConfig.class);
+		} catch (final IOException e) {
+			throw WrappedException.wrap(e, "Error when reading file : '{0}'", yamlConfigURL);
+		}
 		//--- node
 		handleNodeConfig(yamlNodeConfig);
 		//--- boot
@@ -154,6 +185,29 @@ public final class YamlNodeConfigBuilder implements Builder<NodeConfig> {
 								.withLocalesAndDefaultZoneId(locales, defaultZoneId);
 					}
 				}
+				// yaml may provide a boolean : we read it as an object
+				final Object parallelBoot = yamlAppConfig.boot.params.get("parallelBoot");
+				if (parallelBoot != null && Boolean.parseBoolean(evalParamValue(String.valueOf(parallelBoot)))) {
+					bootConfigBuilder
+							.withParallelBoot();
+				}
+				// yaml may provide a boolean : we read it as an object
+				final Object compactDefinitionReferences = yamlAppConfig.boot.params.get("compactDefinitionReferences");
+				if (compactDefinitionReferences != null && Boolean.parseBoolean(evalParamValue(String.valueOf(compactDefinitionReferences)))) {
+					bootConfigBuilder
+							.withCompactDefinitionReferences();
+				}
+				final Object hotReload = yamlAppConfig.boot.params.get("hotReload");
+				if (hotReload != null && Boolean.parseBoolean(evalParamValue(String.valueOf(hotReload)))) {
+					bootConfigBuilder
+							.withHotReload();
+				}
+				// yaml may provide an integer : we read it as an object
+				final Object daemonsShutdownGracePeriod = yamlAppConfig.boot.params.get("daemonsShutdownGracePeriodInSeconds");
+				if (daemonsShutdownGracePeriod != null) {
+					bootConfigBuilder
+							.withDaemonsShutdownGracePeriod(Integer.parseInt(evalParamValue(String.valueOf(daemonsShutdownGracePeriod))));
+				}
 			}
 			yamlAppConfig.boot.plugins.forEach(
 					plugin -> {
@@ -183,13 +237,7 @@ public final class YamlNodeConfigBuilder implements Builder<NodeConfig> {
 			// more complexe module with flags and flipped features
 			if (isEnabledByFlag(yamlModuleConfig.__flags__)) {
 				final Features moduleConfigByFeatures = ClassUtil.newInstance(featuresClassName, Features.class);
-				final Map<String, Method> featureMethods = Selector
-						.from(moduleConfigByFeatures.getClass())
-						.filterMethods(MethodConditions.annotatedWith(Feature.class))
-						.findMethods()
-						.stream()
-						.map(Tuple::getVal2)
-						.collect(Collectors.toMap(method -> method.getAnnotation(Feature.class).value(), Function.identity()));
+				final Map<String, Method> featureMethods = FEATURE_METHODS.get(moduleConfigByFeatures.getClass());
 
 				if (yamlModuleConfig.features != null) {
 					yamlModuleConfig.features
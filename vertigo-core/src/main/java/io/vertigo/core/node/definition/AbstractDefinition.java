@@ -20,21 +20,29 @@ package io.vertigo.core.node.definition;
 import io.vertigo.core.lang.Assertion;
 
 public abstract class AbstractDefinition implements Definition {
+	//the prefix is read once per class of definition
+	private static final ClassValue<String> PREFIXES = new ClassValue<>() {
+		@Override
+		protected String computeValue(final Class<?> definitionClass) {
+			final DefinitionPrefix definitionPrefix = definitionClass.getAnnotation(DefinitionPrefix.class);
+			Assertion.check().isNotNull(definitionPrefix, "Annotation '@DefinitionPrefix' not found on {0}", definitionClass.getName());
+			Assertion.check().isNotBlank(definitionPrefix.value());
+			return definitionPrefix.value();
+		}
+	};
+
 	private final String prefix;
 	private final String name;
 
 	protected AbstractDefinition(final String name) {
-		final DefinitionPrefix definitionPrefix = this.getClass().getAnnotation(DefinitionPrefix.class);
-		Assertion.check().isNotNull(definitionPrefix, "Annotation '@DefinitionPrefix' not found on {0}", this.getClass().getName());
-		prefix = definitionPrefix.value();
+		prefix = PREFIXES.get(this.getClass());
 		//---
 		Assertion.check()
-				.isNotBlank(prefix)
 				.isNotBlank(name)
 				.isTrue(name.startsWith(prefix), "La définition {0} doit commencer par {1}", name, prefix)
 				.isTrue(name.length() > prefix.length(), "Le nom de la définition doit être renseigné")
 				.isTrue(Character.isUpperCase(name.charAt(prefix.length())), "the name of the dtDefinition {0} must be in UpperCamelCase", name)
-				.isTrue(REGEX_DEFINITION_NAME.matcher(name).matches(), "urn de définition {0} doit matcher le pattern {1}", name, Definition.REGEX_DEFINITION_NAME);
+				.isTrue(DefinitionNameValidator.isValid(name), "urn de définition {0} doit matcher le pattern {1}", name, Definition.REGEX_DEFINITION_NAME);
 		//---
 		this.name = name;
 	}
@@ -0,0 +1,79 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.definition;
+
+/**
+ * Checks the names of the definitions without a regex : definitions are created by the hundreds of thousands at boot.
+ * A name is valid if it matches Definition.REGEX_DEFINITION_NAME :
+ * [A-Z][a-zA-Z0-9]{2,60}([$][a-z][a-zA-Z0-9]{2,60})?
+ */
+final class DefinitionNameValidator {
+	private static final char SUFFIX_SEPARATOR = '$';
+	//a part is a first letter followed by 2 to 60 letters or digits
+	private static final int PART_MIN_LENGTH = 3;
+	private static final int PART_MAX_LENGTH = 61;
+
+	private DefinitionNameValidator() {
+		//private constructor
+	}
+
+	/**
+	 * @param name the name of the definition
+	 * @return if the name matches Definition.REGEX_DEFINITION_NAME
+	 */
+	static boolean isValid(final String name) {
+		final int separatorIndex = name.indexOf(SUFFIX_SEPARATOR);
+		if (separatorIndex < 0) {
+			return isValidPart(name, 0, name.length(), true);
+		}
+		//the main part starts with an upper case letter, the suffix with a lower case letter
+		return isValidPart(name, 0, separatorIndex, true)
+				&& isValidPart(name, separatorIndex + 1, name.length(), false);
+	}
+
+	private static boolean isValidPart(final String name, final int start, final int end, final boolean upperCaseFirst) {
+		final int length = end - start;
+		if (length < PART_MIN_LENGTH || length > PART_MAX_LENGTH) {
+			return false;
+		}
+		final char first = name.charAt(start);
+		if (upperCaseFirst ? !isUpperCase(first) : !isLowerCase(first)) {
+			return false;
+		}
+		for (int i = start + 1; i < end; i++) {
+			final char c = name.charAt(i);
+			if (!isUpperCase(c) && !isLowerCase(c) && !isDigit(c)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	//only ascii chars are allowed (unlike Character.isUpperCase...)
+	private static boolean isUpperCase(final char c) {
+		return c >= 'A' && c <= 'Z';
+	}
+
+	private static boolean isLowerCase(final char c) {
+		return c >= 'a' && c <= 'z';
+	}
+
+	private static boolean isDigit(final char c) {
+		return c >= '0' && c <= '9';
+	}
+}
@@ -43,4 +43,14 @@ public interface DefinitionProvider {
 		// nothing by default
 	}
 
+	/**
+	 * An independent provider doesn't read, in get(), the definitions registered by the other providers
+	 * (its suppliers may read them : they are always evaluated in the order of the providers).
+	 * During a parallel boot, the independent providers are called concurrently.
+	 * @return if the provider is independent from the other providers
+	 */
+	default boolean isIndependent() {
+		return false;
+	}
+
 }
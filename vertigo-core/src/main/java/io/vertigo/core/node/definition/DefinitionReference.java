@@ -18,6 +18,7 @@
 package io.vertigo.core.node.definition;
 
 import java.io.IOException;
+import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
@@ -27,24 +28,42 @@ import io.vertigo.core.node.Node;
 
 /**
  * Référence SERIALIZABLE vers les definitions.
+ * The canonical references are provided by the definitionSpace : a deserialized reference is replaced by the canonical one.
+ * A canonical reference may have a compact id (valid during the node lifetime) : it's then serialized as this id instead of its name.
  * @author pchretien
  * @param <D> Type de la définition
  */
 public final class DefinitionReference<D extends Definition> implements Serializable {
 	private static final long serialVersionUID = 1L;
+	private static final int NO_COMPACT_ID = -1;
 	/** Nom de la Définition. */
 	private String definitionName;
 	private transient D definition;
+	private transient int compactId;
+	//canonical reference, found during the deserialization
+	private transient DefinitionReference<D> canonicalReference;
 
 	/**
 	 * Constructor.
 	 * @param definition Définition
 	 */
 	public DefinitionReference(final D definition) {
-		Assertion.check().isNotNull(definition);
+		this(definition, NO_COMPACT_ID);
+	}
+
+	/**
+	 * Constructor of a canonical reference, used by the definitionSpace.
+	 * @param definition Définition
+	 * @param compactId the compact id (valid during the node lifetime), or -1 if the reference is serialized by its name
+	 */
+	public DefinitionReference(final D definition, final int compactId) {
+		Assertion.check()
+				.isNotNull(definition)
+				.isTrue(compactId >= NO_COMPACT_ID, "the compact id {0} is invalid", compactId);
 		//-----
 		this.definition = definition;
 		definitionName = definition.getName();
+		this.compactId = compactId;
 	}
 
 	/**
@@ -68,13 +87,40 @@ public final class DefinitionReference<D extends Definition> implements Serializ
 	}
 
 	private void writeObject(final ObjectOutputStream oos) throws IOException {
-		//On écrit que le nom de la définition
-		oos.writeObject(definitionName);
+		if (compactId == NO_COMPACT_ID) {
+			//On écrit que le nom de la définition
+			oos.writeObject(definitionName);
+		} else {
+			//no name : the compact id and the hash of the name (to check that the reference is read by the same node)
+			oos.writeObject(null);
+			oos.writeInt(compactId);
+			oos.writeInt(definitionName.hashCode());
+		}
 	}
 
 	private void readObject(final ObjectInputStream ois) throws ClassNotFoundException, IOException {
+		final DefinitionSpace definitionSpace = Node.getNode().getDefinitionSpace();
 		//On récupère le nom de la définition
-		definitionName = (String) ois.readObject();
-		definition = (D) Node.getNode().getDefinitionSpace().resolve(definitionName, Definition.class);
+		final String name = (String) ois.readObject();
+		if (name != null) {
+			canonicalReference = (DefinitionReference<D>) definitionSpace.getReference(name, Definition.class);
+		} else {
+			final int serializedCompactId = ois.readInt();
+			final int nameHash = ois.readInt();
+			canonicalReference = (DefinitionReference<D>) definitionSpace.getReference(serializedCompactId);
+			if (canonicalReference.definitionName.hashCode() != nameHash) {
+				throw new InvalidObjectException("the compact id " + serializedCompactId + " of the definition reference has been written by another node");
+			}
+		}
+		definitionName = canonicalReference.definitionName;
+		definition = canonicalReference.definition;
+		compactId = canonicalReference.compactId;
+	}
+
+	/**
+	 * @return the canonical reference
+	 */
+	private Object readResolve() {
+		return canonicalReference;
 	}
 }
@@ -52,4 +52,38 @@ public interface DefinitionSpace {
 	 * @param <C> Type of the definition
 	 */
 	<C extends Definition> Set<C> getAll(Class<C> clazz);
+
+	/**
+	 * Returns the canonical reference to a definition : the same reference is shared by all the users of the definition.
+	 * @param name the name of the expected definition
+	 * @param clazz Type of the definition
+	 * @return the reference
+	 */
+	default <D extends Definition> DefinitionReference<D> getReference(final String name, final Class<D> clazz) {
+		return new DefinitionReference<>(resolve(name, clazz));
+	}
+
+	/**
+	 * Returns the canonical reference to a definition from its compact id.
+	 * The compact ids are valid during the lifetime of a node, if they are enabled : a reloaded definition keeps its id, and an id is never given to another definition.
+	 * @param compactId the compact id of the definition
+	 * @return the reference
+	 */
+	DefinitionReference<?> getReference(int compactId);
+
+	/**
+	 * Returns an immutable view of the current definitions : it's not affected by the next reloads.
+	 * A request that needs consistent definitions keeps the snapshot until it completes.
+	 * @return the current snapshot
+	 */
+	default DefinitionSpace getSnapshot() {
+		return this;
+	}
+
+	/**
+	 * @return the version of the definitions, incremented by each reload
+	 */
+	default long getVersion() {
+		return 0;
+	}
 }
@@ -17,49 +17,86 @@
  */
 package io.vertigo.core.node.definition.loader;
 
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import io.vertigo.core.lang.Assertion;
+import io.vertigo.core.lang.WrappedException;
 import io.vertigo.core.node.component.ComponentSpace;
 import io.vertigo.core.node.component.CoreComponent;
+import io.vertigo.core.node.component.loader.ComponentParallelRunner;
 import io.vertigo.core.node.component.loader.ComponentSpaceLoader;
 import io.vertigo.core.node.config.DefinitionProviderConfig;
+import io.vertigo.core.node.config.DefinitionResourceConfig;
 import io.vertigo.core.node.config.ModuleConfig;
 import io.vertigo.core.node.definition.Definition;
 import io.vertigo.core.node.definition.DefinitionProvider;
 import io.vertigo.core.node.definition.DefinitionSupplier;
+import io.vertigo.core.plugins.resource.local.LocalResourceResolverPlugin;
+import io.vertigo.core.util.FileWatcher;
 
 /**
  * A DefinitionLoader uses all the DefinitionProviders of all the modules to register all definitions at once at the beginning.
  * Use DynamoDefinitionProvider to use the DSL.
+ * The loader keeps the providers and their definitions : the definitions can be reloaded when their resources change.
  *
  * @author pchretien
  */
 public final class DefinitionSpaceLoader {
+	//the definition resources that are local files are watched (same rule as the resolution of the resources)
+	private static final LocalResourceResolverPlugin LOCAL_RESOURCE_RESOLVER = new LocalResourceResolverPlugin();
 	private final DefinitionSpaceWritable definitionSpaceWritable;
 	private final ComponentSpace componentSpace;
+	//if true, the independent providers are called concurrently
+	private final boolean parallelLoading;
+	//the providers in their loading order : the providers of the modules, then the components
+	private final List<LoadedProvider> loadedProviders = new ArrayList<>();
 
 	/**
 	 * Loader of definitions
 	 * @param componentSpace the componentSpace
 	 */
 	public static DefinitionSpaceLoader startLoading(final DefinitionSpaceWritable definitionSpaceWritable, final ComponentSpace componentSpace) {
-		return new DefinitionSpaceLoader(definitionSpaceWritable, componentSpace);
+		return new DefinitionSpaceLoader(definitionSpaceWritable, componentSpace, false);
+	}
+
+	/**
+	 * Loader of definitions.
+	 * With a parallel loading, the consecutive independent providers are called concurrently,
+	 * then their suppliers are evaluated and registered in the order of the providers, on a single thread.
+	 * @param componentSpace the componentSpace
+	 * @param parallelLoading if the independent providers are called concurrently
+	 */
+	public static DefinitionSpaceLoader startLoading(final DefinitionSpaceWritable definitionSpaceWritable, final ComponentSpace componentSpace, final boolean parallelLoading) {
+		return new DefinitionSpaceLoader(definitionSpaceWritable, componentSpace, parallelLoading);
 	}
 
 	/**
 	 * Loader of definitions
 	 * @param componentSpace the componentSpace
 	 */
-	private DefinitionSpaceLoader(final DefinitionSpaceWritable definitionSpaceWritable, final ComponentSpace componentSpace) {
+	private DefinitionSpaceLoader(final DefinitionSpaceWritable definitionSpaceWritable, final ComponentSpace componentSpace, final boolean parallelLoading) {
 		Assertion.check()
 				.isNotNull(definitionSpaceWritable)
 				.isNotNull(componentSpace);
 		//-----
 		this.definitionSpaceWritable = definitionSpaceWritable;
 		this.componentSpace = componentSpace;
+		this.parallelLoading = parallelLoading;
 	}
 
 	/**
@@ -72,12 +109,12 @@ public final class DefinitionSpaceLoader {
 		Assertion.check()
 				.isNotNull(moduleConfigs);
 		//--
-		final Stream<Definition> definitions = moduleConfigs
+		final Stream<LoadedProvider> definitionProviders = moduleConfigs
 				.stream()
-				.flatMap(moduleConfig -> provide(moduleConfig.getDefinitionProviderConfigs()))
-				.map(supplier -> supplier.get(definitionSpaceWritable));
+				.flatMap(moduleConfig -> moduleConfig.getDefinitionProviderConfigs().stream())
+				.map(this::createDefinitionProvider);
 
-		definitions.forEach(definitionSpaceWritable::registerDefinition);
+		registerDefinitions(definitionProviders);
 		return this;
 	}
 
@@ -86,35 +123,177 @@ public final class DefinitionSpaceLoader {
 	 */
 	public DefinitionSpaceLoader loadDefinitionsFromComponents() {
 		//--
-		final Stream<Definition> definition = componentSpace.keySet()
+		final Stream<LoadedProvider> definitionProviders = componentSpace.keySet()
 				.stream()
+				//lazy components are not created to provide definitions
+				.filter(key -> !componentSpace.isLazy(key))
 				.map(key -> componentSpace.resolve(key, CoreComponent.class))
 				.filter(component -> DefinitionProvider.class.isAssignableFrom(component.getClass()))
-				.flatMap(component -> ((DefinitionProvider) component).get(definitionSpaceWritable).stream())
-				.map(defitionSupplier -> defitionSupplier.get(definitionSpaceWritable));
+				.map(component -> new LoadedProvider(Optional.empty(), (DefinitionProvider) component));
 
-		definition.forEach(definitionSpaceWritable::registerDefinition);
+		registerDefinitions(definitionProviders);
 		return this;
 	}
 
-	private Stream<DefinitionSupplier> provide(final List<DefinitionProviderConfig> definitionProviderConfigs) {
-		return definitionProviderConfigs
-				.stream()
-				.map(this::createDefinitionProvider)
-				.flatMap(definitionProvider -> definitionProvider.get(definitionSpaceWritable).stream());
+	/*
+	 * The providers are called (and created) in their order :
+	 * the definitions of a provider are registered before the next provider is called, except for consecutive independent providers during a parallel loading.
+	 */
+	private void registerDefinitions(final Stream<LoadedProvider> definitionProviders) {
+		final List<LoadedProvider> independentProviders = new ArrayList<>();
+		definitionProviders.forEachOrdered(loadedProvider -> {
+			loadedProviders.add(loadedProvider);
+			if (parallelLoading && loadedProvider.definitionProvider.isIndependent()) {
+				independentProviders.add(loadedProvider);
+			} else {
+				registerDefinitionsConcurrently(independentProviders);
+				independentProviders.clear();
+				registerDefinitions(loadedProvider, loadedProvider.definitionProvider.get(definitionSpaceWritable));
+			}
+		});
+		registerDefinitionsConcurrently(independentProviders);
+	}
+
+	private void registerDefinitionsConcurrently(final List<LoadedProvider> independentProviders) {
+		if (independentProviders.size() == 1) {
+			registerDefinitions(independentProviders.get(0), independentProviders.get(0).definitionProvider.get(definitionSpaceWritable));
+		} else if (independentProviders.size() > 1) {
+			//the providers are called concurrently (with the context class loader of the boot, to find the resources), the order of their suppliers is kept
+			final List<List<DefinitionSupplier>> definitionSuppliersByProvider;
+			try (ComponentParallelRunner parallelRunner = new ComponentParallelRunner()) {
+				definitionSuppliersByProvider = parallelRunner.runAll(independentProviders
+						.stream()
+						.map(loadedProvider -> (Supplier<List<DefinitionSupplier>>) () -> loadedProvider.definitionProvider.get(definitionSpaceWritable))
+						.collect(Collectors.toList()));
+			}
+			for (int i = 0; i < independentProviders.size(); i++) {
+				registerDefinitions(independentProviders.get(i), definitionSuppliersByProvider.get(i));
+			}
+		}
+	}
+
+	private void registerDefinitions(final LoadedProvider loadedProvider, final List<DefinitionSupplier> definitionSuppliers) {
+		for (final DefinitionSupplier definitionSupplier : definitionSuppliers) {
+			final Definition definition = definitionSupplier.get(definitionSpaceWritable);
+			definitionSpaceWritable.registerDefinition(definition);
+			loadedProvider.definitions.add(definition);
+		}
 	}
 
-	private DefinitionProvider createDefinitionProvider(final DefinitionProviderConfig definitionProviderConfig) {
+	private LoadedProvider createDefinitionProvider(final DefinitionProviderConfig definitionProviderConfig) {
 		final DefinitionProvider definitionProvider = ComponentSpaceLoader.createInstance(definitionProviderConfig.getDefinitionProviderClass(), componentSpace, Optional.empty(),
 				definitionProviderConfig.getParams());
 
 		definitionProviderConfig.getDefinitionResourceConfigs()
 				.forEach(definitionProvider::addDefinitionResourceConfig);
 
-		return definitionProvider;
+		return new LoadedProvider(Optional.of(definitionProviderConfig), definitionProvider);
 	}
 
 	public void endLoading() {
 		definitionSpaceWritable.closeRegistration();
 	}
+
+	/**
+	 * Reloads the definitions after a change of resources.
+	 * The providers declared before the first provider using a changed resource keep their definitions.
+	 * This provider and all the next providers of the modules are created and called again (their definitions may depend on the changed ones).
+	 * The definitions provided by the components are kept.
+	 * The new definitions are published atomically : if the reload fails, the current definitions are kept.
+	 *
+	 * @param changedResourcePaths the paths of the changed definition resources
+	 * @return if the definitions have been reloaded (false if no provider uses these resources)
+	 */
+	public synchronized boolean reload(final Set<String> changedResourcePaths) {
+		Assertion.check().isNotNull(changedResourcePaths);
+		//-----
+		final int firstChangedIndex = IntStream.range(0, loadedProviders.size())
+				.filter(i -> loadedProviders.get(i).usesAny(changedResourcePaths))
+				.findFirst()
+				.orElse(-1);
+		if (firstChangedIndex < 0) {
+			return false;
+		}
+		//the definitions are registered in a new space, then published
+		final DefinitionSpaceLoader reloadingLoader = new DefinitionSpaceLoader(new DefinitionSpaceWritable(), componentSpace, parallelLoading);
+		loadedProviders.subList(0, firstChangedIndex)
+				.forEach(reloadingLoader::keepDefinitions);
+		final List<LoadedProvider> providersToReload = loadedProviders.subList(firstChangedIndex, loadedProviders.size());
+		reloadingLoader.registerDefinitions(providersToReload.stream()
+				.filter(loadedProvider -> loadedProvider.definitionProviderConfigOpt.isPresent())
+				.map(loadedProvider -> reloadingLoader.createDefinitionProvider(loadedProvider.definitionProviderConfigOpt.get())));
+		providersToReload.stream()
+				.filter(loadedProvider -> loadedProvider.definitionProviderConfigOpt.isEmpty())
+				.forEach(reloadingLoader::keepDefinitions);
+		//---
+		definitionSpaceWritable.reload(reloadingLoader.definitionSpaceWritable.getRegisteredDefinitions());
+		loadedProviders.clear();
+		loadedProviders.addAll(reloadingLoader.loadedProviders);
+		return true;
+	}
+
+	private void keepDefinitions(final LoadedProvider loadedProvider) {
+		loadedProviders.add(loadedProvider);
+		loadedProvider.definitions.forEach(definitionSpaceWritable::registerDefinition);
+	}
+
+	/**
+	 * Watches the definition resources that are local files (see LocalResourceResolverPlugin),
+	 * and reloads the definitions when they change.
+	 * @param definitionReloader the reload of the definitions, with the paths of the changed resources
+	 * @return the watcher, to close when the node stops
+	 */
+	public FileWatcher startWatching(final Consumer<Set<String>> definitionReloader) {
+		Assertion.check().isNotNull(definitionReloader);
+		//-----
+		final Map<Path, Set<String>> resourcePathsByFile = new HashMap<>();
+		loadedProviders.stream()
+				.flatMap(loadedProvider -> loadedProvider.definitionProviderConfigOpt.stream())
+				.flatMap(definitionProviderConfig -> definitionProviderConfig.getDefinitionResourceConfigs().stream())
+				.map(DefinitionResourceConfig::getPath)
+				.forEach(resourcePath -> resolveLocalFile(resourcePath)
+						.ifPresent(file -> resourcePathsByFile.computeIfAbsent(file, k -> new HashSet<>()).add(resourcePath)));
+		final FileWatcher fileWatcher = new FileWatcher(resourcePathsByFile.keySet(),
+				changedFiles -> definitionReloader.accept(changedFiles.stream()
+						.flatMap(changedFile -> resourcePathsByFile.get(changedFile).stream())
+						.collect(Collectors.toSet())),
+				"definitions");
+		fileWatcher.start();
+		return fileWatcher;
+	}
+
+	private static Optional<Path> resolveLocalFile(final String resourcePath) {
+		final Optional<URL> urlOpt = LOCAL_RESOURCE_RESOLVER.resolve(resourcePath);
+		if (urlOpt.isEmpty()) {
+			return Optional.empty();
+		}
+		try {
+			return Optional.of(Paths.get(urlOpt.get().toURI()).toAbsolutePath().normalize());
+		} catch (final URISyntaxException e) {
+			throw WrappedException.wrap(e, "Can't watch the definition resource {0}", resourcePath);
+		}
+	}
+
+	/*
+	 * A provider and the definitions it has registered.
+	 */
+	private static final class LoadedProvider {
+		//empty if the provider is a component
+		private final Optional<DefinitionProviderConfig> definitionProviderConfigOpt;
+		private final DefinitionProvider definitionProvider;
+		private final List<Definition> definitions = new ArrayList<>();
+
+		LoadedProvider(final Optional<DefinitionProviderConfig> definitionProviderConfigOpt, final DefinitionProvider definitionProvider) {
+			this.definitionProviderConfigOpt = definitionProviderConfigOpt;
+			this.definitionProvider = definitionProvider;
+		}
+
+		boolean usesAny(final Set<String> resourcePaths) {
+			return definitionProviderConfigOpt
+					.map(definitionProviderConfig -> definitionProviderConfig.getDefinitionResourceConfigs()
+							.stream()
+							.anyMatch(definitionResourceConfig -> resourcePaths.contains(definitionResourceConfig.getPath())))
+					.orElse(false);
+		}
+	}
 }
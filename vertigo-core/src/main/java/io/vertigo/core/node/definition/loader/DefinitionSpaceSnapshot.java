@@ -0,0 +1,203 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.definition.loader;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.vertigo.core.lang.Assertion;
+import io.vertigo.core.node.definition.Definition;
+import io.vertigo.core.node.definition.DefinitionReference;
+import io.vertigo.core.node.definition.DefinitionSpace;
+
+/**
+ * An immutable version of the definitions, built when the registration is closed and by each reload.
+ * The snapshots are swapped atomically : the readers never block.
+ */
+final class DefinitionSpaceSnapshot implements DefinitionSpace {
+	private final long version;
+	private final Map<String, Definition> definitions;
+	/**
+	 * Definitions by type (concrete classes and their supertypes), ordered by name.
+	 */
+	private final Map<Class<?>, Set<Definition>> definitionsByType;
+	/**
+	 * Canonical references by name, and by compact id if enabled (the ids of the removed definitions are empty).
+	 */
+	private final Map<String, DefinitionReference<?>> referencesByName;
+	private final DefinitionReference<?>[] referencesByCompactId;
+	private final boolean compactReferences;
+
+	/**
+	 * Constructor.
+	 * @param version the version of the definitions
+	 * @param definitions the definitions, in their registration order
+	 * @param compactReferences if the canonical references have a compact id
+	 * @param compactIds the compact ids by definition name (if compact references are enabled, an id for each definition)
+	 */
+	DefinitionSpaceSnapshot(final long version, final List<Definition> definitions, final boolean compactReferences, final Map<String, Integer> compactIds) {
+		Assertion.check()
+				.isNotNull(definitions)
+				.isNotNull(compactIds);
+		//-----
+		this.version = version;
+		this.compactReferences = compactReferences;
+		final Map<String, Definition> definitionsByName = new LinkedHashMap<>();
+		for (final Definition definition : definitions) {
+			definitionsByName.put(definition.getName(), definition);
+		}
+		this.definitions = Collections.unmodifiableMap(definitionsByName);
+		definitionsByType = buildDefinitionsByType(definitions);
+		//the canonical references
+		final Map<String, DefinitionReference<?>> references = new HashMap<>();
+		referencesByCompactId = new DefinitionReference<?>[compactReferences ? compactIds.size() : 0];
+		for (final Definition definition : definitions) {
+			final int compactId = compactReferences ? compactIds.get(definition.getName()) : -1;
+			final DefinitionReference<?> reference = new DefinitionReference<>(definition, compactId);
+			references.put(definition.getName(), reference);
+			if (compactReferences) {
+				referencesByCompactId[compactId] = reference;
+			}
+		}
+		referencesByName = Map.copyOf(references);
+	}
+
+	/**
+	 * @return the definitions, in their registration order
+	 */
+	List<Definition> getDefinitions() {
+		return new ArrayList<>(definitions.values());
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long getVersion() {
+		return version;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public DefinitionSpace getSnapshot() {
+		return this;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean contains(final String name) {
+		return definitions.containsKey(name);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <D extends Definition> D resolve(final String name, final Class<D> clazz) {
+		Assertion.check()
+				.isNotNull(name)
+				.isNotNull(clazz);
+		//-----
+		final Definition definition = definitions.get(name);
+		Assertion.check()
+				.isNotNull(definition, "Definition '{0}' of type '{1}' not found in ({2})", name, clazz.getSimpleName(), definitions.keySet());
+		return clazz.cast(definition);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Set<Class<? extends Definition>> getAllTypes() {
+		final Set<Class<? extends Definition>> types = new HashSet<>();
+		for (final Definition definition : definitions.values()) {
+			types.add(definition.getClass());
+		}
+		return types;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <C extends Definition> Set<C> getAll(final Class<C> clazz) {
+		Assertion.check().isNotNull(clazz); // Le type des objets recherchés ne peut pas être null
+		//-----
+		//the sets of the index are immutable : they are shared
+		return (Set<C>) definitionsByType.getOrDefault(clazz, Collections.emptySet());
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <D extends Definition> DefinitionReference<D> getReference(final String name, final Class<D> clazz) {
+		final DefinitionReference<?> reference = referencesByName.get(name);
+		if (reference == null) {
+			//unknown definition : same error as resolve
+			return DefinitionSpace.super.getReference(name, clazz);
+		}
+		clazz.cast(reference.get());
+		return (DefinitionReference<D>) reference;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public DefinitionReference<?> getReference(final int compactId) {
+		Assertion.check()
+				.isTrue(compactReferences, "compact ids of definitions are not enabled")
+				.isTrue(compactId >= 0 && compactId < referencesByCompactId.length && referencesByCompactId[compactId] != null, "no definition found with the compact id {0}", compactId);
+		//-----
+		return referencesByCompactId[compactId];
+	}
+
+	private static Map<Class<?>, Set<Definition>> buildDefinitionsByType(final List<Definition> definitions) {
+		final Map<Class<?>, List<Definition>> definitionsByType = new HashMap<>();
+		for (final Definition definition : definitions) {
+			for (final Class<?> type : getDefinitionTypes(definition.getClass())) {
+				definitionsByType.computeIfAbsent(type, k -> new ArrayList<>()).add(definition);
+			}
+		}
+		final Map<Class<?>, Set<Definition>> index = new HashMap<>();
+		for (final Map.Entry<Class<?>, List<Definition>> entry : definitionsByType.entrySet()) {
+			entry.getValue().sort(Comparator.comparing(Definition::getName));
+			index.put(entry.getKey(), Collections.unmodifiableSet(new LinkedHashSet<>(entry.getValue())));
+		}
+		return Collections.unmodifiableMap(index);
+	}
+
+	/*
+	 * The class of a definition and all its supertypes (classes and interfaces) that are definitions.
+	 */
+	private static Set<Class<?>> getDefinitionTypes(final Class<?> definitionClass) {
+		final Set<Class<?>> types = new HashSet<>();
+		final Deque<Class<?>> toVisit = new ArrayDeque<>();
+		toVisit.add(definitionClass);
+		while (!toVisit.isEmpty()) {
+			final Class<?> type = toVisit.poll();
+			if (Definition.class.isAssignableFrom(type) && types.add(type)) {
+				if (type.getSuperclass() != null) {
+					toVisit.add(type.getSuperclass());
+				}
+				toVisit.addAll(Arrays.asList(type.getInterfaces()));
+			}
+		}
+		return types;
+	}
+}
@@ -17,8 +17,13 @@
  */
 package io.vertigo.core.node.definition.loader;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -27,19 +32,34 @@ import java.util.stream.Collectors;
 import io.vertigo.core.lang.Assertion;
 import io.vertigo.core.lang.JsonExclude;
 import io.vertigo.core.node.definition.Definition;
+import io.vertigo.core.node.definition.DefinitionReference;
 import io.vertigo.core.node.definition.DefinitionSpace;
 
 /**
  * The space to access and register all the definitions.
  * The registration is only accessible during the boot phase.
  * Consequently, the registration is not threadSafe. (The boot phase occuring on a single thread)
+ * When the registration is closed, the definitions are published in an immutable snapshot,
+ * replaced atomically (copy-on-write) when the definitions are reloaded.
  *
  * @author pchretien
  */
 public final class DefinitionSpaceWritable implements DefinitionSpace {
+	//the definitions registered during the boot phase
 	@JsonExclude
 	private final Map<String, Definition> definitions = new LinkedHashMap<>();
 	private final AtomicBoolean locked = new AtomicBoolean(false);
+	/**
+	 * The current definitions, built when the registration is closed.
+	 */
+	@JsonExclude
+	private volatile DefinitionSpaceSnapshot snapshot;
+	private boolean compactReferences;
+	/**
+	 * The compact ids by definition name, kept by the reloads : an id is never given to another definition during the node lifetime.
+	 */
+	@JsonExclude
+	private final Map<String, Integer> compactIds = new HashMap<>();
 
 	public DefinitionSpaceWritable() {
 		super();
@@ -62,12 +82,20 @@ public final class DefinitionSpaceWritable implements DefinitionSpace {
 	/** {@inheritDoc} */
 	@Override
 	public boolean contains(final String name) {
+		final DefinitionSpaceSnapshot currentSnapshot = snapshot;
+		if (currentSnapshot != null) {
+			return currentSnapshot.contains(name);
+		}
 		return definitions.containsKey(name);
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public <D extends Definition> D resolve(final String name, final Class<D> clazz) {
+		final DefinitionSpaceSnapshot currentSnapshot = snapshot;
+		if (currentSnapshot != null) {
+			return currentSnapshot.resolve(name, clazz);
+		}
 		Assertion.check()
 				.isNotNull(name)
 				.isNotNull(clazz);
@@ -81,6 +109,10 @@ public final class DefinitionSpaceWritable implements DefinitionSpace {
 	/** {@inheritDoc} */
 	@Override
 	public Set<Class<? extends Definition>> getAllTypes() {
+		final DefinitionSpaceSnapshot currentSnapshot = snapshot;
+		if (currentSnapshot != null) {
+			return currentSnapshot.getAllTypes();
+		}
 		return definitions.values()
 				.stream()
 				.map(Definition::getClass)
@@ -90,23 +122,86 @@ public final class DefinitionSpaceWritable implements DefinitionSpace {
 	/** {@inheritDoc} */
 	@Override
 	public <C extends Definition> Set<C> getAll(final Class<C> clazz) {
+		final DefinitionSpaceSnapshot currentSnapshot = snapshot;
+		if (currentSnapshot != null) {
+			return currentSnapshot.getAll(clazz);
+		}
 		Assertion.check().isNotNull(clazz); // Le type des objets recherchés ne peut pas être null
 		//-----
-		return definitions.values()
+		//during the boot phase
+		final Set<C> all = definitions.values()
 				.stream()
 				.filter(definition -> clazz.isAssignableFrom(definition.getClass()))
 				.map(clazz::cast)
 				.sorted(Comparator.comparing(Definition::getName))
-				.collect(Collectors.toSet());
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+		return Collections.unmodifiableSet(all);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <D extends Definition> DefinitionReference<D> getReference(final String name, final Class<D> clazz) {
+		final DefinitionSpaceSnapshot currentSnapshot = snapshot;
+		if (currentSnapshot != null) {
+			return currentSnapshot.getReference(name, clazz);
+		}
+		//during the boot phase
+		return DefinitionSpace.super.getReference(name, clazz);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public DefinitionReference<?> getReference(final int compactId) {
+		final DefinitionSpaceSnapshot currentSnapshot = snapshot;
+		Assertion.check()
+				.isTrue(compactReferences, "compact ids of definitions are not enabled")
+				.isNotNull(currentSnapshot, "the definitions are not loaded");
+		//-----
+		return currentSnapshot.getReference(compactId);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public DefinitionSpace getSnapshot() {
+		final DefinitionSpaceSnapshot currentSnapshot = snapshot;
+		Assertion.check()
+				.isNotNull(currentSnapshot, "the definitions are not loaded");
+		//-----
+		return currentSnapshot;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long getVersion() {
+		final DefinitionSpaceSnapshot currentSnapshot = snapshot;
+		return currentSnapshot == null ? 0 : currentSnapshot.getVersion();
+	}
+
+	/**
+	 * Enables the compact ids of the definitions : the canonical references are serialized with an id, valid during the node lifetime.
+	 */
+	public void enableCompactReferences() {
+		Assertion.check()
+				.isFalse(locked.get(), "Registration is now closed. Compact references must be enabled during the boot phase");
+		//-----
+		compactReferences = true;
 	}
 
 	/**
 	 * Clears all known definitions
 	 */
 	public void clear() {
+		snapshot = null;
 		definitions.clear();
 	}
 
+	/**
+	 * @return the registered definitions, in their registration order
+	 */
+	List<Definition> getRegisteredDefinitions() {
+		return new ArrayList<>(definitions.values());
+	}
+
 	/**
 	 * Close registration of definitions.
 	 * After calling this no more definitions can be loaded.
@@ -114,5 +209,38 @@ public final class DefinitionSpaceWritable implements DefinitionSpace {
 	void closeRegistration() {
 		//registration is now closed.
 		locked.set(true);
+		//the definitions are published in the first snapshot
+		final List<Definition> registeredDefinitions = getRegisteredDefinitions();
+		snapshot = new DefinitionSpaceSnapshot(1, registeredDefinitions, compactReferences, assignCompactIds(registeredDefinitions));
+		definitions.clear();
+	}
+
+	/**
+	 * Replaces all the definitions by a new version.
+	 * The current snapshot is swapped atomically : the readers are never blocked.
+	 * @param reloadedDefinitions all the definitions, in their registration order
+	 */
+	synchronized void reload(final List<Definition> reloadedDefinitions) {
+		final DefinitionSpaceSnapshot currentSnapshot = snapshot;
+		Assertion.check()
+				.isNotNull(reloadedDefinitions)
+				.isNotNull(currentSnapshot, "the definitions are not loaded");
+		//-----
+		snapshot = new DefinitionSpaceSnapshot(currentSnapshot.getVersion() + 1, reloadedDefinitions, compactReferences, assignCompactIds(reloadedDefinitions));
+	}
+
+	/*
+	 * The known definitions keep their compact id, the new ones get the next ids (in the order of their names).
+	 * The ids of the removed definitions are not reused : the references serialized before a reload are still read after it.
+	 */
+	private Map<String, Integer> assignCompactIds(final List<Definition> newDefinitions) {
+		if (compactReferences) {
+			newDefinitions.stream()
+					.map(Definition::getName)
+					.filter(name -> !compactIds.containsKey(name))
+					.sorted()
+					.forEach(name -> compactIds.put(name, compactIds.size()));
+		}
+		return Map.copyOf(compactIds);
 	}
 }
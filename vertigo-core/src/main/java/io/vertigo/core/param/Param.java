@@ -34,6 +34,8 @@ public final class Param {
 	private static final Pattern REGEX_PARAM_NAME = Pattern.compile("([a-zA-Z][a-zA-Z0-9]*)([\\._-][a-zA-Z][a-zA-Z0-9]*){0,200}");
 	private final String name;
 	private final String value;
+	//the last typed value : a param is usually read with a single type
+	private volatile TypedValue typedValue;
 
 	/**
 	 * Constructor
@@ -95,7 +97,25 @@ public final class Param {
 		Assertion.check()
 				.isNotNull(paramType);
 		//-----
-		return (O) parse(name, paramType, value);
+		final Class<?> wrapperType = toWrapperType(paramType);
+		final TypedValue lastTypedValue = typedValue;
+		if (lastTypedValue != null && lastTypedValue.type == wrapperType) {
+			return (O) lastTypedValue.value;
+		}
+		final Object parsedValue = parse(name, paramType, value);
+		typedValue = new TypedValue(wrapperType, parsedValue);
+		return (O) parsedValue;
+	}
+
+	private static Class<?> toWrapperType(final Class<?> paramType) {
+		if (boolean.class.equals(paramType)) {
+			return Boolean.class;
+		} else if (int.class.equals(paramType)) {
+			return Integer.class;
+		} else if (long.class.equals(paramType)) {
+			return Long.class;
+		}
+		return paramType;
 	}
 
 	/**
@@ -160,4 +180,14 @@ public final class Param {
 		return Boolean.parseBoolean(paramValue);
 	}
 
+	private static final class TypedValue {
+		private final Class<?> type;
+		private final Object value;
+
+		TypedValue(final Class<?> type, final Object value) {
+			this.type = type;
+			this.value = value;
+		}
+	}
+
 }
@@ -18,6 +18,8 @@
 package io.vertigo.core.param;
 
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import io.vertigo.core.node.component.Manager;
 
@@ -64,4 +66,22 @@ public interface ParamManager extends Manager {
 	 * @return the optional value of the param
 	 */
 	Optional<Param> getOptionalParam(String paramName);
+
+	/**
+	 * Invalidates the resolved params : the params are read again from their sources.
+	 * To be called when a source of params has changed.
+	 */
+	default void invalidate() {
+		//nothing is cached by default
+	}
+
+	/**
+	 * Subscribes to the changes of the params (see the watched param plugins).
+	 * The listener receives the names of the changed params, when their new values are already visible.
+	 * It's called on the thread that has detected the change.
+	 * @param changeListener the listener
+	 */
+	default void subscribe(final Consumer<Set<String>> changeListener) {
+		//the params don't change by default
+	}
 }
@@ -42,6 +42,7 @@ import com.google.gson.JsonObject;
 import io.vertigo.core.analytics.health.HealthCheck;
 import io.vertigo.core.analytics.metric.Metric;
 import io.vertigo.core.analytics.process.AProcess;
+import io.vertigo.core.daemon.DaemonNextExecution;
 import io.vertigo.core.daemon.DaemonScheduled;
 import io.vertigo.core.impl.analytics.AnalyticsConnectorPlugin;
 import io.vertigo.core.lang.Assertion;
@@ -58,6 +59,7 @@ public final class SocketLoggerAnalyticsConnectorPlugin implements AnalyticsConn
 	private static final int DEFAULT_CONNECT_TIMEOUT = 250;// 250ms for connection to log4j server
 	private static final int DEFAULT_DISCONNECT_TIMEOUT = 5000;// 5s for disconnection to log4j server
 	private static final int DEFAULT_SERVER_PORT = 4562;// DefaultPort of SocketAppender 4650 for log4j and 4562 for log4j2
+	private static final int MAX_PROCESSES_PER_POLL = 1000;// a full queue is drained in several executions to share daemon threads
 
 	private Logger socketProcessLogger;
 	private Logger socketHealthLogger;
@@ -173,17 +175,20 @@ public final class SocketLoggerAnalyticsConnectorPlugin implements AnalyticsConn
 	}
 
 	/**
-	 * Daemon to unstack processes to end them
+	 * Daemon to unstack processes to end them.
+	 * If the queue is not drained, the daemon is executed again immediately.
+	 * @return the next execution
 	 */
 	@DaemonScheduled(name = "DmnRemoteLogger", periodInSeconds = 1, analytics = false)
-	public void pollQueue() {
-		while (!processQueue.isEmpty()) {
+	public DaemonNextExecution pollQueue() {
+		for (int i = 0; i < MAX_PROCESSES_PER_POLL; i++) {
 			final AProcess head = processQueue.poll();
-			if (head != null) {
-				sendProcess(head);
+			if (head == null) {
+				return DaemonNextExecution.afterPeriod();
 			}
+			sendProcess(head);
 		}
-
+		return processQueue.isEmpty() ? DaemonNextExecution.afterPeriod() : DaemonNextExecution.immediately();
 	}
 
 	private void sendProcess(final AProcess process) {
@@ -17,30 +17,49 @@
  */
 package io.vertigo.core.plugins.component.aop.javassist;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Stream;
+import java.util.Optional;
 
 import io.vertigo.core.lang.Assertion;
-import io.vertigo.core.lang.WrappedException;
 import io.vertigo.core.node.component.AopPlugin;
 import io.vertigo.core.node.component.CoreComponent;
 import io.vertigo.core.node.component.aop.Aspect;
+import io.vertigo.core.node.component.aop.AspectChain;
 import io.vertigo.core.util.ClassUtil;
-import javassist.util.proxy.Proxy;
-import javassist.util.proxy.ProxyFactory;
+import io.vertigo.core.util.MethodInvoker;
 
 /**
  * This class implements the aspects using the javassist library.
+ * The proxies call directly the underlying instance on the methods without aspect.
+ *
+ * To reduce the startup time, the proxy classes can be generated ahead of time :
+ * a run (at build time) with a proxy classes directory writes all the generated proxy classes in this directory.
+ * When these classes are packaged with the components, they are loaded instead of being generated.
+ * A component class without its proxy class (or that has changed since) falls back to the runtime generation.
  * @author pchretien
  */
 public final class JavassistAopPlugin implements AopPlugin {
+	private final Optional<Path> proxyClassesDirOpt;
+
+	/**
+	 * Constructor.
+	 */
+	public JavassistAopPlugin() {
+		proxyClassesDirOpt = Optional.empty();
+	}
 
-	private static void setProxyOnlyPublicMethods() {
-		ProxyFactory.onlyPublicMethods = Boolean.TRUE;
+	/**
+	 * Constructor.
+	 * @param proxyClassesDir the directory where the generated proxy classes are written
+	 */
+	public JavassistAopPlugin(final Path proxyClassesDir) {
+		Assertion.check().isNotNull(proxyClassesDir);
+		//-----
+		proxyClassesDirOpt = Optional.of(proxyClassesDir);
 	}
 
 	/** {@inheritDoc} */
@@ -55,50 +74,30 @@ public final class JavassistAopPlugin implements AopPlugin {
 					.isFalse(Modifier.isFinal(method.getModifiers()), "due to cglib method '" + method.getName() + "' on '" + instance.getClass().getName() + "' can not be markedf as final");
 		}
 		//-----
-		final Class<? extends CoreComponent> implClass = instance.getClass();
-		final Class[] intfs = ClassUtil.getAllInterfaces(implClass).toArray(new Class[0]);
-
-		final ProxyFactory f = new ProxyFactory();
-		setProxyOnlyPublicMethods();
-		f.setInterfaces(intfs);
-		f.setSuperclass(implClass);
-
-		final Class c = f.createClass();
-		C proxyInstance;
-		try {
-			proxyInstance = (C) c.getDeclaredConstructor().newInstance();
-		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
-				| NoSuchMethodException | SecurityException e) {
-			throw WrappedException.wrap(e);
-		}
-		((Proxy) proxyInstance).setHandler(createCallBack(instance, joinPoints));
-
-		return proxyInstance;
+		final JavassistProxyClass proxyClass = JavassistProxyClass.of(instance.getClass(), joinPoints.keySet(), proxyClassesDirOpt);
+		final AspectChain[] aspectChains = proxyClass.getInterceptedMethods()
+				.stream()
+				.map(method -> createAspectChain(instance, method, joinPoints.get(method)))
+				.toArray(AspectChain[]::new);
+		return (C) proxyClass.newInstance(instance, aspectChains);
 	}
 
-	private static JavassistInvocationHandler createCallBack(final Object instance, final Map<Method, List<Aspect>> joinPoints) {
-		return new JavassistInvocationHandler(instance, joinPoints);
+	private static AspectChain createAspectChain(final Object instance, final Method method, final List<Aspect> aspects) {
+		final MethodInvoker invoker = ClassUtil.getInvoker(method);
+		return AspectChain.of(method, aspects, args -> invoker.invoke(instance, args));
 	}
 
+	/** {@inheritDoc} */
 	@Override
 	public <C extends CoreComponent> C unwrap(final C component) {
-		if (isWrapped(component)) {
-			return (C) Stream.of(ProxyFactory.getHandler((Proxy) component))
-					.filter(callback -> JavassistInvocationHandler.class.isAssignableFrom(callback.getClass()))
-					.map(ourCallBack -> (JavassistInvocationHandler) ourCallBack)
-					.findFirst()
-					.orElseThrow(() -> new IllegalArgumentException("the component " + component.getClass() + " is not unwrappable"))
-					// we return the unwrapped instance
-					.getInstance();
-		}
-		return component;
-	}
-
-	private static boolean isWrapped(final Object object) {
 		Assertion.check()
-				.isNotNull(object);
+				.isNotNull(component);
 		// ---
-		return ProxyFactory.isProxyClass(object.getClass());
+		if (component instanceof JavassistProxy) {
+			// we return the unwrapped instance
+			return (C) ((JavassistProxy) component).unwrapVertigoProxy();
+		}
+		return component;
 	}
 
 }
@@ -0,0 +1,271 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.plugins.component.aop.javassist;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.vertigo.core.lang.Assertion;
+import io.vertigo.core.lang.WrappedException;
+import io.vertigo.core.node.component.aop.AspectChain;
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtConstructor;
+import javassist.CtField;
+import javassist.CtMethod;
+import javassist.CtNewConstructor;
+import javassist.LoaderClassPath;
+import javassist.NotFoundException;
+import javassist.util.proxy.DefineClassHelper;
+
+/**
+ * A proxy class generated for a component class and its intercepted methods.
+ *
+ * The proxy extends the component class and overrides all its public methods :
+ *  - a method without aspect calls directly the same method on the underlying instance,
+ *  - an intercepted method calls its aspect chain, which applies the aspects then invokes the underlying instance.
+ *
+ * The proxy classes are generated once per component class and set of intercepted methods.
+ * They can be generated ahead of time (at build time) : the generated proxy classes are written in a directory,
+ * then packaged with the components. At runtime these proxy classes are loaded instead of being generated.
+ */
+final class JavassistProxyClass {
+	private static final String TARGET_FIELD = "vertigoTarget";
+	private static final String ASPECT_CHAIN_FIELD = "vertigoAspectChain";
+	private static final ClassValue<Map<Set<Method>, JavassistProxyClass>> PROXY_CLASSES = new ClassValue<>() {
+		@Override
+		protected Map<Set<Method>, JavassistProxyClass> computeValue(final Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	//the intercepted methods, in the order of the aspect chains expected by the constructor
+	private final List<Method> interceptedMethods;
+	//(implClass, AspectChain[])
+	private final Constructor<?> constructor;
+
+	private JavassistProxyClass(final List<Method> interceptedMethods, final Constructor<?> constructor) {
+		this.interceptedMethods = interceptedMethods;
+		this.constructor = constructor;
+	}
+
+	/**
+	 * Provides the proxy class of a component class.
+	 * A proxy class generated ahead of time (with the same name) is loaded, otherwise the proxy class is generated.
+	 * @param implClass the component class
+	 * @param interceptedMethods the intercepted methods
+	 * @param proxyClassesDirOpt the directory where the generated proxy classes are written
+	 * @return the proxy class
+	 */
+	static JavassistProxyClass of(final Class<?> implClass, final Set<Method> interceptedMethods, final Optional<Path> proxyClassesDirOpt) {
+		Assertion.check()
+				.isNotNull(implClass)
+				.isNotNull(interceptedMethods)
+				.isNotNull(proxyClassesDirOpt);
+		//-----
+		return PROXY_CLASSES.get(implClass)
+				.computeIfAbsent(new HashSet<>(interceptedMethods), methods -> loadOrGenerate(implClass, methods, proxyClassesDirOpt));
+	}
+
+	/**
+	 * @return the intercepted methods, in the order of the aspect chains expected by newInstance
+	 */
+	List<Method> getInterceptedMethods() {
+		return interceptedMethods;
+	}
+
+	/**
+	 * Creates a proxy.
+	 * @param instance the underlying instance
+	 * @param aspectChains the aspect chains, in the order of the intercepted methods
+	 * @return the proxy
+	 */
+	Object newInstance(final Object instance, final AspectChain[] aspectChains) {
+		Assertion.check()
+				.isNotNull(instance)
+				.isNotNull(aspectChains)
+				.isTrue(aspectChains.length == interceptedMethods.size(), "{0} aspect chains are expected", interceptedMethods.size());
+		//-----
+		try {
+			return constructor.newInstance(instance, aspectChains);
+		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+			throw WrappedException.wrap(e);
+		}
+	}
+
+	private static JavassistProxyClass loadOrGenerate(final Class<?> implClass, final Set<Method> interceptedMethods, final Optional<Path> proxyClassesDirOpt) {
+		final List<Method> overridableMethods = getOverridableMethods(implClass);
+		Assertion.check().isTrue(overridableMethods.containsAll(interceptedMethods),
+				"all intercepted methods of '{0}' must be public and non-final", implClass.getName());
+		//-----
+		//the order of the intercepted methods must be the same for the proxy classes generated ahead of time
+		final List<Method> orderedInterceptedMethods = interceptedMethods.stream()
+				.sorted(Comparator.comparing(Method::toString))
+				.collect(Collectors.toUnmodifiableList());
+		final String proxyClassName = getProxyClassName(implClass, overridableMethods, orderedInterceptedMethods);
+		final Class<?> proxyClass = findClass(proxyClassName, implClass.getClassLoader())
+				.orElseGet(() -> generate(implClass, overridableMethods, orderedInterceptedMethods, proxyClassName, proxyClassesDirOpt));
+		try {
+			return new JavassistProxyClass(
+					orderedInterceptedMethods,
+					proxyClass.getDeclaredConstructor(implClass, AspectChain[].class));
+		} catch (final NoSuchMethodException e) {
+			throw WrappedException.wrap(e, "Le proxy {0} ne correspond pas à {1}", proxyClassName, implClass.getName());
+		}
+	}
+
+	/*
+	 * The name of the proxy class is derived from the component class and from its methods,
+	 * so a proxy class generated ahead of time is not used when the component class has changed.
+	 */
+	private static String getProxyClassName(final Class<?> implClass, final List<Method> overridableMethods, final List<Method> orderedInterceptedMethods) {
+		final String signature = Stream.concat(
+				overridableMethods.stream().map(Method::toString).sorted(),
+				orderedInterceptedMethods.stream().map(method -> "@" + method))
+				.collect(Collectors.joining(";"));
+		final String hash = UUID.nameUUIDFromBytes(signature.getBytes(StandardCharsets.UTF_8)).toString().replace("-", "");
+		return implClass.getName() + "$$VertigoProxy$" + hash;
+	}
+
+	private static Optional<Class<?>> findClass(final String className, final ClassLoader classLoader) {
+		try {
+			return Optional.of(Class.forName(className, true, classLoader));
+		} catch (final ClassNotFoundException e) {
+			return Optional.empty();
+		}
+	}
+
+	private static Class<?> generate(
+			final Class<?> implClass,
+			final List<Method> overridableMethods,
+			final List<Method> orderedInterceptedMethods,
+			final String proxyClassName,
+			final Optional<Path> proxyClassesDirOpt) {
+		final ClassPool classPool = new ClassPool(true);
+		classPool.appendClassPath(new LoaderClassPath(implClass.getClassLoader()));
+		final byte[] bytecode;
+		try {
+			final CtClass implCtClass = classPool.get(implClass.getName());
+			final CtClass proxyCtClass = classPool.makeClass(proxyClassName, implCtClass);
+			proxyCtClass.addInterface(classPool.get(JavassistProxy.class.getName()));
+			proxyCtClass.addField(new CtField(implCtClass, TARGET_FIELD, proxyCtClass));
+
+			final StringBuilder constructorBody = new StringBuilder("{ super(); this.").append(TARGET_FIELD).append(" = $1;");
+			for (final Method method : overridableMethods) {
+				final int index = orderedInterceptedMethods.indexOf(method);
+				final String body;
+				if (index >= 0) {
+					final String aspectChainField = ASPECT_CHAIN_FIELD + index;
+					proxyCtClass.addField(new CtField(classPool.get(AspectChain.class.getName()), aspectChainField, proxyCtClass));
+					constructorBody.append(" this.").append(aspectChainField).append(" = $2[").append(index).append("];");
+					body = "{ return ($r) this." + aspectChainField + ".invoke($args); }";
+				} else {
+					body = (method.getReturnType() == void.class ? "{ " : "{ return ") + "this." + TARGET_FIELD + '.' + method.getName() + "($$); }";
+				}
+				proxyCtClass.addMethod(createMethod(classPool, proxyCtClass, method, body));
+			}
+
+			final CtConstructor constructor = CtNewConstructor.make(
+					new CtClass[] { implCtClass, classPool.get(AspectChain[].class.getTypeName()) },
+					new CtClass[0],
+					constructorBody.append(" }").toString(),
+					proxyCtClass);
+			proxyCtClass.addConstructor(constructor);
+			proxyCtClass.addMethod(CtMethod.make("public Object unwrapVertigoProxy() { return this." + TARGET_FIELD + "; }", proxyCtClass));
+
+			bytecode = proxyCtClass.toBytecode();
+			proxyCtClass.detach();
+		} catch (final NotFoundException | CannotCompileException | IOException e) {
+			throw WrappedException.wrap(e, "Impossible de générer le proxy de {0}", implClass.getName());
+		}
+		proxyClassesDirOpt.ifPresent(proxyClassesDir -> writeClassFile(proxyClassesDir, proxyClassName, bytecode));
+		try {
+			return DefineClassHelper.toClass(implClass, bytecode);
+		} catch (final CannotCompileException e) {
+			//the same proxy class may have been defined concurrently
+			return findClass(proxyClassName, implClass.getClassLoader())
+					.orElseThrow(() -> WrappedException.wrap(e, "Impossible de charger le proxy de {0}", implClass.getName()));
+		}
+	}
+
+	private static void writeClassFile(final Path proxyClassesDir, final String proxyClassName, final byte[] bytecode) {
+		final Path classFile = proxyClassesDir.resolve(proxyClassName.replace('.', '/') + ".class");
+		try {
+			Files.createDirectories(classFile.getParent());
+			Files.write(classFile, bytecode);
+		} catch (final IOException e) {
+			throw WrappedException.wrap(e, "Impossible d'écrire le proxy {0}", classFile);
+		}
+	}
+
+	private static List<Method> getOverridableMethods(final Class<?> implClass) {
+		//public methods, including the inherited ones, by signature
+		final Map<String, Method> methodsBySignature = new LinkedHashMap<>();
+		for (final Method method : implClass.getMethods()) {
+			if (!method.isBridge()
+					&& !Modifier.isStatic(method.getModifiers())
+					&& !Modifier.isFinal(method.getModifiers())) {
+				methodsBySignature.putIfAbsent(method.getName() + Arrays.toString(method.getParameterTypes()), method);
+			}
+		}
+		return new ArrayList<>(methodsBySignature.values());
+	}
+
+	private static CtMethod createMethod(final ClassPool classPool, final CtClass proxyCtClass, final Method method, final String body) throws NotFoundException, CannotCompileException {
+		final CtMethod ctMethod = new CtMethod(
+				toCtClass(classPool, method.getReturnType()),
+				method.getName(),
+				toCtClasses(classPool, method.getParameterTypes()),
+				proxyCtClass);
+		ctMethod.setExceptionTypes(toCtClasses(classPool, method.getExceptionTypes()));
+		ctMethod.setModifiers(javassist.Modifier.PUBLIC | (method.isVarArgs() ? javassist.Modifier.VARARGS : 0));
+		ctMethod.setBody(body);
+		return ctMethod;
+	}
+
+	private static CtClass[] toCtClasses(final ClassPool classPool, final Class<?>[] types) throws NotFoundException {
+		final List<String> typeNames = Stream.of(types)
+				.map(Class::getTypeName)
+				.collect(Collectors.toList());
+		return classPool.get(typeNames.toArray(new String[0]));
+	}
+
+	private static CtClass toCtClass(final ClassPool classPool, final Class<?> type) throws NotFoundException {
+		return classPool.get(type.getTypeName());
+	}
+}
@@ -17,6 +17,7 @@
  */
 package io.vertigo.core.plugins.param.env;
 
+import java.util.Map;
 import java.util.Optional;
 
 import io.vertigo.core.impl.param.ParamPlugin;
@@ -29,12 +30,21 @@ import io.vertigo.core.param.Param;
  * @author pchretien
  */
 public final class EnvParamPlugin implements ParamPlugin {
+	//the environment doesn't change during the life of the JVM
+	private final Map<String, String> env = Map.copyOf(System.getenv());
+
 	/** {@inheritDoc} */
 	@Override
 	public Optional<Param> getParam(final String paramName) {
 		Assertion.check().isNotBlank(paramName);
 		//-----
-		final String paramValue = System.getenv().get(paramName);
+		final String paramValue = env.get(paramName);
 		return paramValue != null ? Optional.of(Param.of(paramName, paramValue)) : Optional.empty();
 	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Optional<Map<String, String>> getParamValues() {
+		return Optional.of(env);
+	}
 }
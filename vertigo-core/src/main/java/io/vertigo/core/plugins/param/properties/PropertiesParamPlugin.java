@@ -20,13 +20,21 @@ package io.vertigo.core.plugins.param.properties;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
 import io.vertigo.core.impl.param.ParamPlugin;
+import io.vertigo.core.impl.param.WatchedParams;
 import io.vertigo.core.lang.Assertion;
+import io.vertigo.core.lang.WrappedException;
+import io.vertigo.core.node.component.Activeable;
 import io.vertigo.core.param.Param;
 import io.vertigo.core.param.ParamValue;
 import io.vertigo.core.resource.ResourceManager;
@@ -34,34 +42,43 @@ import io.vertigo.core.util.FileUtil;
 
 /**
  * Plugin de gestion de configuration de fichiers properties.
+ * If the file is watched, the params are read again when it changes.
  *
  * @author skerdudou
  */
-public final class PropertiesParamPlugin implements ParamPlugin {
-	private final Properties properties;
+public final class PropertiesParamPlugin implements ParamPlugin, Activeable {
+	private final WatchedParams watchedParams;
 
 	/**
 	 * Constructor.
 	 *
 	 * @param resourceManager Selector
 	 * @param url Url du fichier XML de configuration
-	 * @throws IOException erreur de lecture du fichier
+	 * @param watchOpt if the file is watched (false by default), it must be a local file
 	 */
 	@Inject
-	public PropertiesParamPlugin(final ResourceManager resourceManager, @ParamValue("url") final String url) throws IOException {
+	public PropertiesParamPlugin(
+			final ResourceManager resourceManager,
+			@ParamValue("url") final String url,
+			@ParamValue("watch") final Optional<Boolean> watchOpt) {
 		Assertion.check()
 				.isNotNull(resourceManager)
-				.isNotBlank(url);
+				.isNotBlank(url)
+				.isNotNull(watchOpt);
 		//-----
 		final URL configURL = resourceManager.resolve(FileUtil.translatePath(url));
-		properties = loadProperties(configURL);
+		watchedParams = new WatchedParams(configURL, PropertiesParamPlugin::loadProperties, watchOpt.orElse(false));
 	}
 
-	private static Properties loadProperties(final URL configURL) throws IOException {
+	private static Map<String, String> loadProperties(final URL configURL) {
 		try (final InputStream input = configURL.openStream()) {
 			final Properties tmpProperties = new Properties();
 			tmpProperties.load(input);
-			return tmpProperties;
+			return tmpProperties.stringPropertyNames()
+					.stream()
+					.collect(Collectors.toMap(Function.identity(), tmpProperties::getProperty));
+		} catch (final IOException e) {
+			throw WrappedException.wrap(e, "Erreur de lecture du fichier {0}", configURL);
 		}
 	}
 
@@ -70,7 +87,30 @@ public final class PropertiesParamPlugin implements ParamPlugin {
 	public Optional<Param> getParam(final String paramName) {
 		Assertion.check().isNotBlank(paramName);
 		//-----
-		final String paramValue = properties.getProperty(paramName);
-		return paramValue != null ? Optional.of(Param.of(paramName, paramValue)) : Optional.empty();
+		return watchedParams.getParam(paramName);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Optional<Map<String, String>> getParamValues() {
+		return Optional.of(watchedParams.getParamValues());
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void addChangeListener(final Consumer<Set<String>> changeListener) {
+		watchedParams.addChangeListener(changeListener);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void start() {
+		watchedParams.start();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void stop() {
+		watchedParams.close();
 	}
 }
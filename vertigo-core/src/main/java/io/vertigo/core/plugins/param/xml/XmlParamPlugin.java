@@ -17,50 +17,51 @@
  */
 package io.vertigo.core.plugins.param.xml;
 
-import java.io.BufferedInputStream;
-import java.io.IOException;
 import java.net.URL;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
-import javax.xml.XMLConstants;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.parsers.SAXParser;
-import javax.xml.parsers.SAXParserFactory;
-
-import org.xml.sax.SAXException;
 
 import io.vertigo.core.impl.param.ParamPlugin;
+import io.vertigo.core.impl.param.WatchedParams;
 import io.vertigo.core.lang.Assertion;
-import io.vertigo.core.lang.WrappedException;
+import io.vertigo.core.node.component.Activeable;
 import io.vertigo.core.param.Param;
 import io.vertigo.core.param.ParamValue;
 import io.vertigo.core.resource.ResourceManager;
 import io.vertigo.core.util.FileUtil;
-import io.vertigo.core.util.StringUtil;
 import io.vertigo.core.util.XmlUtil;
 
 /**
  * Parser XML du paramétrage de la config.
  * @author  pchretien
  */
-public final class XmlParamPlugin implements ParamPlugin {
-	private final Map<String, Param> params;
+public final class XmlParamPlugin implements ParamPlugin, Activeable {
+	private static final URL CONFIG_XSD = XmlParamPlugin.class.getResource("vertigo-config_1_0.xsd");
+	private final WatchedParams watchedParams;
 
 	/**
 	 * Constructor.
 	 * @param resourceManager Selector
 	 * @param url Url du fichier XML de configuration
+	 * @param watchOpt if the file is watched (false by default), it must be a local file
 	 */
 	@Inject
-	public XmlParamPlugin(final ResourceManager resourceManager, @ParamValue("url") final String url) {
+	public XmlParamPlugin(
+			final ResourceManager resourceManager,
+			@ParamValue("url") final String url,
+			@ParamValue("watch") final Optional<Boolean> watchOpt) {
 		Assertion.check()
 				.isNotNull(resourceManager)
-				.isNotBlank(url);
+				.isNotBlank(url)
+				.isNotNull(watchOpt);
 		//-----
 		final URL configURL = resourceManager.resolve(FileUtil.translatePath(url));
-		params = readXML(configURL);
+		watchedParams = new WatchedParams(configURL, XmlParamPlugin::readParamValues, watchOpt.orElse(false));
 	}
 
 	/** {@inheritDoc} */
@@ -68,43 +69,49 @@ public final class XmlParamPlugin implements ParamPlugin {
 	public Optional<Param> getParam(final String paramName) {
 		Assertion.check().isNotBlank(paramName);
 		//-----
-		return Optional.ofNullable(params.get(paramName));
+		return watchedParams.getParam(paramName);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Optional<Map<String, String>> getParamValues() {
+		return Optional.of(watchedParams.getParamValues());
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void addChangeListener(final Consumer<Set<String>> changeListener) {
+		watchedParams.addChangeListener(changeListener);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void start() {
+		watchedParams.start();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void stop() {
+		watchedParams.close();
+	}
+
+	private static Map<String, String> readParamValues(final URL configURL) {
+		return readXML(configURL).values()
+				.stream()
+				.collect(Collectors.toMap(Param::getName, Param::getValue));
 	}
 
 	/**
 	 * Charge une configuration, et complète celle existante.
+	 * The XML is validated while it's parsed.
 	 */
 	private static Map<String, Param> readXML(final URL configURL) {
 		Assertion.check().isNotNull(configURL);
 		//-----
-		try {
-			return doReadXML(configURL);
-		} catch (final ParserConfigurationException pce) {
-			throw WrappedException.wrap(pce, StringUtil.format("Erreur de configuration du parseur (fichier {0}), lors de l'appel à newSAXParser()", configURL.getPath()));
-		} catch (final SAXException se) {
-			throw WrappedException.wrap(se, StringUtil.format("Erreur de parsing (fichier {0}), lors de l'appel à parse()", configURL.getPath()));
-		} catch (final IOException ioe) {
-			throw WrappedException.wrap(ioe, StringUtil.format("Erreur d'entrée/sortie (fichier {0}), lors de l'appel à parse()", configURL.getPath()));
-		}
-	}
-
-	private static Map<String, Param> doReadXML(final URL configURL) throws SAXException, IOException, ParserConfigurationException {
-		xsdValidate(configURL);
-		//---
 		final XmlConfigHandler handler = new XmlConfigHandler();
-		final SAXParserFactory factory = SAXParserFactory.newInstance();
-		factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-
-		final SAXParser saxParser = factory.newSAXParser();
-		saxParser.parse(new BufferedInputStream(configURL.openStream()), handler);
+		XmlUtil.parseXmlByXsd(configURL, CONFIG_XSD, handler);
 		return handler.getParams();
 	}
 
-	private static void xsdValidate(final URL configURL) {
-		//--- validation XSD
-		final URL xsd = XmlParamPlugin.class.getResource("vertigo-config_1_0.xsd");
-		XmlUtil.validateXmlByXsd(configURL, xsd);
-		//--- fin validation XSD
-	}
-
 }
@@ -61,7 +61,7 @@ public final class BeanUtil {
 		if (readMethod == null) {
 			throw new VSystemException("no getter found for property '{0}' on class '{1}'", propertyName, object.getClass().getName());
 		}
-		return ClassUtil.invoke(object, readMethod);
+		return ClassUtil.getInvoker(readMethod).invoke(object);
 	}
 
 	/**
@@ -82,7 +82,7 @@ public final class BeanUtil {
 		if (writeMethod == null) {
 			throw new VSystemException("no setter found for property '{0}' on class '{1}'", propertyName, object.getClass().getName());
 		}
-		ClassUtil.invoke(object, writeMethod, value);
+		ClassUtil.getInvoker(writeMethod).invoke(object, value);
 	}
 
 	/**
@@ -18,10 +18,14 @@
 package io.vertigo.core.util;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -30,7 +34,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -44,6 +50,15 @@ import io.vertigo.core.lang.WrappedException;
  */
 public final class ClassUtil {
 	private static final Class<?>[] EMPTY_CLAZZ_ARRAY = new Class[0];
+	//(Object, Object[])Object : the type of all the invokers
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+	//invokers are cached by declaring class, so they are released with their class
+	private static final ClassValue<Map<Method, MethodInvoker>> INVOKERS = new ClassValue<>() {
+		@Override
+		protected Map<Method, MethodInvoker> computeValue(final Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
 
 	/**
 	 * Constructor
@@ -207,6 +222,43 @@ public final class ClassUtil {
 		}
 	}
 
+	/**
+	 * Provides the invoker of a method.
+	 * The method is converted once into a MethodHandle, then the invoker is cached.
+	 * Use it instead of invoke on the hot paths : keep the invoker and call it many times.
+	 *
+	 * @param method method which is invocated
+	 * @return the invoker of the method
+	 */
+	public static MethodInvoker getInvoker(final Method method) {
+		Assertion.check().isNotNull(method);
+		//-----
+		return INVOKERS.get(method.getDeclaringClass())
+				.computeIfAbsent(method, ClassUtil::createInvoker);
+	}
+
+	private static MethodInvoker createInvoker(final Method method) {
+		final MethodHandle unreflected;
+		try {
+			unreflected = MethodHandles.publicLookup().unreflect(method);
+		} catch (final IllegalAccessException e) {
+			throw WrappedException.wrap(e, "accès impossible à la méthode : {0} de {1}", method.getName(), method.getDeclaringClass().getName());
+		}
+		final MethodHandle withInstance = Modifier.isStatic(method.getModifiers())
+				? MethodHandles.dropArguments(unreflected, 0, Object.class)
+				: unreflected;
+		final MethodHandle methodHandle = withInstance
+				.asSpreader(Object[].class, method.getParameterCount())
+				.asType(INVOKER_TYPE);
+		return (instance, args) -> {
+			try {
+				return (Object) methodHandle.invokeExact(instance, args);
+			} catch (final Throwable e) {
+				throw WrappedException.wrap(e, "Erreur lors de l'appel de la méthode : {0} de {1}", method.getName(), method.getDeclaringClass().getName());
+			}
+		};
+	}
+
 	/**
 	 * Affectation dynamique de la valeur d'un champ (méme privé).
 	 *
@@ -0,0 +1,198 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.util;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.vertigo.core.lang.Assertion;
+import io.vertigo.core.lang.WrappedException;
+
+/**
+ * Watches local files with a WatchService.
+ * The changes are grouped (an editor may write a file several times) and then notified on the thread of the watcher.
+ * The directories of the files are watched : a file may be replaced by an editor.
+ * The files are watched from start() until close().
+ */
+public final class FileWatcher implements AutoCloseable {
+	private static final Logger LOG = LogManager.getLogger(FileWatcher.class);
+	//the changes are notified when no event has occurred during this delay
+	private static final long DEBOUNCE_DELAY_IN_MILLIS = 200;
+	//max wait for the end of a notification in progress, when the watcher is closed
+	private static final long CLOSE_TIMEOUT_IN_MILLIS = 5000;
+
+	private final Set<Path> files;
+	private final Consumer<Set<Path>> changeListener;
+	private final String name;
+	//the following fields are guarded by this
+	private WatchService watchService;
+	private Thread thread;
+
+	/**
+	 * Constructor.
+	 * @param files the files to watch
+	 * @param changeListener the listener of the changed files (absolute and normalized paths)
+	 * @param name the name of the watcher (used by its thread)
+	 */
+	public FileWatcher(final Collection<Path> files, final Consumer<Set<Path>> changeListener, final String name) {
+		Assertion.check()
+				.isNotNull(files)
+				.isNotNull(changeListener)
+				.isNotBlank(name);
+		//-----
+		this.files = files.stream()
+				.map(file -> file.toAbsolutePath().normalize())
+				.collect(Collectors.toUnmodifiableSet());
+		this.changeListener = changeListener;
+		this.name = name;
+	}
+
+	/**
+	 * Starts watching the files, on a new thread.
+	 */
+	public synchronized void start() {
+		Assertion.check().isNull(thread, "the watcher {0} is already started", name);
+		//-----
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+			final Set<Path> directories = new HashSet<>();
+			for (final Path file : files) {
+				if (directories.add(file.getParent())) {
+					file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+				}
+			}
+		} catch (final IOException e) {
+			closeWatchService();
+			throw WrappedException.wrap(e, "Can't watch the files {0}", files);
+		}
+		final WatchService startedWatchService = watchService;
+		thread = new Thread(() -> watch(startedWatchService), "vertigo-watcher-" + name);
+		//a watcher must not prevent the JVM from exiting
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private void watch(final WatchService startedWatchService) {
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				final Set<Path> changedFiles = new HashSet<>();
+				WatchKey watchKey = startedWatchService.take();
+				do {
+					collectChanges(watchKey, changedFiles);
+					watchKey = startedWatchService.poll(DEBOUNCE_DELAY_IN_MILLIS, TimeUnit.MILLISECONDS);
+				} while (watchKey != null);
+				notifyChanges(changedFiles);
+			}
+		} catch (final InterruptedException e) {
+			// Restore interrupted state...
+			Thread.currentThread().interrupt();
+		} catch (final ClosedWatchServiceException e) {
+			//the watcher is closed
+		}
+	}
+
+	private void collectChanges(final WatchKey watchKey, final Set<Path> changedFiles) {
+		final Path directory = (Path) watchKey.watchable();
+		for (final WatchEvent<?> event : watchKey.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				//some events are lost : all the files of the directory may have changed
+				files.stream()
+						.filter(file -> file.getParent().equals(directory))
+						.forEach(changedFiles::add);
+			} else {
+				final Path file = directory.resolve((Path) event.context());
+				if (files.contains(file)) {
+					changedFiles.add(file);
+				}
+			}
+		}
+		watchKey.reset();
+	}
+
+	private void notifyChanges(final Set<Path> changedFiles) {
+		if (changedFiles.isEmpty()) {
+			return;
+		}
+		LOG.info("files {} have changed", changedFiles);
+		try {
+			changeListener.accept(changedFiles);
+		} catch (final RuntimeException e) {
+			//the files may be fixed and saved again
+			LOG.error("the change of the files " + changedFiles + " can't be handled", e);
+		}
+	}
+
+	/**
+	 * Stops watching the files.
+	 * A notification in progress is awaited (with a timeout), so no change is notified after the watcher is closed.
+	 */
+	@Override
+	public void close() {
+		final Thread watcherThread;
+		synchronized (this) {
+			watcherThread = thread;
+			thread = null;
+			//the watcher thread stops at its next wait for changes
+			closeWatchService();
+		}
+		if (watcherThread != null && watcherThread != Thread.currentThread()) {
+			try {
+				watcherThread.join(CLOSE_TIMEOUT_IN_MILLIS);
+				if (watcherThread.isAlive()) {
+					LOG.warn("the watcher {} is still notifying changes, it's interrupted", name);
+					watcherThread.interrupt();
+				}
+			} catch (final InterruptedException e) {
+				// Restore interrupted state...
+				Thread.currentThread().interrupt();
+				watcherThread.interrupt();
+			}
+		}
+	}
+
+	//the thread of the watcher, if it's started (for the tests)
+	synchronized Thread getThread() {
+		return thread;
+	}
+
+	private void closeWatchService() {
+		if (watchService != null) {
+			try {
+				watchService.close();
+			} catch (final IOException e) {
+				LOG.warn("the watcher {} can't be closed", name, e);
+			}
+			watchService = null;
+		}
+	}
+}
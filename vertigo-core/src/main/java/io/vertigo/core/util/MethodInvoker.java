@@ -0,0 +1,34 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.util;
+
+/**
+ * Invokes a method, faster than a reflective call.
+ * Use ClassUtil.getInvoker to get the cached invoker of a method.
+ */
+@FunctionalInterface
+public interface MethodInvoker {
+	/**
+	 * Invokes the method on a specific instance.
+	 *
+	 * @param instance Object (ignored if the method is static)
+	 * @param args Args
+	 * @return value provided as the result by the method (null if the method is void)
+	 */
+	Object invoke(Object instance, Object... args);
+}
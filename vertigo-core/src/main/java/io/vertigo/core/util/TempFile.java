@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 
 import io.vertigo.core.lang.WrappedException;
 
@@ -36,6 +37,11 @@ public final class TempFile extends File {
 	 * Vertigo Temp directory path.
 	 */
 	public static final Path VERTIGO_TMP_DIR_PATH;
+	/**
+	 * Registry of the temp files : they are deleted one hour after their last modification.
+	 * The files created by this JVM are also deleted when it exits, the files found in the temp dir (used by other JVMs or left by a previous start) are not.
+	 */
+	public static final TempFileRegistry REGISTRY = new TempFileRegistry(Duration.ofHours(1), Duration.ofMinutes(1));
 	static {
 		try {
 			final Path vertigoTmpDir = Paths.get(System.getProperty("java.io.tmpdir"), "/vertigo/tempFiles");
@@ -44,6 +50,8 @@ public final class TempFile extends File {
 		} catch (final IOException e) {
 			throw WrappedException.wrap(e);
 		}
+		//replaces deleteOnExit, whose list of files is never pruned
+		Runtime.getRuntime().addShutdownHook(new Thread(REGISTRY::deleteAll, "vertigo-tempfiles-cleaner"));
 	}
 
 	/**
@@ -55,7 +63,7 @@ public final class TempFile extends File {
 	 */
 	public TempFile(final String prefix, final String suffix, final String subDirectory) throws IOException {
 		super(Files.createTempFile(Files.createDirectories(VERTIGO_TMP_DIR_PATH.resolve(subDirectory)), prefix, suffix).toAbsolutePath().toString());
-		deleteOnExit();
+		REGISTRY.register(toPath());
 	}
 
 	/**
@@ -66,11 +74,11 @@ public final class TempFile extends File {
 	 */
 	public TempFile(final String prefix, final String suffix) throws IOException {
 		super(Files.createTempFile(Files.createDirectories(VERTIGO_TMP_DIR_PATH), prefix, suffix).toAbsolutePath().toString());
-		deleteOnExit();
+		REGISTRY.register(toPath());
 	}
 
 	/**
 	 * We can't use finalize anymore, because we keep a nio.Path reference, so this TempFile ref will be GC anyway we use it in a VFile.
-	 * Purge is done by a fileManager's deamon.
+	 * Purge is done by a resourceManager's deamon, using the registry.
 	 */
 }
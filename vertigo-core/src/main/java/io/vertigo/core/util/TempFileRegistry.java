@@ -0,0 +1,239 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.vertigo.core.lang.Assertion;
+
+/**
+ * Registry of the temp files, indexed by their expiration.
+ *
+ * Files are stored in a timing wheel : a ring of buckets, one bucket per tick.
+ * A purge only visits the buckets of the elapsed ticks, so expired files are deleted without scanning the temp directory.
+ * A file modified after its registration is kept until it expires again (from its last modification).
+ *
+ * Only the files created by this JVM are deleted when it exits.
+ * The files found in the temp directory may be used by another JVM : they are only deleted when they expire.
+ */
+public final class TempFileRegistry {
+	private static final Logger LOG = LogManager.getLogger(TempFileRegistry.class);
+
+	private final long ttlMillis;
+	private final long tickMillis;
+	private final List<ArrayDeque<Entry>> buckets;
+	private volatile long lastPurgedTick;
+
+	//a file is registered only once
+	private final Set<Path> registeredPaths = ConcurrentHashMap.newKeySet();
+	private final LongAdder filesDeleted = new LongAdder();
+	private final LongAdder bytesFreed = new LongAdder();
+
+	private static final class Entry {
+		private final Path path;
+		private final long expirationMillis;
+		//created by this JVM
+		private final boolean owned;
+
+		Entry(final Path path, final long expirationMillis, final boolean owned) {
+			this.path = path;
+			this.expirationMillis = expirationMillis;
+			this.owned = owned;
+		}
+	}
+
+	/**
+	 * Constructor.
+	 * @param ttl the time to live of a file (since its last modification)
+	 * @param tick the precision of the expiration
+	 */
+	public TempFileRegistry(final Duration ttl, final Duration tick) {
+		Assertion.check()
+				.isNotNull(ttl)
+				.isNotNull(tick)
+				.isFalse(tick.isNegative() || tick.isZero(), "tick {0} must be > 0", tick)
+				.isTrue(ttl.compareTo(tick) >= 0, "ttl {0} must be >= tick {1}", ttl, tick);
+		//-----
+		ttlMillis = ttl.toMillis();
+		tickMillis = tick.toMillis();
+		//one more bucket than the ttl, so that a new file never falls in the bucket being purged
+		final int bucketCount = (int) (ttlMillis / tickMillis) + 2;
+		buckets = new ArrayList<>(bucketCount);
+		for (int i = 0; i < bucketCount; i++) {
+			buckets.add(new ArrayDeque<>());
+		}
+		lastPurgedTick = System.currentTimeMillis() / tickMillis;
+	}
+
+	/**
+	 * Registers a file created by this JVM, it expires after the ttl.
+	 * @param path the file
+	 */
+	public void register(final Path path) {
+		Assertion.check().isNotNull(path);
+		//-----
+		if (registeredPaths.add(path)) {
+			schedule(new Entry(path, System.currentTimeMillis() + ttlMillis, true));
+		}
+	}
+
+	/**
+	 * Registers a file found in the temp directory, it expires at a given time.
+	 * This file may be used by another JVM, so it's not deleted when this JVM exits.
+	 * A file already registered is ignored.
+	 * @param path the file
+	 * @param expirationMillis the expiration (in milliseconds since epoch)
+	 */
+	public void registerFound(final Path path, final long expirationMillis) {
+		Assertion.check().isNotNull(path);
+		//-----
+		if (registeredPaths.add(path)) {
+			schedule(new Entry(path, expirationMillis, false));
+		}
+	}
+
+	private void schedule(final Entry entry) {
+		// a file can't be added in a bucket already purged : it would wait a whole round of the wheel
+		final long tick = Math.max(ceilTick(entry.expirationMillis), lastPurgedTick + 1);
+		final ArrayDeque<Entry> bucket = buckets.get((int) Math.floorMod(tick, (long) buckets.size()));
+		synchronized (bucket) {
+			bucket.add(entry);
+		}
+	}
+
+	/**
+	 * Deletes the expired files.
+	 * Only the buckets of the ticks elapsed since the last purge are visited.
+	 * @return the number of deleted files
+	 */
+	public synchronized long purgeExpired() {
+		final long now = System.currentTimeMillis();
+		final long currentTick = now / tickMillis;
+		//after a long pause, each bucket is visited only once
+		final long firstTick = Math.max(lastPurgedTick + 1, currentTick - buckets.size() + 1);
+		long deleted = 0;
+		for (long tick = firstTick; tick <= currentTick; tick++) {
+			// new files are now registered after this tick
+			lastPurgedTick = tick;
+			for (final Entry entry : drain(buckets.get((int) Math.floorMod(tick, (long) buckets.size())))) {
+				if (purge(entry, now)) {
+					deleted++;
+				}
+			}
+		}
+		return deleted;
+	}
+
+	/**
+	 * Deletes all the files created by this JVM (expired or not).
+	 * The files found in the temp directory are only unregistered.
+	 * Used when the JVM exits.
+	 */
+	public void deleteAll() {
+		for (final ArrayDeque<Entry> bucket : buckets) {
+			for (final Entry entry : drain(bucket)) {
+				registeredPaths.remove(entry.path);
+				if (entry.owned) {
+					try {
+						Files.deleteIfExists(entry.path);
+					} catch (final IOException e) {
+						LOG.warn("temp file {} can't be deleted", entry.path, e);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the number of files waiting for their expiration
+	 */
+	public long getRegisteredFiles() {
+		return registeredPaths.size();
+	}
+
+	/**
+	 * @return the number of expired files deleted since the start
+	 */
+	public long getFilesDeleted() {
+		return filesDeleted.sum();
+	}
+
+	/**
+	 * @return the number of bytes freed by the expired files since the start
+	 */
+	public long getBytesFreed() {
+		return bytesFreed.sum();
+	}
+
+	private boolean purge(final Entry entry, final long now) {
+		if (entry.expirationMillis > now) {
+			//expires in a next round of the wheel
+			schedule(entry);
+			return false;
+		}
+		try {
+			final BasicFileAttributes attributes = Files.readAttributes(entry.path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+			final long expirationMillis = attributes.lastModifiedTime().toMillis() + ttlMillis;
+			if (expirationMillis > now) {
+				//the file has been modified : it's still in use
+				schedule(new Entry(entry.path, expirationMillis, entry.owned));
+				return false;
+			}
+			Files.delete(entry.path);
+			registeredPaths.remove(entry.path);
+			filesDeleted.increment();
+			bytesFreed.add(attributes.size());
+			return true;
+		} catch (final NoSuchFileException e) {
+			//already deleted
+			registeredPaths.remove(entry.path);
+			return false;
+		} catch (final IOException e) {
+			LOG.error("temp file {} can't be deleted, it will be retried later", entry.path, e);
+			schedule(new Entry(entry.path, now + ttlMillis, entry.owned));
+			return false;
+		}
+	}
+
+	private long ceilTick(final long millis) {
+		return (millis + tickMillis - 1) / tickMillis;
+	}
+
+	private static List<Entry> drain(final ArrayDeque<Entry> bucket) {
+		synchronized (bucket) {
+			final List<Entry> entries = new ArrayList<>(bucket);
+			bucket.clear();
+			return entries;
+		}
+	}
+}
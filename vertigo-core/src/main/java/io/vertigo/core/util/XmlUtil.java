@@ -17,28 +17,60 @@
  */
 package io.vertigo.core.util;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.SocketException;
 import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
 import javax.xml.transform.Source;
 import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
 
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
 
 import io.vertigo.core.lang.Assertion;
 import io.vertigo.core.lang.WrappedException;
 
 /**
  * XSD Validation.
+ * The compiled schemas are immutable and thread-safe : they are cached by the url of their XSD.
  * @author pchretien
  */
 public final class XmlUtil {
 
 	private static final String INTERNAL_XML_SCHEMA_FACTORY = "com.sun.org.apache.xerces.internal.jaxp.validation.XMLSchemaFactory";
+	private static final Map<String, Schema> SCHEMAS = new ConcurrentHashMap<>();
+	//the validation errors are not ignored
+	private static final ErrorHandler STRICT_ERROR_HANDLER = new ErrorHandler() {
+		@Override
+		public void warning(final SAXParseException exception) {
+			//warnings are ignored
+		}
+
+		@Override
+		public void error(final SAXParseException exception) throws SAXException {
+			throw exception;
+		}
+
+		@Override
+		public void fatalError(final SAXParseException exception) throws SAXException {
+			throw exception;
+		}
+	};
 
 	/**
 	 * Constructor.
@@ -47,6 +79,28 @@ public final class XmlUtil {
 		//private constructor
 	}
 
+	/**
+	 * Returns the compiled schema of a XSD : a schema is compiled once.
+	 * @param xsd XSD
+	 * @return the compiled schema
+	 */
+	public static Schema getSchema(final URL xsd) {
+		Assertion.check().isNotNull(xsd);
+		//---
+		//the key is not the url : URL.equals may resolve the host
+		return SCHEMAS.computeIfAbsent(xsd.toExternalForm(), key -> compileSchema(xsd));
+	}
+
+	private static Schema compileSchema(final URL xsd) {
+		final SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI, INTERNAL_XML_SCHEMA_FACTORY, Thread.currentThread().getContextClassLoader());
+		try {
+			schemaFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+			return schemaFactory.newSchema(xsd);
+		} catch (final SAXException e) {
+			throw WrappedException.wrap(e, "the XSD '{0}' can't be compiled", xsd);
+		}
+	}
+
 	/**
 	 * Util to validate XML with a XSD.
 	 * @param xsd XSD
@@ -57,15 +111,11 @@ public final class XmlUtil {
 				.isNotNull(xml)
 				.isNotNull(xsd);
 		//---
-		final SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI, INTERNAL_XML_SCHEMA_FACTORY, Thread.currentThread().getContextClassLoader());
-		try {
-			schemaFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-			final Validator validator = schemaFactory
-					.newSchema(xsd)
-					.newValidator();
+		final Validator validator = getSchema(xsd).newValidator();
+		try (final InputStream input = xml.openStream()) {
 			validator.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
 			validator.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
-			final Source source = new StreamSource(xml.openStream());
+			final Source source = new StreamSource(input);
 			validate(xml, validator, source);
 		} catch (final SocketException e) {
 			throw WrappedException.wrap(e, "'{0}' may refer an DTD, you should removed <!DOCTYPE header tag", xml);
@@ -81,4 +131,44 @@ public final class XmlUtil {
 			throw WrappedException.wrap(e, "'{0}' is not valid", xml);
 		}
 	}
+
+	/**
+	 * Util to parse a XML and validate it with a XSD in a single pass.
+	 * The handler receives the content while the XML is validated : the parsing stops at the first validation error.
+	 * @param xml XML to parse
+	 * @param xsd XSD
+	 * @param handler the handler of the content
+	 */
+	public static void parseXmlByXsd(final URL xml, final URL xsd, final DefaultHandler handler) {
+		Assertion.check()
+				.isNotNull(xml)
+				.isNotNull(xsd)
+				.isNotNull(handler);
+		//---
+		try (final InputStream input = new BufferedInputStream(xml.openStream())) {
+			final SAXParserFactory factory = SAXParserFactory.newInstance();
+			factory.setNamespaceAware(true);
+			factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+			factory.setSchema(getSchema(xsd));
+			final SAXParser saxParser = factory.newSAXParser();
+			saxParser.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+			saxParser.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+			final XMLReader xmlReader = saxParser.getXMLReader();
+			xmlReader.setContentHandler(handler);
+			xmlReader.setErrorHandler(STRICT_ERROR_HANDLER);
+			parse(xml, xmlReader, new InputSource(input));
+		} catch (final SocketException e) {
+			throw WrappedException.wrap(e, "'{0}' may refer an DTD, you should removed <!DOCTYPE header tag", xml);
+		} catch (final SAXException | ParserConfigurationException | IOException e) {
+			throw WrappedException.wrap(e, "'{0}' can't be parsed", xml);
+		}
+	}
+
+	private static void parse(final URL xml, final XMLReader xmlReader, final InputSource inputSource) throws IOException {
+		try {
+			xmlReader.parse(inputSource);
+		} catch (final SAXException e) {
+			throw WrappedException.wrap(e, "'{0}' is not valid", xml);
+		}
+	}
 }
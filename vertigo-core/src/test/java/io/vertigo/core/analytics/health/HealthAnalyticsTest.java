@@ -64,6 +64,8 @@ public class HealthAnalyticsTest extends AbstractTestCaseJU5 {
 		//---
 		Assertions.assertEquals(1, successHealthChecks.size());
 		Assertions.assertEquals(HealthStatus.GREEN, successHealthChecks.get(0).getMeasure().getStatus());
+		//the module of the checker
+		Assertions.assertEquals("checkers", successHealthChecks.get(0).getModule());
 	}
 
 	@Test
@@ -55,6 +55,6 @@ public final class MetricAnalyticsTest extends AbstractTestCaseJU5 {
 	public void testAnalyze() {
 		final List<Metric> metrics = analyticsManager.getMetrics();
 		//---
-		Assertions.assertEquals(4, metrics.size()); //1 from DummyMetricsProvider + 3 from SystemMetricsProvider
+		Assertions.assertEquals(8, metrics.size()); //1 from DummyMetricsProvider + 3 from SystemMetricsProvider + 4 from ResourceManager (temp files purge)
 	}
 }
@@ -18,10 +18,14 @@
 package io.vertigo.core.daemon;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
+
 import javax.inject.Inject;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import io.vertigo.core.AbstractTestCaseJU5;
@@ -89,4 +93,68 @@ public final class DaemonManagerTest extends AbstractTestCaseJU5 {
 
 	}
 
+	@Test
+	public void testPauseAndTrigger() throws Exception {
+		daemonManager.pause(FakeComponent.SIMPLE_DAEMON_NAME);
+		assertEquals(DaemonStat.Status.paused, getSimpleDaemonStat().getStatus());
+		// -----
+		Thread.sleep(3000); //paused : no exec
+		assertEquals(0, getSimpleDaemonStat().getCount());
+		// -----
+		daemonManager.trigger(FakeComponent.SIMPLE_DAEMON_NAME);
+		Thread.sleep(500); //triggered : one exec even if paused
+		assertEquals(1, getSimpleDaemonStat().getCount());
+		assertEquals(DaemonStat.Status.paused, getSimpleDaemonStat().getStatus());
+		// -----
+		daemonManager.resume(FakeComponent.SIMPLE_DAEMON_NAME);
+		assertEquals(DaemonStat.Status.pending, getSimpleDaemonStat().getStatus());
+		Thread.sleep(3000); //resumed : one exec after the period
+		assertEquals(2, getSimpleDaemonStat().getCount());
+	}
+
+	@Test
+	public void testConcurrentTriggers() throws Exception {
+		final Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < 200; j++) {
+					daemonManager.trigger(FakeComponent.TRIGGERED_DAEMON_NAME);
+				}
+			});
+			threads[i].start();
+		}
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+		Thread.sleep(500);
+		// -----
+		assertTrue(daemonManager.getExecutions(FakeComponent.TRIGGERED_DAEMON_NAME).size() > 0);
+		assertEquals(1, fakeComponent.getMaxConcurrentTriggeredExecutions());
+	}
+
+	@Test
+	public void testExecutions() throws Exception {
+		assertTrue(daemonManager.getExecutions(FakeComponent.SIMPLE_DAEMON_NAME).isEmpty());
+		// -----
+		Thread.sleep(5000); //soit deux execs
+
+		final List<DaemonExecution> executions = daemonManager.getExecutions(FakeComponent.SIMPLE_DAEMON_NAME);
+		assertEquals(2, executions.size());
+		assertFalse(executions.get(0).isSuccess());
+		assertEquals(IllegalStateException.class.getName(), executions.get(0).getExceptionClassName().get());
+		assertTrue(executions.get(1).isSuccess());
+		assertTrue(executions.get(1).getExceptionClassName().isEmpty());
+		assertTrue(executions.get(0).getStart().isBefore(executions.get(1).getStart()));
+	}
+
+	@Test
+	public void testUnknownDaemon() {
+		Assertions.assertThrows(IllegalStateException.class, () -> daemonManager.trigger("DmnUnknown"));
+	}
+
+	private DaemonStat getSimpleDaemonStat() {
+		return daemonManager.getStats().stream()
+				.filter(stat -> FakeComponent.SIMPLE_DAEMON_NAME.equals(stat.getDaemonName()))
+				.findFirst().get();
+	}
 }
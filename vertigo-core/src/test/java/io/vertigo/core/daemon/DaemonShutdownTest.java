@@ -0,0 +1,59 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.daemon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertigo.core.node.AutoCloseableNode;
+import io.vertigo.core.node.config.BootConfig;
+import io.vertigo.core.node.config.ModuleConfig;
+import io.vertigo.core.node.config.NodeConfig;
+
+public final class DaemonShutdownTest {
+
+	@Test
+	public void testBoundedShutdown() throws Exception {
+		final NodeConfig nodeConfig = NodeConfig.builder()
+				.withBoot(BootConfig.builder()
+						.withDaemonsShutdownGracePeriod(1)
+						.build())
+				.addModule(ModuleConfig.builder("myApp")
+						.addComponent(SlowComponent.class)
+						.build())
+				.build();
+		final SlowComponent slowComponent;
+		final long stopStart;
+		try (AutoCloseableNode node = new AutoCloseableNode(nodeConfig)) {
+			slowComponent = node.getComponentSpace().resolve(SlowComponent.class);
+			final DaemonManager daemonManager = node.getComponentSpace().resolve(DaemonManager.class);
+			Thread.sleep(1500); //both daemons are running
+			final List<DaemonStat> daemonStats = daemonManager.getStats();
+			assertEquals(2, daemonStats.stream().filter(daemonStat -> daemonStat.getStatus() == DaemonStat.Status.running).count());
+			stopStart = System.currentTimeMillis();
+		}
+		final long stopDuration = System.currentTimeMillis() - stopStart;
+		assertTrue(stopDuration < 5000, "stop must be bounded by the grace period, but took " + stopDuration + "ms");
+		assertTrue(slowComponent.isCancelled(), "cooperative daemon must see the cancellation");
+		assertTrue(slowComponent.isInterrupted(), "stuck daemon must be interrupted");
+	}
+}
@@ -17,13 +17,18 @@
  */
 package io.vertigo.core.daemon;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import io.vertigo.core.node.component.Component;
 
 @DaemonFakeAspectAnnotation
 public class FakeComponent implements Component {
 
 	static final String SIMPLE_DAEMON_NAME = "DmnSimple";
+	static final String TRIGGERED_DAEMON_NAME = "DmnTriggered";
 	private int executions = 0;
+	private final AtomicInteger runningTriggered = new AtomicInteger();
+	private final AtomicInteger maxRunningTriggered = new AtomicInteger();
 
 	public int getExecutionCount() {
 		return executions;
@@ -37,4 +42,17 @@ public class FakeComponent implements Component {
 		}
 	}
 
+	public int getMaxConcurrentTriggeredExecutions() {
+		return maxRunningTriggered.get();
+	}
+
+	@DaemonScheduled(name = TRIGGERED_DAEMON_NAME, periodInSeconds = 3600)
+	public void executeTriggered() throws InterruptedException {
+		maxRunningTriggered.accumulateAndGet(runningTriggered.incrementAndGet(), Math::max);
+		try {
+			Thread.sleep(5);
+		} finally {
+			runningTriggered.decrementAndGet();
+		}
+	}
 }
@@ -0,0 +1,56 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.daemon;
+
+import io.vertigo.core.node.component.Component;
+
+public class SlowComponent implements Component {
+
+	static final String COOPERATIVE_DAEMON_NAME = "DmnCooperative";
+	static final String STUCK_DAEMON_NAME = "DmnStuck";
+
+	private volatile boolean cancelled;
+	private volatile boolean interrupted;
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	public boolean isInterrupted() {
+		return interrupted;
+	}
+
+	@DaemonScheduled(name = COOPERATIVE_DAEMON_NAME, periodInSeconds = 1, analytics = false)
+	public void cooperate(final DaemonCancellationToken cancellationToken) throws InterruptedException {
+		while (!cancellationToken.isCancellationRequested()) {
+			Thread.sleep(10);
+		}
+		cancelled = true;
+	}
+
+	@DaemonScheduled(name = STUCK_DAEMON_NAME, periodInSeconds = 1, analytics = false)
+	public void stuck() {
+		try {
+			Thread.sleep(60 * 1000L);
+		} catch (final InterruptedException e) {
+			interrupted = true;
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -20,13 +20,30 @@ package io.vertigo.core.node.component;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import io.vertigo.core.lang.VSystemException;
 import io.vertigo.core.node.AutoCloseableNode;
 import io.vertigo.core.node.Node;
 import io.vertigo.core.node.component.data.BioManager;
 import io.vertigo.core.node.component.data.BioManagerImpl;
+import io.vertigo.core.node.component.data.ContextClassLoaderComponent;
+import io.vertigo.core.node.component.data.LazyDaemonComponent;
+import io.vertigo.core.node.component.data.LazyDefinitionProviderComponent;
+import io.vertigo.core.node.component.data.LazyManager;
+import io.vertigo.core.node.component.data.LazyManagerImpl;
 import io.vertigo.core.node.component.data.MathManager;
 import io.vertigo.core.node.component.data.MathManagerImpl;
 import io.vertigo.core.node.component.data.SimpleDummyPlugin;
@@ -36,7 +53,11 @@ import io.vertigo.core.node.component.data.SomeManager;
 import io.vertigo.core.node.component.data.SomeMonoConnectorPlugin;
 import io.vertigo.core.node.component.data.SomeMultiConnectorPlugin;
 import io.vertigo.core.node.component.data.SomeOptionalPlugin;
+import io.vertigo.core.node.component.data.StartedManager;
+import io.vertigo.core.node.component.data.StartedManagerImpl;
+import io.vertigo.core.node.component.data.StartedManagerUser;
 import io.vertigo.core.node.config.BootConfig;
+import io.vertigo.core.node.config.BootConfigBuilder;
 import io.vertigo.core.node.config.LogConfig;
 import io.vertigo.core.node.config.ModuleConfig;
 import io.vertigo.core.node.config.NodeConfig;
@@ -67,6 +88,181 @@ public final class ComponentSpaceTest {
 		}
 	}
 
+	@Test
+	public void testParallelBoot() {
+		final List<String> sequentialIds;
+		try (AutoCloseableNode node = new AutoCloseableNode(buildBioNodeConfig(BootConfig.builder()))) {
+			sequentialIds = new ArrayList<>(node.getComponentSpace().keySet());
+		}
+		try (AutoCloseableNode node = new AutoCloseableNode(buildBioNodeConfig(BootConfig.builder().withParallelBoot()))) {
+			//the Bio components depend on each other : there is one component by level, so they are registered in the same order
+			assertEquals(sequentialIds, new ArrayList<>(node.getComponentSpace().keySet()));
+			final BioManager bioManager = node.getComponentSpace().resolve(BioManager.class);
+			assertEquals(366, bioManager.add(1, 2, 3));
+			assertTrue(bioManager.isActive());
+		}
+	}
+
+	@Test
+	public void testParallelBootOrder() {
+		final List<String> ids = List.of("startedManager", "startedManagerUser", "contextClassLoaderComponent");
+		final StartedManagerUser sequentialUser;
+		try (AutoCloseableNode node = new AutoCloseableNode(buildOrderNodeConfig(BootConfig.builder()))) {
+			assertEquals(ids, getIds(node, ids));
+			sequentialUser = node.getComponentSpace().resolve(StartedManagerUser.class);
+		}
+		assertTrue(sequentialUser.isStartedAfterDependency());
+		assertTrue(sequentialUser.isStoppedBeforeDependency());
+		//the components are registered level by level : contextClassLoaderComponent is independent, it's in the first level with startedManager
+		final StartedManagerUser parallelUser;
+		try (AutoCloseableNode node = new AutoCloseableNode(buildOrderNodeConfig(BootConfig.builder().withParallelBoot()))) {
+			assertEquals(List.of("startedManager", "contextClassLoaderComponent", "startedManagerUser"), getIds(node, ids));
+			parallelUser = node.getComponentSpace().resolve(StartedManagerUser.class);
+		}
+		//a component is still started after its dependencies and stopped before them
+		assertTrue(parallelUser.isStartedAfterDependency());
+		assertTrue(parallelUser.isStoppedBeforeDependency());
+	}
+
+	@Test
+	public void testParallelBootContextClassLoader() throws IOException {
+		final Thread thread = Thread.currentThread();
+		final ClassLoader previousClassLoader = thread.getContextClassLoader();
+		//a class loader of an application server
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[0], previousClassLoader)) {
+			thread.setContextClassLoader(classLoader);
+			//contextClassLoaderComponent and startedManager are independent : they are created and started concurrently
+			try (AutoCloseableNode node = new AutoCloseableNode(buildOrderNodeConfig(BootConfig.builder().withParallelBoot()))) {
+				final ContextClassLoaderComponent component = node.getComponentSpace().resolve(ContextClassLoaderComponent.class);
+				Assertions.assertSame(classLoader, component.getCreationClassLoader());
+				Assertions.assertSame(classLoader, component.getStartClassLoader());
+			} finally {
+				thread.setContextClassLoader(previousClassLoader);
+			}
+		}
+	}
+
+	private static NodeConfig buildOrderNodeConfig(final BootConfigBuilder bootConfigBuilder) {
+		return NodeConfig.builder()
+				.withBoot(bootConfigBuilder
+						.withLogConfig(new LogConfig("/log4j.xml"))
+						.build())
+				.addModule(ModuleConfig.builder("Order")
+						.addComponent(StartedManager.class, StartedManagerImpl.class)
+						.addComponent(StartedManagerUser.class)
+						.addComponent(ContextClassLoaderComponent.class)
+						.build())
+				.build();
+	}
+
+	private static List<String> getIds(final AutoCloseableNode node, final List<String> ids) {
+		return node.getComponentSpace().keySet()
+				.stream()
+				.filter(ids::contains)
+				.collect(Collectors.toList());
+	}
+
+	@Test
+	public void testLazy() throws InterruptedException, ExecutionException {
+		final NodeConfig nodeConfig = NodeConfig.builder()
+				.withBoot(BootConfig.builder()
+						.withLogConfig(new LogConfig("/log4j.xml"))
+						.build())
+				.addModule(ModuleConfig.builder("Lazy")
+						.addComponent(MathManager.class, MathManagerImpl.class,
+								Param.of("start", "100"))
+						.addPlugin(SimpleMathPlugin.class,
+								Param.of("factor", "20"))
+						.addComponent(LazyManager.class, LazyManagerImpl.class)
+						//This plugin is only used by the lazy component
+						.addPlugin(SimpleDummyPlugin.class)
+						.build())
+				.build();
+		final int creations = LazyManagerImpl.CREATIONS.get();
+		try (AutoCloseableNode node = new AutoCloseableNode(nodeConfig)) {
+			//the lazy component is not created at boot
+			assertTrue(node.getComponentSpace().isLazy("lazyManager"));
+			assertEquals(creations, LazyManagerImpl.CREATIONS.get());
+			//it's created and started once, on its first use
+			final ExecutorService executorService = Executors.newFixedThreadPool(4);
+			try {
+				final List<Future<LazyManager>> futures = new ArrayList<>();
+				for (int i = 0; i < 20; i++) {
+					futures.add(executorService.submit(() -> node.getComponentSpace().resolve(LazyManager.class)));
+				}
+				final LazyManager lazyManager = node.getComponentSpace().resolve(LazyManager.class);
+				for (final Future<LazyManager> future : futures) {
+					Assertions.assertSame(lazyManager, future.get());
+				}
+				assertEquals(creations + 1, LazyManagerImpl.CREATIONS.get());
+				assertTrue(lazyManager.isStarted());
+				assertEquals(100 + 20 + 10 + 8, lazyManager.add(10, 8));
+			} finally {
+				executorService.shutdown();
+			}
+		}
+	}
+
+	@Test
+	public void testLazyScannedComponents() {
+		for (final Class<? extends Component> lazyComponentClass : List.of(LazyDaemonComponent.class, LazyDefinitionProviderComponent.class)) {
+			final NodeConfig nodeConfig = NodeConfig.builder()
+					.addModule(ModuleConfig.builder("Lazy")
+							.addComponent(lazyComponentClass)
+							.build())
+					.build();
+			//the daemons and the definitions of a lazy component would be ignored : the boot fails
+			final IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class, () -> new AutoCloseableNode(nodeConfig));
+			assertTrue(exception.getCause() instanceof VSystemException);
+			assertTrue(exception.getCause().getMessage().contains("lazy component"));
+		}
+	}
+
+	@Test
+	public void testConcurrentResolve() throws InterruptedException, ExecutionException {
+		try (AutoCloseableNode node = new AutoCloseableNode(buildBioNodeConfig(BootConfig.builder()))) {
+			final ComponentSpace componentSpace = node.getComponentSpace();
+			final BioManager bioManager = componentSpace.resolve(BioManager.class);
+			final ExecutorService executorService = Executors.newFixedThreadPool(8);
+			try {
+				final List<Future<Boolean>> futures = new ArrayList<>();
+				for (int i = 0; i < 8; i++) {
+					futures.add(executorService.submit(() -> {
+						boolean same = true;
+						for (int j = 0; j < 100_000; j++) {
+							same &= bioManager == componentSpace.resolve(BioManager.class)
+									&& bioManager == componentSpace.resolve("bioManager", BioManager.class)
+									&& bioManager == componentSpace.resolve("BioManager", BioManager.class);
+						}
+						return same;
+					}));
+				}
+				for (final Future<Boolean> future : futures) {
+					assertTrue(future.get());
+				}
+			} finally {
+				executorService.shutdown();
+			}
+			assertTrue(componentSpace.contains("BioManager"));
+			Assertions.assertFalse(componentSpace.contains("unknownManager"));
+		}
+	}
+
+	private static NodeConfig buildBioNodeConfig(final BootConfigBuilder bootConfigBuilder) {
+		return NodeConfig.builder()
+				.withBoot(bootConfigBuilder
+						.withLogConfig(new LogConfig("/log4j.xml"))
+						.build())
+				.addModule(ModuleConfig.builder("Bio")
+						.addComponent(BioManager.class, BioManagerImpl.class)
+						.addComponent(MathManager.class, MathManagerImpl.class,
+								Param.of("start", "100"))
+						.addPlugin(SimpleMathPlugin.class,
+								Param.of("factor", "20"))
+						.build())
+				.build();
+	}
+
 	@Test
 	public void testHome2() {
 		final NodeConfig nodeConfig = NodeConfig.builder()
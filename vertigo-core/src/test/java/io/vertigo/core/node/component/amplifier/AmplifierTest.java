@@ -18,6 +18,10 @@
 package io.vertigo.core.node.component.amplifier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.lang.reflect.Proxy;
 
 import javax.inject.Inject;
 
@@ -28,6 +32,7 @@ import org.junit.jupiter.api.Test;
 import io.vertigo.core.node.AutoCloseableNode;
 import io.vertigo.core.node.component.amplifier.data.Aggregate;
 import io.vertigo.core.node.component.amplifier.data.AggregatorProxyMethod;
+import io.vertigo.core.node.component.amplifier.data.ExtendedAggregate;
 import io.vertigo.core.node.component.di.DIInjector;
 import io.vertigo.core.node.config.ModuleConfig;
 import io.vertigo.core.node.config.NodeConfig;
@@ -36,6 +41,8 @@ public class AmplifierTest {
 
 	@Inject
 	private Aggregate aggregatea;
+	@Inject
+	private ExtendedAggregate extendedAggregate;
 
 	private AutoCloseableNode node;
 
@@ -59,6 +66,7 @@ public class AmplifierTest {
 						.build())
 				.addModule(ModuleConfig.builder("components")
 						.addAmplifier(Aggregate.class)
+						.addAmplifier(ExtendedAggregate.class)
 						.build())
 				.build();
 	}
@@ -83,4 +91,18 @@ public class AmplifierTest {
 		assertEquals(2, aggregatea.count(10, 55));
 		assertEquals(1, aggregatea.count(55));
 	}
+
+	@Test
+	public final void testGeneratedClass() {
+		//the amplifier is a generated class, not a java proxy
+		assertFalse(Proxy.isProxyClass(aggregatea.getClass()));
+		assertNotNull(aggregatea.toString());
+	}
+
+	@Test
+	public final void testInheritedMethods() {
+		assertEquals(55, extendedAggregate.max(12, 10, 55));
+		//an inherited default method is routed to the proxy method
+		assertEquals(55, extendedAggregate.defaultMax(10, 55));
+	}
 }
@@ -0,0 +1,30 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.component.amplifier.data;
+
+/**
+ * Example of an interface with a default method, inherited by an amplifier.
+ */
+public interface DefaultAggregate {
+
+	@AggregatorAnnotation(operation = AggregatorOperation.max)
+	default int defaultMax(final int a, final int b) {
+		//the amplifier routes the default methods to the proxy method, like the abstract ones
+		return -1;
+	}
+}
@@ -0,0 +1,69 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.component.aop;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertigo.core.node.component.aop.data.aspects.OneMore;
+import io.vertigo.core.node.component.aop.data.aspects.OneMoreAspect;
+import io.vertigo.core.node.component.aop.data.aspects.TenMoreAspect;
+import io.vertigo.core.node.component.aop.data.components.ComputerImpl;
+
+public final class AspectChainTest {
+
+	@Test
+	public void testNoAspect() throws NoSuchMethodException {
+		final Method method = ComputerImpl.class.getMethod("no", int.class);
+		final AspectChain aspectChain = AspectChain.of(method, List.of(), args -> args[0]);
+		assertEquals(66, aspectChain.invoke(new Object[] { 66 }));
+	}
+
+	@Test
+	public void testAspects() throws NoSuchMethodException {
+		final Method method = ComputerImpl.class.getMethod("multi", int.class, int.class);
+		final AspectChain aspectChain = AspectChain.of(method, List.of(new TenMoreAspect(), new OneMoreAspect()), args -> (Integer) args[0] * (Integer) args[1]);
+		assertEquals(17, aspectChain.invoke(new Object[] { 2, 3 }));
+		//the chain is immutable : it can be invoked again
+		assertEquals(31, aspectChain.invoke(new Object[] { 4, 5 }));
+	}
+
+	@Test
+	public void testReentrantAspect() throws NoSuchMethodException {
+		final Method method = ComputerImpl.class.getMethod("no", int.class);
+		final Aspect twiceAspect = new Aspect() {
+			@Override
+			public Object invoke(final Object[] args, final AspectMethodInvocation methodInvocation) {
+				assertEquals(method, methodInvocation.getMethod());
+				//the next aspects are applied on each call to proceed
+				return (Integer) methodInvocation.proceed(args) + (Integer) methodInvocation.proceed(args);
+			}
+
+			@Override
+			public Class<OneMore> getAnnotationType() {
+				return OneMore.class;
+			}
+		};
+		final AspectChain aspectChain = AspectChain.of(method, List.of(twiceAspect, new OneMoreAspect()), args -> args[0]);
+		assertEquals(22, aspectChain.invoke(new Object[] { 10 }));
+	}
+}
@@ -22,6 +22,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
+import java.util.Map;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -107,6 +110,19 @@ public final class AspectTest extends AbstractTestCaseJU5 {
 
 	}
 
+	@Test
+	public final void testProxyClassReused() throws NoSuchMethodException {
+		final AopPlugin aopPlugin = getApp().getNodeConfig().getBootConfig().getAopPlugin();
+		final Computer comp = getApp().getComponentSpace().resolve(Computer.class);
+		//the proxy class generated for ComputerImpl is reused for another instance
+		final Computer otherComp = aopPlugin.wrap(new ComputerImpl(), Map.of(
+				ComputerImpl.class.getMethod("sum", int.class, int.class), List.of(new OneMoreAspect()),
+				ComputerImpl.class.getMethod("multi", int.class, int.class), List.of(new TenMoreAspect(), new OneMoreAspect())));
+		assertEquals(comp.getClass(), otherComp.getClass());
+		assertEquals(6, otherComp.sum(2, 3));
+		assertEquals(66, otherComp.no(66));
+	}
+
 	@Override
 	protected void doAfterTearDown() {
 		if (a != null) {
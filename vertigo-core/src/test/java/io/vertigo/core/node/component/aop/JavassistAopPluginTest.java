@@ -0,0 +1,149 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.component.aop;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.vertigo.core.node.component.CoreComponent;
+import io.vertigo.core.node.component.aop.data.aspects.OneMore;
+import io.vertigo.core.node.component.aop.data.components.A;
+import io.vertigo.core.plugins.component.aop.javassist.JavassistAopPlugin;
+
+public final class JavassistAopPluginTest {
+	private static final Aspect PASS_THROUGH_ASPECT = new Aspect() {
+		@Override
+		public Object invoke(final Object[] args, final AspectMethodInvocation methodInvocation) {
+			return methodInvocation.proceed(args);
+		}
+
+		@Override
+		public Class<OneMore> getAnnotationType() {
+			return OneMore.class;
+		}
+	};
+
+	@Test
+	public void testProxyClassesWritten(@TempDir final Path proxyClassesDir) throws Exception {
+		final JavassistAopPlugin aopPlugin = new JavassistAopPlugin(proxyClassesDir);
+		//the component class is loaded by a new class loader, so its proxy class is not already generated by another test
+		final Class<?> aClass = new ComponentClassLoader(proxyClassesDir).loadClass(A.class.getName());
+		final CoreComponent a = (CoreComponent) aClass.getConstructor().newInstance();
+		final CoreComponent proxy = wrapStart(aopPlugin, a);
+		aClass.getMethod("start").invoke(proxy);
+		assertTrue((Boolean) aClass.getMethod("isInitialized").invoke(a));
+		assertSame(a, aopPlugin.unwrap(proxy));
+		//the generated proxy class has been written, it can be packaged to be loaded instead of being generated
+		final Path classFile = proxyClassesDir.resolve(proxy.getClass().getName().replace('.', '/') + ".class");
+		assertTrue(Files.exists(classFile));
+	}
+
+	@Test
+	public void testProxyClassesLoaded(@TempDir final Path proxyClassesDir) throws Exception {
+		//a first run writes the proxy class
+		final ComponentClassLoader firstClassLoader = new ComponentClassLoader(proxyClassesDir);
+		final CoreComponent firstProxy = wrapStart(new JavassistAopPlugin(proxyClassesDir), (CoreComponent) firstClassLoader.loadClass(A.class.getName()).getConstructor().newInstance());
+		assertTrue(firstClassLoader.proxyClassNames.isEmpty());
+		//-----
+		//a new run, with a new class loader : the component class and its proxy class are loaded again
+		final ComponentClassLoader classLoader = new ComponentClassLoader(proxyClassesDir);
+		final Class<?> aClass = classLoader.loadClass(A.class.getName());
+		final CoreComponent a = (CoreComponent) aClass.getConstructor().newInstance();
+		final CoreComponent proxy = wrapStart(new JavassistAopPlugin(), a);
+		//the proxy class has been loaded from the written class file, not generated
+		assertEquals(firstProxy.getClass().getName(), proxy.getClass().getName());
+		assertTrue(classLoader.proxyClassNames.contains(proxy.getClass().getName()));
+		assertSame(classLoader, proxy.getClass().getClassLoader());
+		assertFalse((Boolean) aClass.getMethod("isInitialized").invoke(a));
+		aClass.getMethod("start").invoke(proxy);
+		assertTrue((Boolean) aClass.getMethod("isInitialized").invoke(a));
+	}
+
+	private static CoreComponent wrapStart(final JavassistAopPlugin aopPlugin, final CoreComponent a) throws NoSuchMethodException {
+		return aopPlugin.wrap(a, Map.of(a.getClass().getMethod("start"), List.of(PASS_THROUGH_ASPECT)));
+	}
+
+	/*
+	 * Loads the component class A from the test classes and its proxy classes from a directory, the others classes are shared.
+	 */
+	private static final class ComponentClassLoader extends ClassLoader {
+		private final Path proxyClassesDir;
+		private final Set<String> proxyClassNames = new HashSet<>();
+
+		ComponentClassLoader(final Path proxyClassesDir) {
+			super(JavassistAopPluginTest.class.getClassLoader());
+			this.proxyClassesDir = proxyClassesDir;
+		}
+
+		@Override
+		protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+			if (!name.startsWith(A.class.getName())) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				final Class<?> loadedClass = findLoadedClass(name);
+				if (loadedClass != null) {
+					return loadedClass;
+				}
+				final byte[] bytecode;
+				if (name.equals(A.class.getName())) {
+					bytecode = readComponentClass();
+				} else {
+					final Path classFile = proxyClassesDir.resolve(name.replace('.', '/') + ".class");
+					if (!Files.exists(classFile)) {
+						throw new ClassNotFoundException(name);
+					}
+					bytecode = readProxyClass(classFile);
+					proxyClassNames.add(name);
+				}
+				return defineClass(name, bytecode, 0, bytecode.length);
+			}
+		}
+
+		private static byte[] readComponentClass() {
+			try (InputStream inputStream = A.class.getResourceAsStream(A.class.getSimpleName() + ".class")) {
+				return inputStream.readAllBytes();
+			} catch (final IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		private static byte[] readProxyClass(final Path classFile) {
+			try {
+				return Files.readAllBytes(classFile);
+			} catch (final IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+}
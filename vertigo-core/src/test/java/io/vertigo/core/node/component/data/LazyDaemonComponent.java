@@ -0,0 +1,34 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.component.data;
+
+import io.vertigo.core.daemon.DaemonScheduled;
+import io.vertigo.core.node.component.Component;
+import io.vertigo.core.node.component.Lazy;
+
+/**
+ * A lazy component can't have a daemon : it's not created at boot.
+ */
+@Lazy
+public final class LazyDaemonComponent implements Component {
+
+	@DaemonScheduled(name = "DmnLazy", periodInSeconds = 1)
+	public void execute() {
+		//nothing
+	}
+}
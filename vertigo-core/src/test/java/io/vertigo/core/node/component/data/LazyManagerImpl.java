@@ -0,0 +1,67 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.component.data;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+
+import io.vertigo.core.lang.Assertion;
+import io.vertigo.core.node.component.Activeable;
+import io.vertigo.core.node.component.Lazy;
+
+@Lazy
+public final class LazyManagerImpl implements LazyManager, Activeable {
+	public static final AtomicInteger CREATIONS = new AtomicInteger();
+	private final MathManager mathManager;
+	private final DummyPlugin dummyPlugin;
+	private boolean started;
+
+	@Inject
+	public LazyManagerImpl(final MathManager mathManager, final DummyPlugin dummyPlugin) {
+		Assertion.check()
+				.isNotNull(mathManager)
+				.isNotNull(dummyPlugin);
+		//-----
+		this.mathManager = mathManager;
+		this.dummyPlugin = dummyPlugin;
+		CREATIONS.incrementAndGet();
+	}
+
+	@Override
+	public void start() {
+		started = true;
+	}
+
+	@Override
+	public void stop() {
+		started = false;
+	}
+
+	@Override
+	public int add(final int a, final int b) {
+		Assertion.check().isTrue(dummyPlugin.timeMillis() > 0, "a plugin is required");
+		//-----
+		return mathManager.add(a, b);
+	}
+
+	@Override
+	public boolean isStarted() {
+		return started;
+	}
+}
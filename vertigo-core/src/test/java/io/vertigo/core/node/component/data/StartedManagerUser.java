@@ -0,0 +1,55 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.component.data;
+
+import javax.inject.Inject;
+
+import io.vertigo.core.node.component.Activeable;
+import io.vertigo.core.node.component.Component;
+
+/**
+ * Checks that its dependency is started before it and stopped after it.
+ */
+public final class StartedManagerUser implements Component, Activeable {
+	private final StartedManager startedManager;
+	private boolean startedAfterDependency;
+	private boolean stoppedBeforeDependency;
+
+	@Inject
+	public StartedManagerUser(final StartedManager startedManager) {
+		this.startedManager = startedManager;
+	}
+
+	@Override
+	public void start() {
+		startedAfterDependency = startedManager.isStarted();
+	}
+
+	@Override
+	public void stop() {
+		stoppedBeforeDependency = startedManager.isStarted();
+	}
+
+	public boolean isStartedAfterDependency() {
+		return startedAfterDependency;
+	}
+
+	public boolean isStoppedBeforeDependency() {
+		return stoppedBeforeDependency;
+	}
+}
@@ -196,4 +196,26 @@ public final class InjectorTest {
 		assertEquals("test3", f.getParam3().get());
 		assertFalse(f.getParam4().isPresent());
 	}
+
+	@Test
+	public void testInjectionPlan() {
+		//le plan d'injection est construit une seule fois par classe
+		final DIInjectionPlan<E> injectionPlan = DIInjectionPlan.of(E.class);
+		Assertions.assertSame(injectionPlan, DIInjectionPlan.of(E.class));
+		Assertions.assertSame(injectionPlan.getFieldInjections(), DIInjectionPlan.getFieldInjections(E.class));
+		//E(Optional<A>, List<P2>) + p3, Optional<B>, List<P>
+		assertEquals(2, injectionPlan.getConstructorDependencies().size());
+		assertEquals("a", injectionPlan.getConstructorDependencies().get(0).getName());
+		assertTrue(injectionPlan.getConstructorDependencies().get(0).isOptionnal());
+		assertEquals(3, injectionPlan.getFieldInjections().size());
+
+		//les instances créées avec le même plan sont indépendantes
+		final MyContainer container1 = new MyContainer();
+		container1.put("a", new A());
+		final MyContainer container2 = new MyContainer();
+		container2.put("a", new A());
+		final B b1 = DIInjector.newInstance(B.class, container1);
+		final B b2 = DIInjector.newInstance(B.class, container2);
+		Assertions.assertNotSame(b1.getA(), b2.getA());
+	}
 }
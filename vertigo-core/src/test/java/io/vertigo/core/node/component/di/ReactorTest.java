@@ -170,6 +170,44 @@ public final class ReactorTest {
 		assertEquals("b", list.get(0));
 	}
 
+	@Test
+	/** On teste la résolution d'un graphe volumineux */
+	public void testLargeGraph() {
+		final int nbPlugins = 5000;
+		final DIReactor reactor = new DIReactor()
+				.addComponent("e", E.class)
+				.addComponent("b", B.class);
+		for (int i = 1; i <= nbPlugins; i++) {
+			reactor.addComponent("p#" + i, P.class);
+		}
+		final List<String> list = reactor
+				.addComponent("p3", P3.class)
+				.addComponent("a", A.class)
+				.proceed();
+		assertEquals(nbPlugins + 4, list.size());
+		//les composants sans dépendances sont résolus dans l'ordre d'insertion
+		for (int i = 1; i <= nbPlugins; i++) {
+			assertEquals("p#" + i, list.get(i - 1));
+		}
+		//B dépend de A, E dépend de la liste des P et de option(B)
+		assertEquals(List.of("p3", "a", "b", "e"), list.subList(nbPlugins, nbPlugins + 4));
+	}
+
+	@Test
+	/** On teste les niveaux de dépendances */
+	public void testLevels() {
+		final Set<String> params = new HashSet<>();
+		params.add("param1");
+		params.add("param2");
+		final List<List<String>> levels = new DIReactor()
+				.addComponent("b", B.class)
+				.addComponent("a", A.class)
+				.addComponent("f", F.class, params)
+				.proceedByLevels();
+		//B et F dépendent de A, ils sont indépendants entre eux
+		assertEquals(List.of(List.of("a"), List.of("f", "b")), levels);
+	}
+
 	@Test
 	public void testDependencyMissing() {
 		Assertions.assertThrows(DIException.class,
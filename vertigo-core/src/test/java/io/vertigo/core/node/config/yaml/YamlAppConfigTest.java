@@ -18,9 +18,13 @@
 package io.vertigo.core.node.config.yaml;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 
@@ -75,6 +79,21 @@ public final class YamlAppConfigTest {
 		assertEquals("http://localhost/", nodeConfig.getEndPoint().get());
 	}
 
+	@Test
+	public void testFeatureMethodsCache() {
+		new YamlNodeConfigBuilder(new Properties())
+				.withFiles(getClass(), "bio-node.yaml")
+				.build();
+		final Map<String, Method> featureMethods = YamlNodeConfigBuilder.getFeatureMethods(YamlBioFeatures.class);
+		assertEquals(Set.of("bio", "math", "math.mock"), featureMethods.keySet());
+		//the features class is scanned once : the next configs share its methods
+		final NodeConfig nodeConfig = new YamlNodeConfigBuilder(new Properties())
+				.withFiles(getClass(), "bio-node.yaml")
+				.build();
+		assertSame(featureMethods, YamlNodeConfigBuilder.getFeatureMethods(YamlBioFeatures.class));
+		testBioManager(nodeConfig);
+	}
+
 	@Test
 	public void testActiveFlagsMainConfig() {
 		final Properties params = new Properties();
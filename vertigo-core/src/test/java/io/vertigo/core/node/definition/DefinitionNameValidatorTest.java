@@ -0,0 +1,78 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.definition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public final class DefinitionNameValidatorTest {
+
+	@Test
+	public void testSameAsRegex() {
+		final List<String> names = new ArrayList<>(List.of(
+				"", "A", "Ab", "Abc", "abc", "ABC", "1bc", "Ab1", "Ab_c", "Abé", "Abc$", "Abc$d", "Abc$de", "Abc$def", "Abc$Def",
+				"Abc$1ef", "Abc$def$ghi", "$abc", "Ab$cde", "Abc$de1", "Abc$$def", "Abc def", "AbÉc",
+				"A" + "b".repeat(60), "A" + "b".repeat(61), "Abc$d" + "e".repeat(60), "Abc$d" + "e".repeat(59)));
+		//random names built with the chars of the regex and a few others
+		final String chars = "AZaz09$_é";
+		final Random random = new Random(42);
+		for (int i = 0; i < 100_000; i++) {
+			final StringBuilder name = new StringBuilder();
+			final int length = random.nextInt(12);
+			for (int j = 0; j < length; j++) {
+				name.append(chars.charAt(random.nextInt(chars.length())));
+			}
+			names.add(name.toString());
+		}
+		for (final String name : names) {
+			assertEquals(Definition.REGEX_DEFINITION_NAME.matcher(name).matches(), DefinitionNameValidator.isValid(name), name);
+		}
+	}
+
+	@Test
+	public void testCreateDefinitions() {
+		final List<TestDefinition> definitions = new ArrayList<>();
+		for (int i = 0; i < 200_000; i++) {
+			definitions.add(new TestDefinition("TstDefinition" + i));
+		}
+		assertEquals("Definition199999", definitions.get(199_999).getLocalName());
+
+		assertThrows(IllegalStateException.class, () -> new TestDefinition("TstDef_inition"));
+		assertThrows(IllegalStateException.class, () -> new TestDefinition("Definition"));
+		assertThrows(NullPointerException.class, () -> new NoPrefixDefinition("TstDefinition"));
+	}
+
+	@DefinitionPrefix("Tst")
+	private static final class TestDefinition extends AbstractDefinition {
+		TestDefinition(final String name) {
+			super(name);
+		}
+	}
+
+	private static final class NoPrefixDefinition extends AbstractDefinition {
+		NoPrefixDefinition(final String name) {
+			super(name);
+		}
+	}
+}
@@ -0,0 +1,95 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.definition.loader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.vertigo.core.node.definition.AbstractDefinition;
+import io.vertigo.core.node.definition.Definition;
+import io.vertigo.core.node.definition.DefinitionPrefix;
+
+public final class DefinitionSpaceWritableTest {
+	private static final int NB_DEFINITIONS = 50_000;
+
+	@Test
+	public void testGetAllByType() {
+		final DefinitionSpaceWritable definitionSpace = new DefinitionSpaceWritable();
+		//registered in the reverse order of their names
+		for (int i = NB_DEFINITIONS / 2 - 1; i >= 0; i--) {
+			definitionSpace.registerDefinition(new AaaDefinition("AaaDefinition" + i));
+			definitionSpace.registerDefinition(new BbbDefinition("BbbDefinition" + i));
+		}
+		//during the boot phase the definitions are scanned
+		assertEquals(NB_DEFINITIONS / 2, definitionSpace.getAll(AaaDefinition.class).size());
+		definitionSpace.closeRegistration();
+
+		//concrete classes, abstract class and interfaces
+		assertEquals(NB_DEFINITIONS / 2, definitionSpace.getAll(AaaDefinition.class).size());
+		assertEquals(NB_DEFINITIONS / 2, definitionSpace.getAll(BbbDefinition.class).size());
+		assertEquals(NB_DEFINITIONS / 2, definitionSpace.getAll(SampleMarker.class).size());
+		assertEquals(NB_DEFINITIONS, definitionSpace.getAll(AbstractDefinition.class).size());
+		assertEquals(NB_DEFINITIONS, definitionSpace.getAll(Definition.class).size());
+		assertTrue(definitionSpace.getAll(UnusedDefinition.class).isEmpty());
+
+		//ordered by name
+		final List<String> names = definitionSpace.getAll(Definition.class)
+				.stream()
+				.map(Definition::getName)
+				.collect(Collectors.toList());
+		final List<String> sortedNames = new ArrayList<>(names);
+		sortedNames.sort(null);
+		assertEquals(sortedNames, names);
+
+		//the same immutable set is returned
+		final Set<AaaDefinition> aaaDefinitions = definitionSpace.getAll(AaaDefinition.class);
+		assertSame(aaaDefinitions, definitionSpace.getAll(AaaDefinition.class));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> aaaDefinitions.add(new AaaDefinition("AaaOther")));
+	}
+
+	interface SampleMarker extends Definition {
+		//
+	}
+
+	interface UnusedDefinition extends Definition {
+		//
+	}
+
+	@DefinitionPrefix("Aaa")
+	static final class AaaDefinition extends AbstractDefinition implements SampleMarker {
+		AaaDefinition(final String name) {
+			super(name);
+		}
+	}
+
+	@DefinitionPrefix("Bbb")
+	static final class BbbDefinition extends AbstractDefinition {
+		BbbDefinition(final String name) {
+			super(name);
+		}
+	}
+}
@@ -21,20 +21,26 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
 import io.vertigo.core.AbstractTestCaseJU5;
+import io.vertigo.core.node.config.BootConfig;
 import io.vertigo.core.node.config.DefinitionProviderConfig;
 import io.vertigo.core.node.config.ModuleConfig;
 import io.vertigo.core.node.config.NodeConfig;
 import io.vertigo.core.node.definition.AbstractDefinition;
+import io.vertigo.core.node.definition.Definition;
 import io.vertigo.core.node.definition.DefinitionPrefix;
 import io.vertigo.core.node.definition.DefinitionReference;
 import io.vertigo.core.node.definition.DefinitionSpace;
@@ -45,6 +51,9 @@ public final class DefinitionSpaceTest extends AbstractTestCaseJU5 {
 	@Override
 	protected NodeConfig buildNodeConfig() {
 		return NodeConfig.builder()
+				.withBoot(BootConfig.builder()
+						.withCompactDefinitionReferences()
+						.build())
 				.addModule(ModuleConfig.builder("test")
 						.addDefinitionProvider(DefinitionProviderConfig.builder(TestDefinitionprovider.class)
 								.addParam(Param.of("testParam", "testParamValue"))
@@ -57,7 +66,7 @@ public final class DefinitionSpaceTest extends AbstractTestCaseJU5 {
 	@Test
 	public void testRegister() throws IOException, ClassNotFoundException {
 		final DefinitionSpace definitionSpace = getApp().getDefinitionSpace();
-		assertEquals(3L, definitionSpace.getAllTypes().size(), "definitionSpace must contain three elements ");
+		assertEquals(4L, definitionSpace.getAllTypes().size(), "definitionSpace must contain four elements ");
 		assertEquals(1L, definitionSpace.getAll(SampleDefinition.class).size(), "definitionSpace[SampleDefinition.class] must contain one element ");
 
 		final SampleDefinition sampleDefinition = definitionSpace.resolve("SampleTheDefinition", SampleDefinition.class);
@@ -85,6 +94,58 @@ public final class DefinitionSpaceTest extends AbstractTestCaseJU5 {
 
 		assertNotSame(sampleDefinitionRef, definitionReference, "DefinitionReferences must be not strictly equals");
 		assertSame(sampleDefinition, definitionReference.get(), "Definitions must be strictly equals");
+		//the deserialized reference is the canonical one
+		assertSame(definitionSpace.getReference("SampleTheDefinition", SampleDefinition.class), definitionReference);
+	}
+
+	@Test
+	public void testCompactReferences() throws IOException, ClassNotFoundException {
+		final DefinitionSpace definitionSpace = getApp().getDefinitionSpace();
+		final SampleDefinition sampleDefinition = definitionSpace.resolve("SampleTheDefinition", SampleDefinition.class);
+		final DefinitionReference<SampleDefinition> canonicalReference = definitionSpace.getReference("SampleTheDefinition", SampleDefinition.class);
+		assertSame(sampleDefinition, canonicalReference.get());
+		assertSame(canonicalReference, definitionSpace.getReference("SampleTheDefinition", SampleDefinition.class));
+		//the compact id is the index of the definition, ordered by name
+		final int compactId = new ArrayList<>(definitionSpace.getAll(Definition.class)).indexOf(sampleDefinition);
+		assertSame(canonicalReference, definitionSpace.getReference(compactId));
+
+		//a single reference : the compact id is smaller than the name
+		assertTrue(serialize(canonicalReference).length < serialize(new DefinitionReference<>(sampleDefinition)).length, "compact reference must be smaller");
+		assertSame(canonicalReference, deserialize(serialize(new DefinitionReference<>(sampleDefinition))));
+		assertSame(canonicalReference, deserialize(serialize(canonicalReference)));
+
+		//a graph of 100k objects : a distinct reference for each one, or the shared canonical reference
+		final ArrayList<DefinitionReference<SampleDefinition>> distinctReferences = new ArrayList<>();
+		final ArrayList<DefinitionReference<SampleDefinition>> canonicalReferences = new ArrayList<>();
+		for (int i = 0; i < 100_000; i++) {
+			distinctReferences.add(new DefinitionReference<>(sampleDefinition));
+			canonicalReferences.add(definitionSpace.getReference("SampleTheDefinition", SampleDefinition.class));
+		}
+		final byte[] distinctSerialized = serialize(distinctReferences);
+		final byte[] canonicalSerialized = serialize(canonicalReferences);
+		assertTrue(canonicalSerialized.length < distinctSerialized.length, "shared references must be smaller");
+
+		for (final byte[] serialized : List.of(distinctSerialized, canonicalSerialized)) {
+			@SuppressWarnings("unchecked")
+			final List<DefinitionReference<SampleDefinition>> references = (List<DefinitionReference<SampleDefinition>>) deserialize(serialized);
+			assertEquals(100_000, references.size());
+			//all the deserialized references are the canonical one
+			assertTrue(references.stream().allMatch(reference -> reference == canonicalReference));
+		}
+	}
+
+	private static byte[] serialize(final Serializable object) throws IOException {
+		try (final ByteArrayOutputStream bos = new ByteArrayOutputStream(); final ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+			oos.writeObject(object);
+			oos.flush();
+			return bos.toByteArray();
+		}
+	}
+
+	private static Object deserialize(final byte[] serialized) throws IOException, ClassNotFoundException {
+		try (final ByteArrayInputStream bis = new ByteArrayInputStream(serialized); final ObjectInputStream ios = new ObjectInputStream(bis)) {
+			return ios.readObject();
+		}
 	}
 
 	@DefinitionPrefix(SampleDefinition.PREFIX)
@@ -0,0 +1,253 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.definitions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.vertigo.core.node.AutoCloseableNode;
+import io.vertigo.core.node.config.BootConfig;
+import io.vertigo.core.node.config.BootConfigBuilder;
+import io.vertigo.core.node.config.DefinitionProviderConfig;
+import io.vertigo.core.node.config.DefinitionResourceConfig;
+import io.vertigo.core.node.config.ModuleConfig;
+import io.vertigo.core.node.config.NodeConfig;
+import io.vertigo.core.node.definition.AbstractDefinition;
+import io.vertigo.core.node.definition.Definition;
+import io.vertigo.core.node.definition.DefinitionPrefix;
+import io.vertigo.core.node.definition.DefinitionReference;
+import io.vertigo.core.node.definition.DefinitionSpace;
+import io.vertigo.core.node.definition.SimpleDefinitionProvider;
+import io.vertigo.core.param.Param;
+import io.vertigo.core.param.ParamValue;
+import io.vertigo.core.plugins.resource.local.LocalResourceResolverPlugin;
+
+public final class HotReloadTest {
+
+	private static NodeConfig buildNodeConfig(final Path modelFile) {
+		return buildNodeConfig(modelFile, BootConfig.builder());
+	}
+
+	private static NodeConfig buildNodeConfig(final Path modelFile, final BootConfigBuilder bootConfigBuilder) {
+		return NodeConfig.builder()
+				.withBoot(bootConfigBuilder
+						.withHotReload()
+						.addPlugin(LocalResourceResolverPlugin.class)
+						.build())
+				.addModule(ModuleConfig.builder("hotReload")
+						//declared before the changed resource : kept
+						.addDefinitionProvider(DefinitionProviderConfig.builder(NamedDefinitionProvider.class)
+								.addParam(Param.of("name", "Static"))
+								.build())
+						.addDefinitionProvider(DefinitionProviderConfig.builder(FileDefinitionProvider.class)
+								.addDefinitionResource("text", modelFile.toString())
+								.build())
+						//declared after the changed resource : reloaded
+						.addDefinitionProvider(DefinitionProviderConfig.builder(CountingDefinitionProvider.class)
+								.build())
+						.build())
+				.build();
+	}
+
+	@Test
+	public void testReload(@TempDir final Path modelDir) throws IOException {
+		final Path modelFile = modelDir.resolve("model.txt");
+		Files.write(modelFile, List.of("Alpha", "Beta"));
+		try (AutoCloseableNode node = new AutoCloseableNode(buildNodeConfig(modelFile))) {
+			final DefinitionSpace definitionSpace = node.getDefinitionSpace();
+			final DefinitionSpace snapshot = definitionSpace.getSnapshot();
+			final HotReloadDefinition staticDefinition = definitionSpace.resolve("HrStatic", HotReloadDefinition.class);
+			assertEquals(1, definitionSpace.getVersion());
+			assertEquals(List.of("HrAlpha", "HrBeta", "HrCount3", "HrStatic"), getNames(definitionSpace));
+
+			Files.write(modelFile, List.of("Alpha", "Gamma", "Delta"));
+			assertTrue(node.reloadDefinitions(Set.of(modelFile.toString())));
+			assertEquals(2, definitionSpace.getVersion());
+			assertEquals(List.of("HrAlpha", "HrCount4", "HrDelta", "HrGamma", "HrStatic"), getNames(definitionSpace));
+			//the definitions of the previous providers are kept, the other ones are new
+			assertSame(staticDefinition, definitionSpace.resolve("HrStatic", HotReloadDefinition.class));
+			assertNotSame(snapshot.resolve("HrAlpha", HotReloadDefinition.class), definitionSpace.resolve("HrAlpha", HotReloadDefinition.class));
+			//the definitions provided by the components are kept
+			assertSame(snapshot.resolve("DmnPurgeTempFile", Definition.class), definitionSpace.resolve("DmnPurgeTempFile", Definition.class));
+			//the previous snapshot is not modified
+			assertEquals(1, snapshot.getVersion());
+			assertEquals(List.of("HrAlpha", "HrBeta", "HrCount3", "HrStatic"), getNames(snapshot));
+
+			//no provider uses this resource
+			assertFalse(node.reloadDefinitions(Set.of("unknown.txt")));
+			assertEquals(2, definitionSpace.getVersion());
+
+			//an invalid model : the current definitions are kept
+			Files.write(modelFile, List.of("invalid name"));
+			assertThrows(IllegalStateException.class, () -> node.reloadDefinitions(Set.of(modelFile.toString())));
+			assertEquals(2, definitionSpace.getVersion());
+			assertTrue(definitionSpace.contains("HrGamma"));
+		}
+	}
+
+	@Test
+	public void testWatch(@TempDir final Path modelDir) throws IOException, InterruptedException {
+		final Path modelFile = modelDir.resolve("model.txt");
+		Files.write(modelFile, List.of("Alpha"));
+		try (AutoCloseableNode node = new AutoCloseableNode(buildNodeConfig(modelFile))) {
+			final DefinitionSpace definitionSpace = node.getDefinitionSpace();
+			CountingDefinitionProvider.CALLS.drainPermits();
+			Files.write(modelFile, List.of("Alpha", "Omega"));
+			//the change is detected by the watcher, which reloads the providers
+			assertTrue(CountingDefinitionProvider.CALLS.tryAcquire(10, TimeUnit.SECONDS));
+			//the reloads are serialized : this reload waits for the end of the reload of the watcher
+			assertFalse(node.reloadDefinitions(Set.of("unknown.txt")));
+			assertTrue(definitionSpace.contains("HrOmega"));
+			assertTrue(definitionSpace.contains("HrCount3"));
+		}
+	}
+
+	@Test
+	public void testCompactReferencesAfterReload(@TempDir final Path modelDir) throws IOException, ClassNotFoundException {
+		final Path modelFile = modelDir.resolve("model.txt");
+		Files.write(modelFile, List.of("Beta", "Gamma"));
+		try (AutoCloseableNode node = new AutoCloseableNode(buildNodeConfig(modelFile, BootConfig.builder().withCompactDefinitionReferences()))) {
+			final DefinitionSpace definitionSpace = node.getDefinitionSpace();
+			//the references are serialized with their compact id
+			final byte[] serializedGamma = serialize(definitionSpace.getReference("HrGamma", HotReloadDefinition.class));
+			final byte[] serializedBeta = serialize(definitionSpace.getReference("HrBeta", HotReloadDefinition.class));
+
+			//definitions are added before the others (by name) and another one is removed
+			Files.write(modelFile, List.of("Alpha", "Delta", "Gamma"));
+			assertTrue(node.reloadDefinitions(Set.of(modelFile.toString())));
+			//-----
+			//the references serialized before the reload are read after it
+			final DefinitionReference<HotReloadDefinition> gammaReference = definitionSpace.getReference("HrGamma", HotReloadDefinition.class);
+			assertSame(gammaReference, deserialize(serializedGamma));
+			assertSame(definitionSpace.resolve("HrGamma", HotReloadDefinition.class), gammaReference.get());
+			//the id of a removed definition is not given to another one
+			assertThrows(IllegalStateException.class, () -> deserialize(serializedBeta));
+			final DefinitionReference<HotReloadDefinition> alphaReference = definitionSpace.getReference("HrAlpha", HotReloadDefinition.class);
+			assertSame(alphaReference, deserialize(serialize(alphaReference)));
+		}
+	}
+
+	private static byte[] serialize(final Serializable object) throws IOException {
+		try (final ByteArrayOutputStream bos = new ByteArrayOutputStream(); final ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+			oos.writeObject(object);
+			oos.flush();
+			return bos.toByteArray();
+		}
+	}
+
+	private static Object deserialize(final byte[] serialized) throws IOException, ClassNotFoundException {
+		try (final ByteArrayInputStream bis = new ByteArrayInputStream(serialized); final ObjectInputStream ios = new ObjectInputStream(bis)) {
+			return ios.readObject();
+		}
+	}
+
+	private static List<String> getNames(final DefinitionSpace definitionSpace) {
+		return definitionSpace.getAll(HotReloadDefinition.class)
+				.stream()
+				.map(Definition::getName)
+				.collect(Collectors.toList());
+	}
+
+	@DefinitionPrefix(HotReloadDefinition.PREFIX)
+	public static final class HotReloadDefinition extends AbstractDefinition {
+		public static final String PREFIX = "Hr";
+
+		HotReloadDefinition(final String localName) {
+			super(PREFIX + localName);
+		}
+	}
+
+	public static final class NamedDefinitionProvider implements SimpleDefinitionProvider {
+		private final String name;
+
+		@Inject
+		public NamedDefinitionProvider(@ParamValue("name") final String name) {
+			this.name = name;
+		}
+
+		@Override
+		public List<? extends Definition> provideDefinitions(final DefinitionSpace definitionSpace) {
+			return List.of(new HotReloadDefinition(name));
+		}
+	}
+
+	/*
+	 * A definition for each line of the resources.
+	 */
+	public static final class FileDefinitionProvider implements SimpleDefinitionProvider {
+		private final List<DefinitionResourceConfig> definitionResourceConfigs = new ArrayList<>();
+
+		@Override
+		public void addDefinitionResourceConfig(final DefinitionResourceConfig definitionResourceConfig) {
+			definitionResourceConfigs.add(definitionResourceConfig);
+		}
+
+		@Override
+		public List<? extends Definition> provideDefinitions(final DefinitionSpace definitionSpace) {
+			return definitionResourceConfigs
+					.stream()
+					.flatMap(definitionResourceConfig -> readLines(Path.of(definitionResourceConfig.getPath())).stream())
+					.map(HotReloadDefinition::new)
+					.collect(Collectors.toList());
+		}
+
+		private static List<String> readLines(final Path path) {
+			try {
+				return Files.readAllLines(path);
+			} catch (final IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	public static final class CountingDefinitionProvider implements SimpleDefinitionProvider {
+		//a permit for each call
+		static final Semaphore CALLS = new Semaphore(0);
+
+		@Override
+		public List<? extends Definition> provideDefinitions(final DefinitionSpace definitionSpace) {
+			CALLS.release();
+			return List.of(new HotReloadDefinition("Count" + definitionSpace.getAll(HotReloadDefinition.class).size()));
+		}
+	}
+}
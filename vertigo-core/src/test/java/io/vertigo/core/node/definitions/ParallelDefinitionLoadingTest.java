@@ -0,0 +1,207 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.node.definitions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertigo.core.node.AutoCloseableNode;
+import io.vertigo.core.node.config.BootConfig;
+import io.vertigo.core.node.config.BootConfigBuilder;
+import io.vertigo.core.node.config.DefinitionProviderConfig;
+import io.vertigo.core.node.config.ModuleConfig;
+import io.vertigo.core.node.config.NodeConfig;
+import io.vertigo.core.node.definition.AbstractDefinition;
+import io.vertigo.core.node.definition.Definition;
+import io.vertigo.core.node.definition.DefinitionPrefix;
+import io.vertigo.core.node.definition.DefinitionProvider;
+import io.vertigo.core.node.definition.DefinitionSpace;
+import io.vertigo.core.node.definition.DefinitionSupplier;
+import io.vertigo.core.node.definition.SimpleDefinitionProvider;
+import io.vertigo.core.param.Param;
+import io.vertigo.core.param.ParamValue;
+
+public final class ParallelDefinitionLoadingTest {
+	private static final List<String> REGISTRATIONS = Collections.synchronizedList(new ArrayList<>());
+	private static final List<ClassLoader> CONTEXT_CLASS_LOADERS = Collections.synchronizedList(new ArrayList<>());
+
+	private static NodeConfig buildNodeConfig(final BootConfigBuilder bootConfigBuilder) {
+		return NodeConfig.builder()
+				.withBoot(bootConfigBuilder.build())
+				.addModule(ModuleConfig.builder("parallel")
+						.addDefinitionProvider(buildIndependentProvider("A"))
+						.addDefinitionProvider(buildIndependentProvider("B"))
+						//counts the definitions of A and B
+						.addDefinitionProvider(DefinitionProviderConfig.builder(CountingDefinitionProvider.class)
+								.addParam(Param.of("prefix", "Count"))
+								.build())
+						.addDefinitionProvider(buildIndependentProvider("C"))
+						//its supplier counts the definitions of A, B, Count and C
+						.addDefinitionProvider(DefinitionProviderConfig.builder(IndependentCountingDefinitionProvider.class)
+								.build())
+						.addDefinitionProvider(buildIndependentProvider("D"))
+						.build())
+				.build();
+	}
+
+	private static DefinitionProviderConfig buildIndependentProvider(final String prefix) {
+		return DefinitionProviderConfig.builder(IndependentDefinitionProvider.class)
+				.addParam(Param.of("prefix", prefix))
+				.build();
+	}
+
+	@Test
+	public void testParallelLoading() {
+		final List<String> sequentialNames;
+		final List<String> sequentialRegistrations;
+		REGISTRATIONS.clear();
+		try (AutoCloseableNode node = new AutoCloseableNode(buildNodeConfig(BootConfig.builder()))) {
+			sequentialNames = getNames(node.getDefinitionSpace());
+			sequentialRegistrations = new ArrayList<>(REGISTRATIONS);
+		}
+		REGISTRATIONS.clear();
+		try (AutoCloseableNode node = new AutoCloseableNode(buildNodeConfig(BootConfig.builder().withParallelBoot()))) {
+			final DefinitionSpace definitionSpace = node.getDefinitionSpace();
+			assertEquals(sequentialNames, getNames(definitionSpace));
+			//the definitions are registered in the same order as a sequential loading
+			assertEquals(4 * IndependentDefinitionProvider.SIZE, sequentialRegistrations.size());
+			assertEquals(sequentialRegistrations, REGISTRATIONS);
+			assertEquals(4 * IndependentDefinitionProvider.SIZE + 2, definitionSpace.getAll(ParallelDefinition.class).size());
+			//the definitions of the previous providers are registered before a dependent provider is called
+			assertNotNull(definitionSpace.resolve("PlCount" + 2 * IndependentDefinitionProvider.SIZE, ParallelDefinition.class));
+			//the suppliers are evaluated in the order of the providers
+			assertNotNull(definitionSpace.resolve("PlSupplied" + (3 * IndependentDefinitionProvider.SIZE + 1), ParallelDefinition.class));
+		}
+	}
+
+	@Test
+	public void testParallelLoadingContextClassLoader() throws IOException {
+		final Thread thread = Thread.currentThread();
+		final ClassLoader previousClassLoader = thread.getContextClassLoader();
+		//a class loader of an application server
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[0], previousClassLoader)) {
+			thread.setContextClassLoader(classLoader);
+			CONTEXT_CLASS_LOADERS.clear();
+			try (AutoCloseableNode node = new AutoCloseableNode(buildNodeConfig(BootConfig.builder().withParallelBoot()))) {
+				//the independent providers have been called with the context class loader of the boot
+				assertEquals(Set.of(classLoader), Set.copyOf(CONTEXT_CLASS_LOADERS));
+			} finally {
+				thread.setContextClassLoader(previousClassLoader);
+			}
+		}
+	}
+
+	private static List<String> getNames(final DefinitionSpace definitionSpace) {
+		return definitionSpace.getAll(Definition.class)
+				.stream()
+				.map(Definition::getName)
+				.collect(Collectors.toList());
+	}
+
+	private static int countParallelDefinitions(final DefinitionSpace definitionSpace) {
+		return definitionSpace.getAll(ParallelDefinition.class).size();
+	}
+
+	@DefinitionPrefix(ParallelDefinition.PREFIX)
+	public static final class ParallelDefinition extends AbstractDefinition {
+		public static final String PREFIX = "Pl";
+
+		ParallelDefinition(final String localName) {
+			super(PREFIX + localName);
+		}
+	}
+
+	/*
+	 * Its definitions are recorded when they are registered (just after their supplier is called).
+	 * The first providers are the slowest : a registration in the order of the end of the calls would differ.
+	 */
+	public static final class IndependentDefinitionProvider implements DefinitionProvider {
+		static final int SIZE = 100;
+		private final String prefix;
+
+		@Inject
+		public IndependentDefinitionProvider(@ParamValue("prefix") final String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		public boolean isIndependent() {
+			return true;
+		}
+
+		@Override
+		public List<DefinitionSupplier> get(final DefinitionSpace definitionSpace) {
+			CONTEXT_CLASS_LOADERS.add(Thread.currentThread().getContextClassLoader());
+			try {
+				Thread.sleep(10L * ('E' - prefix.charAt(0)));
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+			return IntStream.range(0, SIZE)
+					.mapToObj(i -> (DefinitionSupplier) ds -> {
+						REGISTRATIONS.add(prefix + i);
+						return new ParallelDefinition(prefix + i);
+					})
+					.collect(Collectors.toList());
+		}
+	}
+
+	public static final class CountingDefinitionProvider implements SimpleDefinitionProvider {
+		private final String prefix;
+
+		@Inject
+		public CountingDefinitionProvider(@ParamValue("prefix") final String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		public List<? extends Definition> provideDefinitions(final DefinitionSpace definitionSpace) {
+			return List.of(new ParallelDefinition(prefix + countParallelDefinitions(definitionSpace)));
+		}
+	}
+
+	public static final class IndependentCountingDefinitionProvider implements DefinitionProvider {
+
+		@Override
+		public boolean isIndependent() {
+			return true;
+		}
+
+		@Override
+		public List<DefinitionSupplier> get(final DefinitionSpace definitionSpace) {
+			final List<DefinitionSupplier> definitionSuppliers = new ArrayList<>();
+			definitionSuppliers.add(ds -> new ParallelDefinition("Supplied" + countParallelDefinitions(ds)));
+			return definitionSuppliers;
+		}
+	}
+}
@@ -19,6 +19,8 @@ package io.vertigo.core.param;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Optional;
@@ -96,4 +98,21 @@ public abstract class AbstractParamManagerTest extends AbstractTestCaseJU5 {
 		final Optional<Param> optionalParam = paramManager.getOptionalParam("server.host");
 		assertEquals("wiki", optionalParam.get().getValueAsString());
 	}
+
+	/**
+	 * The resolved params and their typed values are cached until they are invalidated
+	 */
+	@Test
+	public void test10() {
+		final Param param = paramManager.getParam("server.port");
+		assertSame(param, paramManager.getParam("server.port"));
+		assertSame(param.getValue(Long.class), param.getValue(long.class));
+		assertEquals(8080, param.getValueAsInt());
+		//---
+		paramManager.invalidate();
+		final Param reloadedParam = paramManager.getParam("server.port");
+		assertNotSame(param, reloadedParam);
+		assertEquals(8080, reloadedParam.getValueAsInt());
+		Assertions.assertFalse(paramManager.getOptionalParam("non.existing.param").isPresent());
+	}
 }
@@ -0,0 +1,141 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.param.watch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.vertigo.core.node.AutoCloseableNode;
+import io.vertigo.core.node.config.BootConfig;
+import io.vertigo.core.node.config.NodeConfig;
+import io.vertigo.core.param.Param;
+import io.vertigo.core.param.ParamManager;
+import io.vertigo.core.plugins.param.properties.PropertiesParamPlugin;
+import io.vertigo.core.plugins.param.xml.XmlParamPlugin;
+import io.vertigo.core.plugins.resource.local.LocalResourceResolverPlugin;
+
+/**
+ * The params are read again when their files change.
+ */
+public final class WatchedParamManagerTest {
+
+	@Test
+	public void testConcurrentChanges(@TempDir final Path configDir) throws IOException, InterruptedException {
+		final Path firstFile = configDir.resolve("first-config.properties");
+		Files.write(firstFile, List.of("first.rate=1"));
+		final Path secondFile = configDir.resolve("second-config.properties");
+		Files.write(secondFile, List.of("second.rate=1"));
+
+		final NodeConfig nodeConfig = NodeConfig.builder()
+				.withBoot(BootConfig.builder()
+						.addPlugin(LocalResourceResolverPlugin.class)
+						.addPlugin(PropertiesParamPlugin.class,
+								Param.of("url", firstFile.toString()),
+								Param.of("watch", "true"))
+						.addPlugin(PropertiesParamPlugin.class,
+								Param.of("url", secondFile.toString()),
+								Param.of("watch", "true"))
+						.build())
+				.build();
+		try (AutoCloseableNode node = new AutoCloseableNode(nodeConfig)) {
+			final ParamManager paramManager = node.getComponentSpace().resolve(ParamManager.class);
+			final BlockingQueue<Set<String>> changes = new LinkedBlockingQueue<>();
+			paramManager.subscribe(changes::add);
+			assertEquals(1, paramManager.getParam("first.rate").getValueAsInt());
+			assertEquals(1, paramManager.getParam("second.rate").getValueAsInt());
+			//-----
+			for (int i = 2; i <= 5; i++) {
+				//the two files change together : they are reloaded by two watchers
+				Files.write(firstFile, List.of("first.rate=" + i));
+				Files.write(secondFile, List.of("second.rate=" + i));
+				final Set<String> changedParamNames = new HashSet<>();
+				while (changedParamNames.size() < 2) {
+					final Set<String> change = changes.poll(10, TimeUnit.SECONDS);
+					assertNotNull(change);
+					changedParamNames.addAll(change);
+				}
+				assertEquals(Set.of("first.rate", "second.rate"), changedParamNames);
+				//the params are up to date once both changes are notified
+				assertEquals(i, paramManager.getParam("first.rate").getValueAsInt());
+				assertEquals(i, paramManager.getParam("second.rate").getValueAsInt());
+			}
+		}
+	}
+
+	@Test
+	public void testWatch(@TempDir final Path configDir) throws IOException, InterruptedException {
+		final Path propertiesFile = configDir.resolve("app-config.properties");
+		Files.write(propertiesFile, List.of("sampling.rate=10", "pool.size=4"));
+		final Path xmlFile = configDir.resolve("app-config.xml");
+		Files.write(xmlFile, List.of("<config>", "<path name=\"server\"><param name=\"threshold\" value=\"100\" /></path>", "</config>"));
+
+		final NodeConfig nodeConfig = NodeConfig.builder()
+				.withBoot(BootConfig.builder()
+						.addPlugin(LocalResourceResolverPlugin.class)
+						.addPlugin(PropertiesParamPlugin.class,
+								Param.of("url", propertiesFile.toString()),
+								Param.of("watch", "true"))
+						.addPlugin(XmlParamPlugin.class,
+								Param.of("url", xmlFile.toString()),
+								Param.of("watch", "true"))
+						.build())
+				.build();
+		try (AutoCloseableNode node = new AutoCloseableNode(nodeConfig)) {
+			final ParamManager paramManager = node.getComponentSpace().resolve(ParamManager.class);
+			final BlockingQueue<Set<String>> changes = new LinkedBlockingQueue<>();
+			paramManager.subscribe(changes::add);
+			assertEquals(10, paramManager.getParam("sampling.rate").getValueAsInt());
+			assertEquals(100, paramManager.getParam("server.threshold").getValueAsInt());
+
+			Files.write(propertiesFile, List.of("sampling.rate=20", "pool.size=4", "new.param=true"));
+			assertEquals(Set.of("sampling.rate", "new.param"), changes.poll(10, TimeUnit.SECONDS));
+			assertEquals(20, paramManager.getParam("sampling.rate").getValueAsInt());
+			assertTrue(paramManager.getParam("new.param").getValueAsBoolean());
+
+			Files.write(xmlFile, List.of("<config>", "<path name=\"server\"><param name=\"threshold\" value=\"200\" /></path>", "</config>"));
+			assertEquals(Set.of("server.threshold"), changes.poll(10, TimeUnit.SECONDS));
+			assertEquals(200, paramManager.getParam("server.threshold").getValueAsInt());
+
+			//a removed param
+			Files.write(propertiesFile, List.of("sampling.rate=20", "new.param=true"));
+			assertEquals(Set.of("pool.size"), changes.poll(10, TimeUnit.SECONDS));
+			assertFalse(paramManager.getOptionalParam("pool.size").isPresent());
+
+			//an invalid file : the current params are kept
+			Files.write(xmlFile, List.of("<config>"));
+			assertNull(changes.poll(1, TimeUnit.SECONDS));
+			assertEquals(200, paramManager.getParam("server.threshold").getValueAsInt());
+		}
+	}
+}
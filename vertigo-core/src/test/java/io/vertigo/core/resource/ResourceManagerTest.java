@@ -18,9 +18,12 @@
 package io.vertigo.core.resource;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.File;
 import java.net.URL;
+import java.nio.file.Files;
 
 import javax.inject.Inject;
 
@@ -28,11 +31,13 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import io.vertigo.core.AbstractTestCaseJU5;
+import io.vertigo.core.daemon.DaemonManager;
 import io.vertigo.core.node.config.BootConfig;
 import io.vertigo.core.node.config.NodeConfig;
 import io.vertigo.core.plugins.resource.classpath.ClassPathResourceResolverPlugin;
 import io.vertigo.core.plugins.resource.local.LocalResourceResolverPlugin;
 import io.vertigo.core.plugins.resource.url.URLResourceResolverPlugin;
+import io.vertigo.core.util.TempFile;
 
 /**
  * @author pchretien
@@ -40,6 +45,8 @@ import io.vertigo.core.plugins.resource.url.URLResourceResolverPlugin;
 public final class ResourceManagerTest extends AbstractTestCaseJU5 {
 	@Inject
 	private ResourceManager resourceManager;
+	@Inject
+	private DaemonManager daemonManager;
 	final String locales = "fr_FR";
 
 	@Override
@@ -89,4 +96,29 @@ public final class ResourceManagerTest extends AbstractTestCaseJU5 {
 		final URL url = resourceManager.resolve(expected);
 		assertEquals(expectedPath, url.getPath());
 	}
+
+	@Test
+	public void testPurgeOldTempFiles() throws Exception {
+		final File oldFile = new TempFile("purgeJunit", ".tmp", "purgeDirJunit/subDir");
+		final File recentFile = new TempFile("purgeJunit", ".tmp", "purgeDirJunit");
+		assertOldFilePurged(oldFile);
+		assertTrue(recentFile.exists(), "recent temp file must be kept");
+	}
+
+	@Test
+	public void testPurgeTempFilesOfAnotherJvm() throws Exception {
+		//a file not registered by this JVM : it's found by the scan of the temp dir, done by each node
+		final File oldFile = Files.createTempFile(Files.createDirectories(TempFile.VERTIGO_TMP_DIR_PATH.resolve("purgeDirJunit")), "otherJvm", ".tmp").toFile();
+		assertOldFilePurged(oldFile);
+	}
+
+	private void assertOldFilePurged(final File oldFile) throws InterruptedException {
+		assertTrue(oldFile.setLastModified(System.currentTimeMillis() - 2 * 60 * 60 * 1000L));
+		//---
+		daemonManager.trigger("DmnPurgeTempFile");
+		for (int i = 0; i < 50 && oldFile.exists(); i++) {
+			Thread.sleep(100);
+		}
+		assertFalse(oldFile.exists(), "old temp file must be purged");
+	}
 }
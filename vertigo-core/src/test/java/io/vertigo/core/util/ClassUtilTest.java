@@ -18,6 +18,7 @@
 package io.vertigo.core.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -280,6 +281,28 @@ public final class ClassUtilTest {
 		});
 	}
 
+	@Test
+	public void testInvoker() {
+		final Method addMethod = ClassUtil.findMethod(MyMath.class, "add", long.class, long.class);
+		final MethodInvoker invoker = ClassUtil.getInvoker(addMethod);
+		assertEquals(10L, invoker.invoke(new MyMath(), 4L, 6L));
+		assertEquals(3L, invoker.invoke(new MyMath(), 1L, 2L));
+		//the invoker is cached
+		assertSame(invoker, ClassUtil.getInvoker(addMethod));
+	}
+
+	@Test
+	public void testInvokerWithError() {
+		final Method divMethod = ClassUtil.findMethod(MyMath.class, "div", long.class, long.class);
+		assertThrows(ArithmeticException.class, () -> ClassUtil.getInvoker(divMethod).invoke(new MyMath(), 4L, 0L));
+	}
+
+	@Test
+	public void testInvokerWithException() {
+		final Method kuserMethod = ClassUtil.findMethod(MyMath.class, "kuser", long.class, long.class);
+		assertThrows(VUserException.class, () -> ClassUtil.getInvoker(kuserMethod).invoke(new MyMath(), 4L, 6L));
+	}
+
 	@Test
 	public void testGeneric() throws SecurityException, NoSuchFieldException {
 		Field field;
@@ -0,0 +1,89 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The files are watched from start() until close().
+ */
+public final class FileWatcherTest {
+
+	@Test
+	public void testWatch(@TempDir final Path dir) throws IOException, InterruptedException {
+		final Path file = dir.resolve("watched.txt");
+		Files.write(file, List.of("1"));
+		final BlockingQueue<Set<Path>> changes = new LinkedBlockingQueue<>();
+		try (FileWatcher fileWatcher = new FileWatcher(Set.of(file), changes::add, "test")) {
+			fileWatcher.start();
+			//the other files of the directory are ignored
+			Files.write(dir.resolve("ignored.txt"), List.of("1"));
+			Files.write(file, List.of("2"));
+			assertEquals(Set.of(file.toAbsolutePath().normalize()), changes.poll(10, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	public void testLifecycle(@TempDir final Path dir) throws IOException, InterruptedException {
+		final Path file = dir.resolve("watched.txt");
+		Files.write(file, List.of("1"));
+		final CountDownLatch notificationStarted = new CountDownLatch(1);
+		final CountDownLatch notificationReleased = new CountDownLatch(1);
+		final AtomicBoolean notificationEnded = new AtomicBoolean();
+		final FileWatcher fileWatcher = new FileWatcher(Set.of(file), changedFiles -> {
+			notificationStarted.countDown();
+			try {
+				notificationReleased.await();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			notificationEnded.set(true);
+		}, "test");
+		//no thread before start
+		assertNull(fileWatcher.getThread());
+		fileWatcher.start();
+		final Thread thread = fileWatcher.getThread();
+		assertTrue(thread.isAlive());
+		//-----
+		Files.write(file, List.of("2"));
+		assertTrue(notificationStarted.await(10, TimeUnit.SECONDS));
+		notificationReleased.countDown();
+		fileWatcher.close();
+		//close waits for the end of the notification in progress and of the thread
+		assertTrue(notificationEnded.get());
+		assertFalse(thread.isAlive());
+		assertNull(fileWatcher.getThread());
+	}
+}
@@ -21,6 +21,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Assertions;
@@ -63,4 +64,43 @@ public final class TempFileUtilTest {
 
 	}
 
+	@Test
+	public void testRegistryPurgeExpired() throws Exception {
+		final TempFileRegistry tempFileRegistry = new TempFileRegistry(Duration.ofMillis(200), Duration.ofMillis(50));
+		final File expired = new TempFile(FILE_PREFIX, ".tmp");
+		final File modified = new TempFile(FILE_PREFIX, ".tmp");
+		tempFileRegistry.register(expired.toPath());
+		tempFileRegistry.register(modified.toPath());
+		Assertions.assertEquals(2, tempFileRegistry.getRegisteredFiles());
+		Assertions.assertEquals(0, tempFileRegistry.purgeExpired(), "Files must not be purged before their expiration");
+		//---
+		Thread.sleep(300);
+		Assertions.assertTrue(modified.setLastModified(System.currentTimeMillis()));
+		Assertions.assertEquals(1, tempFileRegistry.purgeExpired());
+		Assertions.assertFalse(expired.exists(), "Expired file must be deleted");
+		Assertions.assertTrue(modified.exists(), "Modified file must be kept");
+		Assertions.assertEquals(1, tempFileRegistry.getRegisteredFiles());
+		//---
+		Thread.sleep(300);
+		Assertions.assertEquals(1, tempFileRegistry.purgeExpired());
+		Assertions.assertFalse(modified.exists(), "Modified file must be deleted when it expires again");
+		Assertions.assertEquals(0, tempFileRegistry.getRegisteredFiles());
+	}
+
+	@Test
+	public void testRegistryDeleteAll() throws Exception {
+		final TempFileRegistry tempFileRegistry = new TempFileRegistry(Duration.ofHours(1), Duration.ofMinutes(1));
+		final File created = new TempFile(FILE_PREFIX, ".tmp");
+		final File found = new TempFile(FILE_PREFIX, ".tmp");
+		tempFileRegistry.register(created.toPath());
+		tempFileRegistry.registerFound(found.toPath(), System.currentTimeMillis() + 1000);
+		tempFileRegistry.registerFound(created.toPath(), System.currentTimeMillis() + 1000);
+		Assertions.assertEquals(2, tempFileRegistry.getRegisteredFiles(), "A file must be registered only once");
+		//---
+		tempFileRegistry.deleteAll();
+		Assertions.assertFalse(created.exists(), "File created by this JVM must be deleted");
+		Assertions.assertTrue(found.exists(), "File found in the temp dir must be kept");
+		Assertions.assertEquals(0, tempFileRegistry.getRegisteredFiles());
+		Assertions.assertTrue(found.delete());
+	}
 }
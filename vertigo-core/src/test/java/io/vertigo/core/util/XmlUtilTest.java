@@ -0,0 +1,84 @@
+/**
+ * vertigo - application development platform
+ *
+ * Copyright (C) 2013-2021, Vertigo.io, team@vertigo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.vertigo.core.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import io.vertigo.core.lang.WrappedException;
+
+/**
+ * Test of the XSD validation.
+ */
+public final class XmlUtilTest {
+	private static final URL CONFIG_XSD = XmlUtilTest.class.getResource("/io/vertigo/core/plugins/param/xml/vertigo-config_1_0.xsd");
+
+	@Test
+	public void testSchemaCache() {
+		//a XSD is compiled once
+		assertSame(XmlUtil.getSchema(CONFIG_XSD), XmlUtil.getSchema(CONFIG_XSD));
+	}
+
+	@Test
+	public void testParse(@TempDir final Path xmlDir) throws IOException {
+		final Path xmlFile = xmlDir.resolve("config.xml");
+		Files.write(xmlFile, List.of("<config>", "<path name=\"server\"><param name=\"host\" value=\"wiki\" /><param name=\"port\" value=\"8080\" /></path>", "</config>"));
+		XmlUtil.validateXmlByXsd(xmlFile.toUri().toURL(), CONFIG_XSD);
+		//---
+		final List<String> elements = new ArrayList<>();
+		XmlUtil.parseXmlByXsd(xmlFile.toUri().toURL(), CONFIG_XSD, new DefaultHandler() {
+			@Override
+			public void startElement(final String uri, final String localName, final String qName, final Attributes attributes) {
+				elements.add(qName);
+			}
+		});
+		assertEquals(List.of("config", "path", "param", "param"), elements);
+	}
+
+	@Test
+	public void testInvalid(@TempDir final Path xmlDir) throws IOException {
+		//a param must be in a path
+		final Path xmlFile = xmlDir.resolve("config.xml");
+		Files.write(xmlFile, List.of("<config>", "<param name=\"host\" value=\"wiki\" />", "</config>"));
+		final URL xml = xmlFile.toUri().toURL();
+		assertThrows(WrappedException.class, () -> XmlUtil.validateXmlByXsd(xml, CONFIG_XSD));
+		assertThrows(WrappedException.class, () -> XmlUtil.parseXmlByXsd(xml, CONFIG_XSD, new DefaultHandler()));
+	}
+
+	@Test
+	public void testMissingFile(@TempDir final Path xmlDir) throws IOException {
+		final URL xml = xmlDir.resolve("missing.xml").toUri().toURL();
+		final WrappedException exception = assertThrows(WrappedException.class, () -> XmlUtil.parseXmlByXsd(xml, CONFIG_XSD, new DefaultHandler()));
+		//the error gives the file
+		assertTrue(exception.getMessage().contains("missing.xml"));
+	}
+}